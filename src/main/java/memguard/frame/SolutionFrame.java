@@ -1,14 +1,9 @@
 package memguard.frame;
 
-import java.awt.Container;
-import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 
-import javax.imageio.ImageIO;
 import javax.swing.JFrame;
-import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 
 import memguard.solution.Solution;
@@ -17,7 +12,7 @@ public class SolutionFrame extends JFrame {
 
 	private static final long serialVersionUID = 4330617490485888399L;
 	
-	private JPanel solutionPanel;
+	private SolutionPanel solutionPanel;
 	
 	public SolutionFrame(Solution solution) {
 		this.setSize(1000, 500);
@@ -38,14 +33,7 @@ public class SolutionFrame extends JFrame {
 	}
 	
 	public void saveToFile(File file) throws IOException {
-		Container contentPane = solutionPanel;
-		BufferedImage image = new BufferedImage(contentPane.getWidth(), contentPane.getHeight(),
-				BufferedImage.TYPE_INT_RGB);
-		Graphics2D g2d = image.createGraphics();
-		contentPane.printAll(g2d);
-		g2d.dispose();
-
-		ImageIO.write(image, "png", file);
+		solutionPanel.getPainter().saveImage(file);
 	}
 	
 	public void initFrame() {
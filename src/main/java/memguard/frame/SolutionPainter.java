@@ -0,0 +1,153 @@
+package memguard.frame;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import memguard.solution.Solution;
+import memguard.solution.items.SolutionItem;
+
+/**
+ * Draws the timeline of a solution on any graphics. It is used by the
+ * {@link SolutionPanel} to display a solution, and to save a solution as an
+ * image without creating any window, which works on headless machines.
+ */
+public class SolutionPainter {
+
+	private static final int PANEL_WIDTH_INSET = 50;
+	private static final int PANEL_HEIGHT_INSET = 80;
+	private static final int ITEM_UNIT_LENGTH = 40;
+	private static final int ITEM_UNIT_HEIGHT = 25;
+	private static final int ARROW_HEIGHT = 50;
+	private static final int ARROW_HEAD_OFFSET_X = 7;
+	private static final int ARROW_HEAD_OFFSET_Y = 10;
+	private static final int PROCESSOR_WIDTH_INSET = 15;
+	private static final int PROCESSOR_TOP_INSET = 80;
+
+	private Solution solution;
+	private int solutionLength;
+
+	public SolutionPainter(Solution solution) {
+		this.solution = solution;
+		this.solutionLength = solution.getSolutionLength();
+	}
+
+	/**
+	 * Returns the width of the drawn timeline.
+	 * 
+	 * @return the width of the drawing.
+	 */
+	public int getWidth() {
+		return 2 * PANEL_WIDTH_INSET + solutionLength * ITEM_UNIT_LENGTH;
+	}
+
+	/**
+	 * Returns the height of the drawn timeline.
+	 * 
+	 * @return the height of the drawing.
+	 */
+	public int getHeight() {
+		return 2 * PANEL_HEIGHT_INSET + solution.getSolutionItems().length * PROCESSOR_TOP_INSET;
+	}
+
+	private void drawUpArrow(Graphics2D g2d, int currentX, int currentY) {
+		g2d.setColor(Color.black);
+		g2d.drawLine(currentX, currentY, currentX, currentY - ARROW_HEIGHT);
+		g2d.drawLine(currentX, currentY - ARROW_HEIGHT, currentX + ARROW_HEAD_OFFSET_X,
+				currentY - ARROW_HEIGHT + ARROW_HEAD_OFFSET_Y);
+		g2d.drawLine(currentX, currentY - ARROW_HEIGHT, currentX - ARROW_HEAD_OFFSET_X,
+				currentY - ARROW_HEIGHT + ARROW_HEAD_OFFSET_Y);
+	}
+
+	private void drawDownArrow(Graphics2D g2d, int currentX, int currentY) {
+		g2d.setColor(Color.black);
+		g2d.drawLine(currentX, currentY, currentX, currentY - ARROW_HEIGHT);
+		g2d.drawLine(currentX, currentY, currentX + ARROW_HEAD_OFFSET_X, currentY - ARROW_HEAD_OFFSET_Y);
+		g2d.drawLine(currentX, currentY, currentX - ARROW_HEAD_OFFSET_X, currentY - ARROW_HEAD_OFFSET_Y);
+	}
+
+	/**
+	 * Draws the solution timeline on the graphics, starting at (0, 0).
+	 * 
+	 * @param g2d the graphics to draw on.
+	 */
+	public void paint(Graphics2D g2d) {
+		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g2d.setColor(Color.white);
+		g2d.fillRect(0, 0, getWidth(), getHeight());
+		g2d.setStroke(new BasicStroke(1.5f));
+
+		int currentX = PANEL_WIDTH_INSET;
+		int currentY = PANEL_HEIGHT_INSET;
+
+		for (SolutionItem[] solutionItem : solution.getSolutionItems()) {
+			// Draw the first line
+			g2d.setColor(Color.black);
+			g2d.drawLine(currentX - PROCESSOR_WIDTH_INSET, currentY,
+					currentX + PROCESSOR_WIDTH_INSET + solutionLength * ITEM_UNIT_LENGTH, currentY);
+
+			for (SolutionItem item : solutionItem) {
+				// If begins something, draw a up arrow
+				if (item.isBegin()) {
+					drawUpArrow(g2d, currentX, currentY);
+				}
+
+				// Draw item (if empty just ignore)
+				Color color = item.getItemColor();
+				if (color != null) {
+					g2d.setColor(color);
+					g2d.fillRect(currentX, currentY - ITEM_UNIT_HEIGHT, ITEM_UNIT_LENGTH * item.getLength(),
+							ITEM_UNIT_HEIGHT);
+					g2d.setColor(Color.black);
+					g2d.drawRect(currentX, currentY - ITEM_UNIT_HEIGHT, ITEM_UNIT_LENGTH * item.getLength(),
+							ITEM_UNIT_HEIGHT);
+				}
+				currentX += item.getLength() * ITEM_UNIT_LENGTH;
+
+				// If ends something, draw a down arrow
+				if (item.isEnd()) {
+					drawDownArrow(g2d, currentX, currentY);
+				}
+			}
+
+			currentX = PANEL_WIDTH_INSET;
+			currentY += PROCESSOR_TOP_INSET;
+		}
+	}
+
+	/**
+	 * Draws the solution timeline on a new image.
+	 * 
+	 * @return the image of the solution.
+	 */
+	public BufferedImage createImage() {
+		BufferedImage image = new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_RGB);
+		Graphics2D g2d = image.createGraphics();
+		try {
+			paint(g2d);
+		} finally {
+			g2d.dispose();
+		}
+
+		return image;
+	}
+
+	/**
+	 * Draws the solution timeline and saves it as a PNG image.
+	 * 
+	 * @param file the image file.
+	 * @throws IOException if the image cannot be written.
+	 */
+	public void saveImage(File file) throws IOException {
+		if (!ImageIO.write(createImage(), "png", file)) {
+			throw new IOException("No PNG writer available for " + file);
+		}
+	}
+
+}
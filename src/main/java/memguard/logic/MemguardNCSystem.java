@@ -0,0 +1,193 @@
+package memguard.logic;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * System that is extended for Memguard with one counter per access class
+ * (reads, writes, prefetches, DMA transfers...). Each class has its own
+ * latency, and interfering processors access memory with the interference
+ * latency, by default the greatest latency. The implementation is static,
+ * meaning that you cannot modify latencies without creating a new system.
+ * </p>
+ * 
+ * <p>
+ * The one and two counters systems are special cases of this system, see
+ * {@link #fromOneCounter(MemguardSystem)} and
+ * {@link #fromTwoCounters(MemguardRWSystem)}.
+ * </p>
+ * 
+ * @see MemguardSystem
+ * @see MultiAccessTask
+ */
+public class MemguardNCSystem extends MemguardSystem {
+
+	protected final int[] latencies;
+	protected final int interferenceLatency;
+
+	/**
+	 * Creates a new system with the specified latencies, interference latency,
+	 * regulation period, budgets and processors, as
+	 * {@link MemguardSystem#MemguardSystem(int, int, int[], Processor...)}.
+	 * 
+	 * @param latencies           the latency of each access class.
+	 * @param interferenceLatency the latency of the accesses of interfering
+	 *                            processors.
+	 * @param regulationPeriod    the regulation period.
+	 * @param budgets             the budgets allocated to the specified
+	 *                            processors.
+	 * @param processors          the processors that will run on the processor.
+	 * @throws IllegalArgumentException if there is no access class or if a latency
+	 *                                  is not positive.
+	 */
+	public MemguardNCSystem(int[] latencies, int interferenceLatency, int regulationPeriod, int[] budgets,
+			Processor... processors) {
+		super(checkLatencies(latencies)[0], regulationPeriod, budgets, processors);
+		if (interferenceLatency <= 0) {
+			throw new IllegalArgumentException("Interference latency must be positive: " + interferenceLatency);
+		}
+
+		this.latencies = latencies.clone();
+		this.interferenceLatency = interferenceLatency;
+	}
+
+	/**
+	 * Creates a new system with a specified number of processors and adds a task on
+	 * the first processor, as
+	 * {@link MemguardSystem#MemguardSystem(int, int, int, int[], Task)}.
+	 * 
+	 * @param processorNumber     the number of processors to add to the system,
+	 *                            must be greater than 0.
+	 * @param latencies           the latency of each access class.
+	 * @param interferenceLatency the latency of the accesses of interfering
+	 *                            processors.
+	 * @param regulationPeriod    the regulation period.
+	 * @param budgets             the budgets allocated to the specified
+	 *                            processors.
+	 * @param task                the task to add to the first processor.
+	 * @throws IllegalArgumentException if there is no access class or if a latency
+	 *                                  is not positive.
+	 */
+	public MemguardNCSystem(int processorNumber, int[] latencies, int interferenceLatency, int regulationPeriod,
+			int[] budgets, Task task) {
+		super(processorNumber, checkLatencies(latencies)[0], regulationPeriod, budgets, task);
+		if (interferenceLatency <= 0) {
+			throw new IllegalArgumentException("Interference latency must be positive: " + interferenceLatency);
+		}
+
+		this.latencies = latencies.clone();
+		this.interferenceLatency = interferenceLatency;
+	}
+
+	/**
+	 * Creates a new system whose interference latency is the greatest latency of
+	 * the access classes.
+	 * 
+	 * @param processorNumber  the number of processors to add to the system, must
+	 *                         be greater than 0.
+	 * @param latencies        the latency of each access class.
+	 * @param regulationPeriod the regulation period.
+	 * @param budgets          the budgets allocated to the specified processors.
+	 * @param task             the task to add to the first processor.
+	 * @throws IllegalArgumentException if there is no access class or if a latency
+	 *                                  is not positive.
+	 */
+	public MemguardNCSystem(int processorNumber, int[] latencies, int regulationPeriod, int[] budgets, Task task) {
+		this(processorNumber, latencies, Arrays.stream(checkLatencies(latencies)).max().getAsInt(), regulationPeriod,
+				budgets, task);
+	}
+
+	/**
+	 * Returns the number of access classes (and counters) of the system.
+	 * 
+	 * @return the number of access classes.
+	 */
+	public int getAccessClassNumber() {
+		return latencies.length;
+	}
+
+	/**
+	 * Returns the latency of the specified access class.
+	 * 
+	 * @param index the index of the access class.
+	 * @return the latency of the access class.
+	 */
+	public int getLatency(int index) {
+		return latencies[index];
+	}
+
+	/**
+	 * Returns the latencies of all access classes.
+	 * 
+	 * @return a copy of the latencies.
+	 */
+	public int[] getLatencies() {
+		return latencies.clone();
+	}
+
+	/**
+	 * Returns the latency of the accesses of interfering processors.
+	 * 
+	 * @return the interference latency.
+	 */
+	public int getInterferenceLatency() {
+		return interferenceLatency;
+	}
+
+	/**
+	 * Returns the system with one access class of the one counter model, whose
+	 * accesses cost one unit (the one counter solvers count the memory cost in
+	 * accesses and do not use the latency). The task of the first processor must
+	 * be a {@link MemoryTask}.
+	 * 
+	 * @param system the one counter system.
+	 * @return the same system with one access class.
+	 * @throws IllegalArgumentException if the task is not a memory task.
+	 */
+	public static MemguardNCSystem fromOneCounter(MemguardSystem system) {
+		if (!(system.getProcessor(0).getTask(0) instanceof MemoryTask mtask)) {
+			throw new IllegalArgumentException("Task must be a MemoryTask");
+		}
+
+		MultiAccessTask task = new MultiAccessTask(new int[] { mtask.getMemoryCost() }, mtask.getComputationCost(),
+				mtask.getDeadline());
+		return new MemguardNCSystem(system.getProcessorNumber(), new int[] { 1 }, 1, system.getRegulationPeriod(),
+				system.getBudgets(), task);
+	}
+
+	/**
+	 * Returns the system with a read class and a write class of the two counters
+	 * model, where interfering processors write. The task of the first processor
+	 * must be a {@link ReadWriteTask}.
+	 * 
+	 * @param system the two counters system.
+	 * @return the same system with two access classes.
+	 * @throws IllegalArgumentException if the task is not a read write task.
+	 */
+	public static MemguardNCSystem fromTwoCounters(MemguardRWSystem system) {
+		if (!(system.getProcessor(0).getTask(0) instanceof ReadWriteTask rwtask)) {
+			throw new IllegalArgumentException("Task must be a ReadWriteTask");
+		}
+
+		MultiAccessTask task = new MultiAccessTask(new int[] { rwtask.getReadCost(), rwtask.getWriteCost() },
+				rwtask.getComputationCost(), rwtask.getDeadline());
+		return new MemguardNCSystem(system.getProcessorNumber(),
+				new int[] { system.getReadLatency(), system.getWriteLatency() }, system.getWriteLatency(),
+				system.getRegulationPeriod(), system.getBudgets(), task);
+	}
+
+	private static int[] checkLatencies(int[] latencies) {
+		if (latencies.length == 0) {
+			throw new IllegalArgumentException("System must have at least one access class");
+		}
+
+		for (int latency : latencies) {
+			if (latency <= 0) {
+				throw new IllegalArgumentException("Latencies must be positive: " + Arrays.toString(latencies));
+			}
+		}
+
+		return latencies;
+	}
+
+}
@@ -0,0 +1,61 @@
+package memguard.logic;
+
+import java.util.Arrays;
+
+/**
+ * Task that subdivides the memory cost into one cost per access class (reads,
+ * writes, prefetches, DMA transfers...), each class being counted by its own
+ * counter. The implementation is static, meaning that it is not possible to
+ * dynamically modify costs after creating the task. This class inherits from
+ * {@link MemoryTask} and inherits all its characteristics.
+ * 
+ * @see MemoryTask
+ * @see MemguardNCSystem
+ */
+public class MultiAccessTask extends MemoryTask {
+
+	protected final int[] accessCosts;
+
+	/**
+	 * Creates a new task with one cost per access class, a computation cost and a
+	 * deadline. The memory cost will be the sum of the access costs, and the total
+	 * task cost will be the addition of the memory and computation costs.
+	 * 
+	 * @param accessCosts     the task cost of each access class.
+	 * @param computationCost the task computation cost.
+	 * @param deadline        the task deadline.
+	 */
+	public MultiAccessTask(int[] accessCosts, int computationCost, int deadline) {
+		super(Arrays.stream(accessCosts).sum(), computationCost, deadline);
+		this.accessCosts = accessCosts.clone();
+	}
+
+	/**
+	 * Returns the number of access classes of the task.
+	 * 
+	 * @return the number of access classes.
+	 */
+	public int getAccessClassNumber() {
+		return accessCosts.length;
+	}
+
+	/**
+	 * Returns the task's cost of the specified access class.
+	 * 
+	 * @param index the index of the access class.
+	 * @return the cost of the access class.
+	 */
+	public int getAccessCost(int index) {
+		return accessCosts[index];
+	}
+
+	/**
+	 * Returns the task's costs of all access classes.
+	 * 
+	 * @return a copy of the access costs.
+	 */
+	public int[] getAccessCosts() {
+		return accessCosts.clone();
+	}
+
+}
@@ -0,0 +1,43 @@
+package memguard.main;
+
+import memguard.logic.MemguardNCSystem;
+import memguard.logic.MultiAccessTask;
+import memguard.solution.Solution;
+import memguard.solution.SolutionStatus;
+import memguard.solver.memguardUKnC1B.MemguardUKnC1B;
+import memguard.solver.memguardUUnC1B.MemguardUUnC1B;
+
+public class MainMemguardUKnC1B {
+
+	public static void main(String[] args) {
+		int processorNumber = 3;
+		int[] latencies = { 1, 2 };
+		int interferenceLatency = 2;
+		int regulationPeriod = 20;
+		// Budget of the analysed processor, then budgets of the interfering ones
+		int[] budgets = { 10, 2, 6 };
+
+		int[] accessCosts = { 8 * latencies[0], 8 * latencies[1] };
+		int computationCost = 40;
+		int deadline = 100;
+		MultiAccessTask task = new MultiAccessTask(accessCosts, computationCost, deadline);
+
+		MemguardNCSystem system = new MemguardNCSystem(processorNumber, latencies, interferenceLatency,
+				regulationPeriod, budgets, task);
+		MemguardUUnC1B unknownBudgetSolver = new MemguardUUnC1B(system);
+		MemguardUKnC1B knownBudgetSolver = new MemguardUKnC1B(system);
+
+		Solution unknownBudgetSolution = unknownBudgetSolver.solve(true);
+		Solution knownBudgetSolution = knownBudgetSolver.solve(true);
+
+		if (knownBudgetSolution.getStatus() != SolutionStatus.UNFEASIBLE) {
+			knownBudgetSolution.displaySolution();
+		}
+
+		System.out.println("Stall comparison: %d (unknown budgets) vs %d (known budgets)"
+				.formatted(unknownBudgetSolution.getTotalStall(), knownBudgetSolution.getTotalStall()));
+		System.out.println("Solving time comparison: %.04f s vs %.04f s"
+				.formatted(unknownBudgetSolution.getSolvingTime(), knownBudgetSolution.getSolvingTime()));
+	}
+
+}
@@ -1,15 +1,21 @@
 package memguard.main;
 
+import java.util.Arrays;
+
 import memguard.logic.MemguardSystem;
 import memguard.logic.MemoryTask;
 import memguard.solution.Solution;
 import memguard.solution.SolutionStatus;
 import memguard.solver.memguardUU1C1B.MemguardUU1C1B;
+import memguard.solver.memguardUU1C1B.MemguardUU1C1BAnalytical;
 import memguard.solver.memguardUU1C1B.MemguardUU1C1BUpgraded;
 
 public class MainMemguardUU1C1B {
 
 	public static void main(String[] args) {
+		// With --validation, the analytical solver checks its stall with CP-SAT
+		boolean validation = Arrays.asList(args).contains("--validation");
+
 		int processorNumber = 3;
 		// P = 1ms => 65500 reads (for L_R = 16ns)
 		int regulationPeriod = 15;
@@ -24,9 +30,12 @@ public class MainMemguardUU1C1B {
 		MemguardSystem system = new MemguardSystem(processorNumber, latency, regulationPeriod, budgets, task);
 		MemguardUU1C1B solverv1 = new MemguardUU1C1B(system);
 		MemguardUU1C1BUpgraded solverv2 = new MemguardUU1C1BUpgraded(system);
+		MemguardUU1C1BAnalytical solverv3 = new MemguardUU1C1BAnalytical(system);
+		solverv3.setValidation(validation);
 
 		Solution solutionv1 = solverv1.solve(true);
 		Solution solutionv2 = solverv2.solve(true);
+		Solution solutionv3 = solverv3.solve(true);
 
 		if (solutionv1.getStatus() != SolutionStatus.UNFEASIBLE) {
 			solutionv1.displaySolution();
@@ -38,5 +47,7 @@ public class MainMemguardUU1C1B {
 
 		System.out.println("Solving time comparison: %.04f ms vs %.04f ms".formatted(solutionv1.getSolvingTime(),
 				solutionv2.getSolvingTime()));
+		System.out.println("Analytical solver: stall %d (CP-SAT: %d) in %.04f s".formatted(solutionv3.getTotalStall(),
+				solutionv2.getTotalStall(), solutionv3.getSolvingTime()));
 	}
 }
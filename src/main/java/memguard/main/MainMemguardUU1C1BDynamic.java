@@ -0,0 +1,39 @@
+package memguard.main;
+
+import memguard.logic.MemguardSystem;
+import memguard.logic.MemoryTask;
+import memguard.solution.Solution;
+import memguard.solution.SolutionStatus;
+import memguard.solver.memguardUU1C1B.MemguardUU1C1B;
+import memguard.solver.memguardUU1C1B.MemguardUU1C1BDynamic;
+
+public class MainMemguardUU1C1BDynamic {
+
+	public static void main(String[] args) {
+		int processorNumber = 3;
+		int regulationPeriod = 15;
+		int latency = 1;
+		int[] budgets = { 10 };
+
+		int memoryCost = 20;
+		int computationCost = 30;
+		int deadline = 100;
+		MemoryTask task = new MemoryTask(memoryCost, computationCost, deadline);
+
+		MemguardSystem system = new MemguardSystem(processorNumber, latency, regulationPeriod, budgets, task);
+		MemguardUU1C1B cpSatSolver = new MemguardUU1C1B(system);
+		MemguardUU1C1BDynamic dynamicSolver = new MemguardUU1C1BDynamic(system);
+
+		Solution cpSatSolution = cpSatSolver.solve(true);
+		Solution dynamicSolution = dynamicSolver.solve(true);
+
+		if (dynamicSolution.getStatus() != SolutionStatus.UNFEASIBLE) {
+			dynamicSolution.displaySolution();
+		}
+
+		System.out.println("Stall comparison: %d (CP-SAT) vs %d (dynamic programming)"
+				.formatted(cpSatSolution.getTotalStall(), dynamicSolution.getTotalStall()));
+		System.out.println("Solving time comparison: %.04f s vs %.04f s".formatted(cpSatSolution.getSolvingTime(),
+				dynamicSolution.getSolvingTime()));
+	}
+}
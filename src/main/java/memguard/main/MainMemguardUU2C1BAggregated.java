@@ -0,0 +1,45 @@
+package memguard.main;
+
+import memguard.logic.MemguardRWSystem;
+import memguard.logic.ReadWriteTask;
+import memguard.solution.Solution;
+import memguard.solution.SolutionStatus;
+import memguard.solver.memguardUU2C1B.MemguardUU2C1BAggregated;
+import memguard.solver.memguardUU2C1B.MemguardUU2C1BOpStall;
+
+public class MainMemguardUU2C1BAggregated {
+
+	public static void main(String[] args) {
+		int processorNumber = 3;
+		int readLatency = 1;
+		int writeLatency = 2;
+		int regulationPeriod = 20;
+		int[] budgets = { 10 };
+
+		int readCost = 20 * readLatency;
+		int writeCost = 20 * writeLatency;
+		int computationCost = 200;
+		int deadline = 100;
+		ReadWriteTask task = new ReadWriteTask(readCost, writeCost, computationCost, deadline);
+
+		MemguardRWSystem system = new MemguardRWSystem(processorNumber, readLatency, writeLatency, regulationPeriod,
+				budgets, task);
+		MemguardUU2C1BOpStall periodSolver = new MemguardUU2C1BOpStall(system);
+		MemguardUU2C1BAggregated aggregatedSolver = new MemguardUU2C1BAggregated(system);
+
+		Solution periodSolution = periodSolver.solve(true);
+		Solution aggregatedSolution = aggregatedSolver.solve(true);
+
+		if (aggregatedSolution.getStatus() != SolutionStatus.UNFEASIBLE) {
+			aggregatedSolution.displaySolution();
+		}
+
+		System.out.println("Stall comparison: %d (one variable per period) vs %d (aggregated)"
+				.formatted(periodSolution.getTotalStall(), aggregatedSolution.getTotalStall()));
+		System.out.println("Model size comparison: %d variables vs %d variables"
+				.formatted(periodSolution.getVariableNumber(), aggregatedSolution.getVariableNumber()));
+		System.out.println("Solving time comparison: %.04f s vs %.04f s".formatted(periodSolution.getSolvingTime(),
+				aggregatedSolution.getSolvingTime()));
+	}
+
+}
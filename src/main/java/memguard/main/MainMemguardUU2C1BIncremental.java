@@ -0,0 +1,62 @@
+package memguard.main;
+
+import memguard.logic.MemguardRWSystem;
+import memguard.logic.ReadWriteTask;
+import memguard.solution.Solution;
+import memguard.solver.Solver;
+import memguard.sweep.IncrementalSession;
+
+public class MainMemguardUU2C1BIncremental {
+
+	public static void main(String[] args) {
+		int processorNumber = 3;
+		int readLatency = 1;
+		int writeLatency = 2;
+		int regulationPeriod = 20;
+		int[] budgets = { 10 };
+
+		int readCost = 8 * readLatency;
+		int writeCost = 8 * writeLatency;
+		int computationCost = 0;
+		int deadline = 100;
+		ReadWriteTask task = new ReadWriteTask(readCost, writeCost, computationCost, deadline);
+
+		MemguardRWSystem system = new MemguardRWSystem(processorNumber, readLatency, writeLatency, regulationPeriod,
+				budgets, task);
+		IncrementalSession session = new IncrementalSession(system);
+
+		// Load the native libraries before timing solves
+		Solver.init();
+
+		// Grow the computation cost, then change the budget and come back to a known system
+		int systemNumber = 0;
+		for (computationCost = 0; computationCost <= 60; computationCost += 20) {
+			session.setComputationCost(computationCost);
+			compare(session, "Computation cost " + computationCost);
+			systemNumber++;
+		}
+
+		session.setBudget(12);
+		compare(session, "Budget 12");
+		session.setBudget(10);
+		compare(session, "Budget 10");
+		systemNumber += 2;
+
+		System.out.println("%d solves for %d systems".formatted(session.getSolveNumber(), systemNumber));
+	}
+
+	// Solves the current system of the session, and from scratch with the solver of its regime
+	private static void compare(IncrementalSession session, String change) {
+		long incrementalStart = System.nanoTime();
+		Solution incrementalSolution = session.solve();
+		double incrementalTime = (System.nanoTime() - incrementalStart) / 1e9;
+
+		long scratchStart = System.nanoTime();
+		Solution scratchSolution = session.getPoint().createSolver().solve(false);
+		double scratchTime = (System.nanoTime() - scratchStart) / 1e9;
+
+		System.out.println("%s: stall %d in %.04f s (from scratch: stall %d in %.04f s)".formatted(change,
+				incrementalSolution.getTotalStall(), incrementalTime, scratchSolution.getTotalStall(), scratchTime));
+	}
+
+}
@@ -0,0 +1,45 @@
+package memguard.main;
+
+import memguard.logic.MemguardNCSystem;
+import memguard.logic.MemguardRWSystem;
+import memguard.logic.ReadWriteTask;
+import memguard.solution.Solution;
+import memguard.solution.SolutionStatus;
+import memguard.solver.memguardUU2C1B.MemguardUU2C1BOpStall;
+import memguard.solver.memguardUUnC1B.MemguardUUnC1B;
+
+public class MainMemguardUUnC1B {
+
+	public static void main(String[] args) {
+		int processorNumber = 3;
+		int readLatency = 1;
+		int writeLatency = 2;
+		int regulationPeriod = 20;
+		int[] budgets = { 10 };
+
+		int readCost = 8 * readLatency;
+		int writeCost = 8 * writeLatency;
+		int computationCost = 40;
+		int deadline = 100;
+		ReadWriteTask task = new ReadWriteTask(readCost, writeCost, computationCost, deadline);
+
+		// The two counters system has a read class and a write class, with the same overhead
+		MemguardRWSystem system = new MemguardRWSystem(processorNumber, readLatency, writeLatency, regulationPeriod,
+				budgets, task);
+		MemguardUU2C1BOpStall twoCountersSolver = new MemguardUU2C1BOpStall(system);
+		MemguardUUnC1B nCountersSolver = new MemguardUUnC1B(MemguardNCSystem.fromTwoCounters(system));
+
+		Solution twoCountersSolution = twoCountersSolver.solve(true);
+		Solution nCountersSolution = nCountersSolver.solve(true);
+
+		if (nCountersSolution.getStatus() != SolutionStatus.UNFEASIBLE) {
+			nCountersSolution.displaySolution();
+		}
+
+		System.out.println("Stall comparison: %d (two counters) vs %d (n counters)"
+				.formatted(twoCountersSolution.getTotalStall(), nCountersSolution.getTotalStall()));
+		System.out.println("Solving time comparison: %.04f s vs %.04f s"
+				.formatted(twoCountersSolution.getSolvingTime(), nCountersSolution.getSolvingTime()));
+	}
+
+}
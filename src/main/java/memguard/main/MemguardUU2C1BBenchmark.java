@@ -0,0 +1,178 @@
+package memguard.main;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import memguard.solution.Solution;
+import memguard.solution.SolutionStatus;
+import memguard.solver.MemguardSolver;
+import memguard.solver.Solver;
+import memguard.solver.SymmetryBreaking;
+import memguard.sweep.SweepPoint;
+import memguard.sweep.SweepSpecification;
+
+/**
+ * <p>
+ * Compares variants of the two counters solvers on the same systems:
+ * </p>
+ *
+ * <ul>
+ * <li><code>symmetry</code> compares the symmetry breaking constraints (see
+ * {@link SymmetryBreaking}).
+ * <li><code>encoding</code> compares the default encoding of the period
+ * booleans with the lean encoding (see
+ * {@link MemguardSolver#setLeanEncoding(boolean)}).
+ * </ul>
+ *
+ * <p>
+ * Each point is solved once per variant, with one CP-SAT worker so that the
+ * search effort is reproducible, and the number of branches and conflicts, the
+ * building and solving times and the total stall are summed per variant.
+ * Points where the total stall differs from the one of the first variant are
+ * printed.
+ * </p>
+ *
+ * <p>
+ * Usage:
+ * <code>MemguardUU2C1BBenchmark &lt;symmetry|encoding&gt; [specification file] [time limit]</code>
+ * </p>
+ *
+ * <p>
+ * Without specification file, a small sweep around the regulation period 16
+ * is used. The time limit is given per solve, in seconds (60 by default).
+ * </p>
+ */
+public class MemguardUU2C1BBenchmark {
+
+	private static final String USAGE = "Usage: MemguardUU2C1BBenchmark <symmetry|encoding> [specification file] [time limit]";
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1 || args.length > 3) {
+			System.err.println(USAGE);
+			System.exit(1);
+		}
+
+		Map<String, Consumer<MemguardSolver>> variants = createVariants(args[0]);
+		if (variants == null) {
+			System.err.println(USAGE);
+			System.exit(1);
+		}
+
+		List<SweepPoint> points;
+		if (args.length > 1) {
+			points = SweepSpecification.load(new File(args[1])).createPoints();
+		} else {
+			points = createDefaultPoints();
+		}
+
+		double timeLimit = 60;
+		if (args.length > 2) {
+			try {
+				timeLimit = Double.parseDouble(args[2]);
+			} catch (NumberFormatException e) {
+				System.err.println(USAGE);
+				System.exit(1);
+			}
+		}
+
+		Solver.init();
+		List<String> names = new ArrayList<String>(variants.keySet());
+		int variantNumber = names.size();
+		long[] branchNumbers = new long[variantNumber];
+		long[] conflictNumbers = new long[variantNumber];
+		double[] buildingTimes = new double[variantNumber];
+		double[] solvingTimes = new double[variantNumber];
+		long[] totalStalls = new long[variantNumber];
+		int[] differentNumbers = new int[variantNumber];
+		int[] notOptimalNumbers = new int[variantNumber];
+
+		// Solvers print their progress, only keep the benchmark output
+		PrintStream out = System.out;
+		System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+		try {
+			for (SweepPoint point : points) {
+				long referenceStall = 0;
+				for (int i = 0; i < variantNumber; i++) {
+					MemguardSolver solver = point.createSolver();
+					solver.setWorkerNumber(1);
+					solver.getConfiguration().setTimeLimit(timeLimit);
+					variants.get(names.get(i)).accept(solver);
+					Solution solution = solver.solve(false);
+
+					branchNumbers[i] += solution.getBranchNumber();
+					conflictNumbers[i] += solution.getConflictNumber();
+					buildingTimes[i] += solution.getBuildingTime();
+					solvingTimes[i] += solution.getSolvingTime();
+					totalStalls[i] += solution.getTotalStall();
+					if (solution.getStatus() != SolutionStatus.OPTIMAL) {
+						notOptimalNumbers[i]++;
+					}
+
+					if (i == 0) {
+						referenceStall = solution.getTotalStall();
+					} else if (solution.getTotalStall() != referenceStall) {
+						differentNumbers[i]++;
+						out.println("%s with %s: stall %d instead of %d".formatted(point, names.get(i),
+								solution.getTotalStall(), referenceStall));
+					}
+				}
+			}
+		} finally {
+			System.setOut(out);
+		}
+
+		System.out.println("Benchmark of %s: %d systems, time limit %.1fs".formatted(args[0], points.size(),
+				timeLimit));
+		System.out.println("%-14s %12s %12s %10s %10s %12s %10s %12s".formatted("variant", "branches", "conflicts",
+				"build (s)", "solve (s)", "total stall", "different", "not optimal"));
+		for (int i = 0; i < variantNumber; i++) {
+			System.out.println("%-14s %12d %12d %10.2f %10.2f %12d %10d %12d".formatted(names.get(i),
+					branchNumbers[i], conflictNumbers[i], buildingTimes[i], solvingTimes[i], totalStalls[i],
+					differentNumbers[i], notOptimalNumbers[i]));
+		}
+	}
+
+	private static Map<String, Consumer<MemguardSolver>> createVariants(String comparison) {
+		Map<String, Consumer<MemguardSolver>> variants = new LinkedHashMap<String, Consumer<MemguardSolver>>();
+		switch (comparison) {
+		case "symmetry" -> {
+			for (SymmetryBreaking symmetryBreaking : SymmetryBreaking.values()) {
+				variants.put(symmetryBreaking.name(), solver -> solver.setSymmetryBreaking(symmetryBreaking));
+			}
+		}
+		case "encoding" -> {
+			variants.put("DEFAULT", solver -> solver.setLeanEncoding(false));
+			variants.put("LEAN", solver -> solver.setLeanEncoding(true));
+		}
+		default -> {
+			return null;
+		}
+		}
+
+		return variants;
+	}
+
+	private static List<SweepPoint> createDefaultPoints() {
+		List<SweepPoint> points = new ArrayList<SweepPoint>();
+		for (int budget = 3; budget <= 15; budget += 3) {
+			for (int readAccess : new int[] { 4, 8 }) {
+				for (int writeAccess : new int[] { 3, 6 }) {
+					for (int computationAccess = 0; computationAccess <= 60; computationAccess += 30) {
+						points.add(new SweepPoint(3, 1, 2, 16, budget, readAccess, writeAccess, computationAccess,
+								1000));
+					}
+				}
+			}
+		}
+
+		return points;
+	}
+
+}
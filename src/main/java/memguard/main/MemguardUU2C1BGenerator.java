@@ -2,156 +2,182 @@ package memguard.main;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 
-import memguard.logic.MemguardRWSystem;
-import memguard.logic.ReadWriteTask;
-import memguard.solution.Solution;
 import memguard.solution.SolutionStatus;
-import memguard.solver.MemguardSolver;
 import memguard.solver.Solver;
-import memguard.solver.memguardUU2C1B.MemguardUU2C1BOpStall;
-import memguard.solver.memguardUU2C1B.MemguardUU2C1BRconWreg;
+import memguard.solver.SolverConfiguration;
+import memguard.sweep.BandwidthRegime;
+import memguard.sweep.MonotoneSweep;
+import memguard.sweep.RenderPipeline;
+import memguard.sweep.SweepExecutor;
+import memguard.sweep.SweepHandler;
+import memguard.sweep.SweepJournal;
+import memguard.sweep.SweepPoint;
+import memguard.sweep.SweepResultWriter;
+import memguard.sweep.SweepShard;
+import memguard.sweep.SweepSpecification;
+import memguard.sweep.SweepTelemetry;
 
 public class MemguardUU2C1BGenerator {
 
 	// TODO Change / to File.separator
-	private static final String READ_REGULATION_WRITE_REGULATION = "./Rreg_Wreg";
-	private static final String READ_CONTENTION_WRITE_REGULATION = "./Rcon_Wreg";
-	private static final String READ_CONTENTION_WRITE_CONTENTION = "./Rcon_Wcon";
-	private static final String BASE_DIRECTORY_FORMAT = "%s/m%d/LR%d/LW%d/";
+	private static final String BASE_DIRECTORY_FORMAT = "./%s/m%d/LR%d/LW%d/";
 	private static final String SPECIFIC_DIRECTORY_FORMAT = "%s/P%d/Q%d/";
 	private static final String FILE_FORMAT = SPECIFIC_DIRECTORY_FORMAT + "r%d_w%d_e%d.png";
-
-	public static void main(String[] args) throws IOException {
+	private static final String JOURNAL_FORMAT = "./%s%s.journal";
+	private static final String RESULT_DIRECTORY_FORMAT = "./%s%s_results/";
+	private static final String TELEMETRY_FORMAT = "./%s%s_telemetry.json";
+	private static final String DEFAULT_SWEEP_NAME = "default";
+	private static final String USAGE = "Usage: MemguardUU2C1BGenerator [specification file] [--shard k/N]";
+
+	/**
+	 * Solves all points of a sweep specification (see {@link SweepSpecification}),
+	 * or of the default specification if no file is given. With
+	 * <code>--shard k/N</code>, only the k-th of N shards is solved (see
+	 * {@link SweepShard}), and journal and results get a shard suffix. Results of
+	 * all shards can be merged with {@link MemguardUU2C1BMerge}.
+	 * 
+	 * @param args the specification file and the shard, both optional.
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
 		// Init solver
 		Solver.init();
-		
-		// Set system properties
-		int processorNumber = 3;
-		int readLatency = 1;
-		int writeLatency = 2;
-
-		// Create directories base directories
-		String rRegWRegBaseDirPath = BASE_DIRECTORY_FORMAT.formatted(READ_REGULATION_WRITE_REGULATION, processorNumber,
-				readLatency, writeLatency);
-		File dir = new File(rRegWRegBaseDirPath);
-		if (!dir.exists()) {
-			dir.mkdirs();
-		}
 
-		String rConWRegBaseDirPath = BASE_DIRECTORY_FORMAT.formatted(READ_CONTENTION_WRITE_REGULATION, processorNumber,
-				readLatency, writeLatency);
-		dir = new File(rConWRegBaseDirPath);
-		if (!dir.exists()) {
-			dir.mkdirs();
+		// Read arguments
+		File specificationFile = null;
+		SweepShard shard = SweepShard.ALL;
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("--shard") && i + 1 < args.length) {
+				try {
+					shard = SweepShard.parse(args[++i]);
+				} catch (IllegalArgumentException e) {
+					System.err.println(e.getMessage());
+					System.exit(1);
+				}
+			} else if (!args[i].startsWith("--") && specificationFile == null) {
+				specificationFile = new File(args[i]);
+			} else {
+				System.err.println(USAGE);
+				System.exit(1);
+			}
 		}
 
-		String rConWConBaseDirPath = BASE_DIRECTORY_FORMAT.formatted(READ_CONTENTION_WRITE_CONTENTION, processorNumber,
-				readLatency, writeLatency);
-		dir = new File(rConWConBaseDirPath);
-		if (!dir.exists()) {
-			dir.mkdirs();
+		SweepSpecification specification;
+		String sweepName;
+		if (specificationFile == null) {
+			specification = SweepSpecification.getDefault();
+			sweepName = DEFAULT_SWEEP_NAME;
+		} else {
+			specification = SweepSpecification.load(specificationFile);
+			sweepName = specificationFile.getName().replaceFirst("\\.[^.]*$", "");
 		}
 
-		// Set task properties
-		int deadline = 100;
-		int minRegulationPeriod = 30;
-		int maxRegulationPeriod = 30;
-		int minBudget = 7;
-		int maxBudget = 29;
-		int minReadAccess = 50;
-		int maxReadAccess = 50;
-		int minWriteAccess = 50;
-		int maxWriteAccess = 50;
-		int minComputationAccess = 0;
-		int maxComputationAccess = 200;
-		int computationStep = 20;
-
-		// Create specific directories
-		for (int regulationPeriod = minRegulationPeriod; regulationPeriod <= maxRegulationPeriod; regulationPeriod++) {
-			for (int budget = minBudget; budget <= Math.min(regulationPeriod - 1, maxBudget); budget++) {
-				float writeToRead = (float) writeLatency / readLatency;
-				float bandwidth = (float) budget / regulationPeriod;
-				float readBandwidth = 1f / (1 + (processorNumber - 1) * writeToRead);
-				float writeBandwidth = 1f / processorNumber;
-				
-				String dirString;
-				if (bandwidth <= readBandwidth) {
-					dirString = rRegWRegBaseDirPath;
-				} else {
-					if (bandwidth <= writeBandwidth) {
-						dirString = rConWRegBaseDirPath;
-					} else {
-						dirString = rConWConBaseDirPath;
-					}
-				}
-				
-				dir = new File(SPECIFIC_DIRECTORY_FORMAT.formatted(dirString, regulationPeriod, budget));
-				if (!dir.exists()) {
-					dir.mkdirs();
+		// Results are stored in columns, images can be rendered afterwards with
+		// MemguardUU2C1BRender
+		boolean renderImages = specification.isRenderImages();
+
+		// When enabled in the specification, only solve points where the stall
+		// changes along computation costs, others are inferred (see MonotoneSweep)
+		boolean inferMonotone = specification.isInferMonotone();
+
+		// Create the points of this shard
+		List<SweepPoint> points = shard.select(specification.createPoints());
+
+		// Skip points completed by a previous run
+		File journalFile = new File(JOURNAL_FORMAT.formatted(sweepName, shard.getSuffix()));
+		File resultDirectory = new File(RESULT_DIRECTORY_FORMAT.formatted(sweepName, shard.getSuffix()));
+		try (SweepResultWriter results = new SweepResultWriter(resultDirectory);
+				SweepJournal journal = new SweepJournal(journalFile);
+				RenderPipeline renderer = RenderPipeline.forAvailableCores()) {
+			// Images do not block the journal, their points are marked once written
+			journal.addDependency(results);
+
+			int pointNumber = points.size();
+			points.removeIf(journal::isCompleted);
+			if (points.size() != pointNumber) {
+				System.out.println("Resuming generation: %d systems already completed"
+						.formatted(pointNumber - points.size()));
+			}
+
+			SweepExecutor executor = SweepExecutor.forPointNumber(points.size());
+			if (!specification.getProfile().equals(SweepSpecification.AUTO_PROFILE)) {
+				try {
+					executor = SweepExecutor.forConfiguration(points.size(),
+							SolverConfiguration.forProfile(specification.getProfile()));
+				} catch (IllegalArgumentException e) {
+					System.err.println(e.getMessage());
+					System.exit(1);
 				}
 			}
-		}
 
-		int systemCount = 0;
-		System.out.println("Starting generation");
-		for (int regulationPeriod = minRegulationPeriod; regulationPeriod <= maxRegulationPeriod; regulationPeriod++) {
-			for (int budget = minBudget; budget <= Math.min(regulationPeriod - 1, maxBudget); budget++) {
-				for (int readAccess = minReadAccess; readAccess <= maxReadAccess; readAccess++) {
-					for (int writeAccess = minWriteAccess; writeAccess <= maxWriteAccess; writeAccess++) {
-						for (int computationAccess = minComputationAccess; computationAccess <= maxComputationAccess; computationAccess += computationStep) {
-							float writeToRead = (float) writeLatency / readLatency;
-							float bandwidth = (float) budget / regulationPeriod;
-							float readBandwidth = 1f / (1 + (processorNumber - 1) * writeToRead);
-							float writeBandwidth = 1f / processorNumber;
-
-							int[] budgets = { budget };
-							int readCost = readAccess * readLatency;
-							int writeCost = writeAccess * writeLatency;
-							int computationCost = computationAccess;
-							
-							ReadWriteTask task = new ReadWriteTask(readCost, writeCost, computationCost, deadline);
-							MemguardRWSystem system = new MemguardRWSystem(processorNumber, readLatency, writeLatency,
-									regulationPeriod, budgets, task);
-
-							String dirString;
-							MemguardSolver solver;
-							if (bandwidth <= readBandwidth) {
-								dirString = rRegWRegBaseDirPath;
-								solver = new MemguardUU2C1BOpStall(system);
-							} else {
-								if (bandwidth <= writeBandwidth) {
-									dirString = rConWRegBaseDirPath;
-									solver = new MemguardUU2C1BRconWreg(system);
-								} else {
-									dirString = rConWConBaseDirPath;
-									solver = new MemguardUU2C1BOpStall(system);
-								}
-							}
-							
-							Solution solution = solver.solve(false);
-							if (solution.getStatus() != SolutionStatus.UNFEASIBLE) {
-
-
-								if (++systemCount % 1000 == 0) {
-									System.out.println("Number of systems solved: %d".formatted(systemCount));
-								}
-								
-								solution.saveSolution(
-										new File(FILE_FORMAT.formatted(dirString, regulationPeriod, budgets[0],
-												readCost / readLatency, writeCost / writeLatency, computationAccess)));
-							} else {
-								System.out.println(
-										"System infeasible for: m = %d, LR = %d, LW = %d, P = %d, Q = %d, r = %d, w = %d, e = %d"
-												.formatted(processorNumber, readLatency, writeLatency, regulationPeriod,
-														budgets[0], readCost / readLatency, writeCost / writeLatency,
-														computationAccess));
-							}
-						}
-					}
+			executor.setPortfolio(specification.isPortfolio());
+			executor.setTemplates(specification.isTemplates());
+			executor.setHeuristicBounds(specification.isBounds());
+			executor.setSymmetryBreaking(specification.getSymmetry());
+			executor.setLeanEncoding(specification.isLean());
+			System.out.println("Starting generation of shard %s: %d systems, %d threads, %d CP-SAT workers per system"
+					.formatted(shard, points.size(), executor.getThreadNumber(), executor.getSolverWorkerNumber()));
+
+			File telemetryFile = new File(TELEMETRY_FORMAT.formatted(sweepName, shard.getSuffix()));
+			SweepTelemetry telemetry = new SweepTelemetry(telemetryFile, points.size());
+			telemetry.setRenderPipeline(renderer);
+			telemetry.start();
+
+			SweepHandler handler = (point, solution) -> {
+				telemetry.record(point, solution);
+
+				// Not proven infeasible: nothing is kept so that a resumed sweep solves it again
+				if (solution.getStatus() == SolutionStatus.UNKNOWN) {
+					System.out.println("No schedule found within the time limit for: " + point);
+					return;
+				}
+
+				// Only mark when everything about the point is written
+				results.append(point, solution);
+				if (solution.getStatus() == SolutionStatus.UNFEASIBLE) {
+					System.out.println("System infeasible for: " + point);
+				} else if (renderImages && !solution.isInferred()) {
+					File imageFile = new File(getFilePath(point));
+					imageFile.getParentFile().mkdirs();
+					renderer.submit(solution, imageFile, writtenFile -> journal.markCompleted(point));
+					return;
+				}
+
+				journal.markCompleted(point);
+			};
+
+			try {
+				if (inferMonotone) {
+					MonotoneSweep sweep = new MonotoneSweep(executor);
+					sweep.execute(points, handler);
+					System.out.println("Generation done: %d systems solved, %d systems inferred"
+							.formatted(sweep.getSolvedNumber(), sweep.getInferredNumber()));
+				} else {
+					executor.execute(points, handler);
+				}
+			} finally {
+				try {
+					// Wait for the last images so that their rendering time is reported
+					renderer.flush();
+				} finally {
+					telemetry.close();
 				}
 			}
 		}
 	}
 
+	private static String getBaseDirectory(BandwidthRegime regime, int processorNumber, int readLatency,
+			int writeLatency) {
+		return BASE_DIRECTORY_FORMAT.formatted(regime.getDirectoryName(), processorNumber, readLatency,
+				writeLatency);
+	}
+
+	static String getFilePath(SweepPoint point) {
+		String baseDirectory = getBaseDirectory(point.getRegime(), point.getProcessorNumber(),
+				point.getReadLatency(), point.getWriteLatency());
+		return FILE_FORMAT.formatted(baseDirectory, point.getRegulationPeriod(), point.getBudget(),
+				point.getReadAccess(), point.getWriteAccess(), point.getComputationAccess());
+	}
+
 }
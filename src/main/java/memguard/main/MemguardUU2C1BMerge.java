@@ -0,0 +1,55 @@
+package memguard.main;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import memguard.sweep.SweepPoint;
+import memguard.sweep.SweepResultReader;
+import memguard.sweep.SweepResultWriter;
+
+/**
+ * Merges the result stores of the shards of a sweep (see
+ * {@link MemguardUU2C1BGenerator}) into one store. A point present in several
+ * stores (for instance written twice after a crash) is only kept once.
+ * 
+ * <p>
+ * Usage: <code>MemguardUU2C1BMerge &lt;merged directory&gt; &lt;result directory&gt;...</code>
+ * </p>
+ */
+public class MemguardUU2C1BMerge {
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("Usage: MemguardUU2C1BMerge <merged directory> <result directory>...");
+			System.exit(1);
+		}
+
+		File mergedDirectory = new File(args[0]);
+		if (mergedDirectory.exists() && mergedDirectory.list().length > 0) {
+			System.err.println("Merged directory must be empty: " + mergedDirectory);
+			System.exit(1);
+		}
+
+		Set<SweepPoint> mergedPoints = new HashSet<SweepPoint>();
+		int duplicateNumber = 0;
+		try (SweepResultWriter writer = new SweepResultWriter(mergedDirectory)) {
+			for (int i = 1; i < args.length; i++) {
+				SweepResultReader reader = new SweepResultReader(new File(args[i]));
+				for (int row = 0; row < reader.getRowNumber(); row++) {
+					if (mergedPoints.add(reader.getPoint(row))) {
+						writer.append(reader, row);
+					} else {
+						duplicateNumber++;
+					}
+				}
+				System.out.println("Merged %s: %d rows".formatted(args[i], reader.getRowNumber()));
+			}
+
+			System.out.println("Merge done: %d systems, %d duplicates ignored".formatted(writer.getRowNumber(),
+					duplicateNumber));
+		}
+	}
+
+}
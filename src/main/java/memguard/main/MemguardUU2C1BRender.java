@@ -0,0 +1,85 @@
+package memguard.main;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import memguard.solution.SolutionStatus;
+import memguard.sweep.RenderPipeline;
+import memguard.sweep.SweepColumn;
+import memguard.sweep.SweepExecutor;
+import memguard.sweep.SweepPoint;
+import memguard.sweep.SweepResultReader;
+
+/**
+ * Renders on demand the images of points stored in a result store written by
+ * {@link MemguardUU2C1BGenerator}. Points are solved again and their images are
+ * saved at the same place as the generator would have.
+ * 
+ * <p>
+ * Usage: <code>MemguardUU2C1BRender &lt;result directory&gt; [column=value...]</code>
+ * where columns are named like the files of the store (e.g.
+ * <code>budget=10 computation_access=40</code>). Only feasible points are
+ * rendered.
+ * </p>
+ */
+public class MemguardUU2C1BRender {
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		if (args.length == 0) {
+			System.err.println("Usage: MemguardUU2C1BRender <result directory> [column=value...]");
+			System.exit(1);
+		}
+
+		Map<SweepColumn, Integer> filters = new EnumMap<SweepColumn, Integer>(SweepColumn.class);
+		for (int i = 1; i < args.length; i++) {
+			String[] filter = args[i].split("=");
+			if (filter.length != 2) {
+				System.err.println("Filters must be of the form column=value: " + args[i]);
+				System.exit(1);
+			}
+
+			SweepColumn column = SweepColumn.valueOf(filter[0].toUpperCase());
+			if (column.getType() != SweepColumn.ColumnType.INT) {
+				System.err.println("Only int columns can be filtered: " + filter[0]);
+				System.exit(1);
+			}
+			filters.put(column, Integer.parseInt(filter[1]));
+		}
+
+		// Select rows
+		SweepResultReader reader = new SweepResultReader(new File(args[0]));
+		List<SweepPoint> points = new ArrayList<SweepPoint>();
+		for (int row = 0; row < reader.getRowNumber(); row++) {
+			if (reader.getStatus(row) == SolutionStatus.UNFEASIBLE) {
+				continue;
+			}
+
+			boolean selected = true;
+			for (Map.Entry<SweepColumn, Integer> filter : filters.entrySet()) {
+				if (reader.getInt(filter.getKey(), row) != filter.getValue()) {
+					selected = false;
+					break;
+				}
+			}
+
+			if (selected) {
+				points.add(reader.getPoint(row));
+			}
+		}
+
+		System.out.println("Rendering %d systems".formatted(points.size()));
+		SweepExecutor executor = SweepExecutor.forPointNumber(points.size());
+		try (RenderPipeline renderer = RenderPipeline.forAvailableCores()) {
+			executor.execute(points, (point, solution) -> {
+				File imageFile = new File(MemguardUU2C1BGenerator.getFilePath(point));
+				imageFile.getParentFile().mkdirs();
+				renderer.submit(solution, imageFile);
+			});
+		}
+	}
+
+}
@@ -4,7 +4,10 @@ import java.io.File;
 import java.io.IOException;
 
 import memguard.frame.SolutionFrame;
+import memguard.frame.SolutionPainter;
+import memguard.solution.items.EmptyItem;
 import memguard.solution.items.SolutionItem;
+import memguard.solver.ScheduleHint;
 
 public class Solution {
 
@@ -12,6 +15,16 @@ public class Solution {
 	private SolutionItem[][] solutionItems;
 	private int solutionLength;
 	private double solvingTime;
+	private double buildingTime;
+	private long totalStall;
+	private long stallBound;
+	private int variableNumber;
+	private int constraintNumber;
+	private long branchNumber;
+	private long conflictNumber;
+	private boolean inferred;
+	private ScheduleHint scheduleHint;
+	private String solverName;
 
 	/**
 	 * Builds a solution with a status and a matrix of solution items. Each line
@@ -27,6 +40,7 @@ public class Solution {
 		this.status = status;
 		this.solutionItems = solutionItems;
 		this.solvingTime = 0;
+		this.stallBound = -1;
 
 		solutionLength = 0;
 		if (solutionItems.length > 0) {
@@ -61,16 +75,242 @@ public class Solution {
 		return solvingTime;
 	}
 
+	public void setBuildingTime(double buildingTime) {
+		this.buildingTime = buildingTime;
+	}
+
+	/**
+	 * Returns the time spent building the model before solving it, in seconds.
+	 * 
+	 * @return the model building time in seconds.
+	 */
+	public double getBuildingTime() {
+		return buildingTime;
+	}
+
+	public void setTotalStall(long totalStall) {
+		this.totalStall = totalStall;
+	}
+
+	/**
+	 * Returns the total stall of the analysed processor, which is the value that
+	 * the solver maximized.
+	 * 
+	 * @return the total stall of the solution.
+	 */
+	public long getTotalStall() {
+		return totalStall;
+	}
+
+	public void setStallBound(long stallBound) {
+		this.stallBound = stallBound;
+	}
+
+	/**
+	 * Returns the proven upper bound of the total stall, equal to the total stall
+	 * when the solution is OPTIMAL, or -1 if the solver did not give one.
+	 * 
+	 * @return the proven upper bound of the total stall, or -1.
+	 */
+	public long getStallBound() {
+		return stallBound;
+	}
+
+	/**
+	 * Returns the relative gap between the total stall and its proven upper
+	 * bound: <code>(bound - stall) / max(1, bound)</code>. The gap is 0 when the
+	 * solution is OPTIMAL, and infinite when there is no bound.
+	 * 
+	 * @return the relative gap to the proven bound.
+	 * @see #getStallBound()
+	 */
+	public double getGap() {
+		if (status == SolutionStatus.OPTIMAL) {
+			return 0;
+		}
+
+		if (stallBound < 0) {
+			return Double.POSITIVE_INFINITY;
+		}
+
+		return (double) (stallBound - totalStall) / Math.max(1, stallBound);
+	}
+
+	public void setInferred(boolean inferred) {
+		this.inferred = inferred;
+	}
+
+	/**
+	 * Returns true if this solution was not solved but deduced from the solutions
+	 * of other systems. An inferred solution has a status and a total stall, but
+	 * no items.
+	 * 
+	 * @return true if the solution was inferred.
+	 */
+	public boolean isInferred() {
+		return inferred;
+	}
+
+	public void setScheduleHint(ScheduleHint scheduleHint) {
+		this.scheduleHint = scheduleHint;
+	}
+
+	/**
+	 * Returns the per-period values of this solution that can warm start the
+	 * solving of a neighbouring system, or null if the solver does not capture
+	 * them.
+	 * 
+	 * @return the schedule hint of the solution, or null.
+	 */
+	public ScheduleHint getScheduleHint() {
+		return scheduleHint;
+	}
+
+	public void setSolverName(String solverName) {
+		this.solverName = solverName;
+	}
+
+	/**
+	 * Returns the name of the solver that produced this solution when several
+	 * solvers were raced, or null otherwise.
+	 * 
+	 * @return the name of the winning solver, or null.
+	 */
+	public String getSolverName() {
+		return solverName;
+	}
+
+	public void setModelSize(int variableNumber, int constraintNumber) {
+		this.variableNumber = variableNumber;
+		this.constraintNumber = constraintNumber;
+	}
+
+	public int getVariableNumber() {
+		return variableNumber;
+	}
+
+	public int getConstraintNumber() {
+		return constraintNumber;
+	}
+
+	/**
+	 * Sets the search effort of the CP-SAT solve that gave this solution, to
+	 * compare models of the same system.
+	 * 
+	 * @param branchNumber   the number of search branches.
+	 * @param conflictNumber the number of conflicts.
+	 */
+	public void setSearchEffort(long branchNumber, long conflictNumber) {
+		this.branchNumber = branchNumber;
+		this.conflictNumber = conflictNumber;
+	}
+
+	public long getBranchNumber() {
+		return branchNumber;
+	}
+
+	public long getConflictNumber() {
+		return conflictNumber;
+	}
+
+	/**
+	 * Returns the number of periods of the first processor (number of period
+	 * begin markers).
+	 * 
+	 * @return the number of periods of the solution.
+	 */
+	public int getPeriodNumber() {
+		int periodNumber = 0;
+		if (solutionItems.length > 0) {
+			for (SolutionItem item : solutionItems[0]) {
+				if (item.isBegin()) {
+					periodNumber++;
+				}
+			}
+		}
+
+		return periodNumber;
+	}
+
+	/**
+	 * Returns the response time of the task on the first processor. It is the end
+	 * of the last item of the first processor that is not empty, ignoring what is
+	 * outside of periods (overheads between periods).
+	 * 
+	 * @return the response time of the task.
+	 */
+	public int getResponseTime() {
+		int responseTime = 0;
+		if (solutionItems.length > 0) {
+			boolean hasPeriods = getPeriodNumber() > 0;
+			boolean inPeriod = false;
+			int time = 0;
+			for (SolutionItem item : solutionItems[0]) {
+				if (item.isBegin()) {
+					inPeriod = true;
+				}
+
+				time += item.getLength();
+				if ((inPeriod || !hasPeriods) && !(item instanceof EmptyItem) && item.getLength() > 0) {
+					responseTime = time;
+				}
+
+				if (item.isEnd()) {
+					inPeriod = false;
+				}
+			}
+		}
+
+		return responseTime;
+	}
+
+	/**
+	 * Returns the same solution with all durations multiplied by the factor:
+	 * lengths of the items, total stall, stall bound and schedule hint. Solving
+	 * statistics are kept. This gives the solution of a system whose durations
+	 * were divided by the factor before solving.
+	 * 
+	 * @param factor the multiplication factor.
+	 * @return the scaled solution.
+	 */
+	public Solution scale(int factor) {
+		SolutionItem[][] scaledItems = new SolutionItem[solutionItems.length][];
+		for (int i = 0; i < solutionItems.length; i++) {
+			scaledItems[i] = new SolutionItem[solutionItems[i].length];
+			for (int j = 0; j < solutionItems[i].length; j++) {
+				scaledItems[i][j] = solutionItems[i][j].scale(factor);
+			}
+		}
+
+		Solution solution = new Solution(status, scaledItems);
+		solution.solvingTime = solvingTime;
+		solution.buildingTime = buildingTime;
+		solution.totalStall = totalStall * factor;
+		solution.stallBound = stallBound < 0 ? stallBound : stallBound * factor;
+		solution.variableNumber = variableNumber;
+		solution.constraintNumber = constraintNumber;
+		solution.branchNumber = branchNumber;
+		solution.conflictNumber = conflictNumber;
+		solution.inferred = inferred;
+		solution.scheduleHint = scheduleHint == null ? null : scheduleHint.multiply(factor);
+		solution.solverName = solverName;
+		return solution;
+	}
+
 	public void displaySolution() {
 		SolutionFrame frame = new SolutionFrame(this);
 		frame.initFrame();
 	}
 	
+	/**
+	 * Saves the solution as a PNG image. No window is created, so this also works
+	 * on headless machines.
+	 * 
+	 * @param file the image file.
+	 * @throws IOException if the image cannot be written.
+	 */
 	public void saveSolution(File file) throws IOException {
-		SolutionFrame frame = new SolutionFrame(this);
-		frame.pack();
-		frame.saveToFile(file);
-		frame.dispose();
+		new SolutionPainter(this).saveImage(file);
 	}
 
 }
@@ -1,5 +1,10 @@
 package memguard.solution;
 
 public enum SolutionStatus {
-	UNFEASIBLE, FEASIBLE, OPTIMAL;
+	UNFEASIBLE, FEASIBLE, OPTIMAL,
+	/**
+	 * No schedule was found before the solve was stopped, the system may still be
+	 * feasible. Declared last to keep the ordinals stored in sweep results.
+	 */
+	UNKNOWN;
 }
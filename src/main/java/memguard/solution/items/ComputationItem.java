@@ -12,4 +12,13 @@ public class ComputationItem extends SolutionItem {
 		super(length, SolutionColor.getColor(processorIndex, false));
 	}
 
+	private ComputationItem(ComputationItem item, int factor) {
+		super(item, factor);
+	}
+
+	@Override
+	public ComputationItem scale(int factor) {
+		return new ComputationItem(this, factor);
+	}
+
 }
@@ -10,4 +10,13 @@ public class EmptyItem extends SolutionItem {
 		super(length, null);
 	}
 
+	private EmptyItem(EmptyItem item, int factor) {
+		super(item, factor);
+	}
+
+	@Override
+	public EmptyItem scale(int factor) {
+		return new EmptyItem(this, factor);
+	}
+
 }
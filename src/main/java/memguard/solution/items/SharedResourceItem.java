@@ -12,4 +12,13 @@ public class SharedResourceItem extends SolutionItem {
 		super(length, SolutionColor.getColor(processorIndex, true));
 	}
 
+	private SharedResourceItem(SharedResourceItem item, int factor) {
+		super(item, factor);
+	}
+
+	@Override
+	public SharedResourceItem scale(int factor) {
+		return new SharedResourceItem(this, factor);
+	}
+
 }
@@ -20,6 +20,10 @@ public class SolutionItem {
 		this(length, itemColor, false, false);
 	}
 
+	protected SolutionItem(SolutionItem item, int factor) {
+		this(item.length * factor, item.itemColor, item.isBegin, item.isEnd);
+	}
+
 	public int getLength() {
 		return length;
 	}
@@ -36,4 +40,14 @@ public class SolutionItem {
 		return isEnd;
 	}
 
+	/**
+	 * Returns a copy of this item with its length multiplied by the factor.
+	 * 
+	 * @param factor the multiplication factor.
+	 * @return the scaled item.
+	 */
+	public SolutionItem scale(int factor) {
+		return new SolutionItem(this, factor);
+	}
+
 }
@@ -16,4 +16,13 @@ public class StallItem extends SolutionItem {
 		super(length, STALL_COLOR);
 	}
 
+	private StallItem(StallItem item, int factor) {
+		super(item, factor);
+	}
+
+	@Override
+	public StallItem scale(int factor) {
+		return new StallItem(this, factor);
+	}
+
 }
@@ -0,0 +1,117 @@
+package memguard.solver;
+
+import java.util.function.IntPredicate;
+
+/**
+ * <p>
+ * Chooses the number of periods (the horizon) of a two counters model. Every
+ * period of a model adds variables and reified constraints, and periods after
+ * the end of the task only contain void accesses, so the horizon should be as
+ * small as possible while still containing the worst-case schedule.
+ * </p>
+ * 
+ * <p>
+ * {@link #getMaxPeriodNumber(int, int, int, int, int, int)} gives a provable
+ * bound. {@link #plan(int, int, IntPredicate)} then searches for the smallest
+ * horizon after which no schedule can still be running. This is checked by the
+ * solver, which proves that no schedule leaves work after the horizon. With
+ * such a horizon, the optimum of the model is the same as with the bound.
+ * </p>
+ */
+public class HorizonPlanner {
+
+	private HorizonPlanner() {
+	}
+
+	/**
+	 * Returns the minimum number of periods of any schedule: a period cannot do
+	 * more than the regulation period of work, nor more than the budget of memory
+	 * accesses.
+	 * 
+	 * @param regulationPeriod the regulation period used in the model.
+	 * @param budget           the budget of the analysed processor.
+	 * @param memoryCost       the read and write cost of the task.
+	 * @param computationCost  the computation cost of the task.
+	 * @return the minimum number of periods, at least 1.
+	 */
+	public static int getMinPeriodNumber(int regulationPeriod, int budget, int memoryCost, int computationCost) {
+		int periodNumber = Math.max(Math.ceilDiv(memoryCost + computationCost, regulationPeriod),
+				Math.ceilDiv(memoryCost, budget));
+		return Math.max(1, periodNumber);
+	}
+
+	/**
+	 * <p>
+	 * Returns the maximum number of periods of any schedule. A period that is not
+	 * the last one is full. If it contains memory accesses, the stall is at most P
+	 * - Q plus an operation stall smaller than the write latency, so it does at
+	 * least Q - LW + 1 of work. If it contains no memory access, there is no stall
+	 * and it does P of computation.
+	 * </p>
+	 * 
+	 * <p>
+	 * There are at most as many periods with memory accesses as accesses. The
+	 * number of periods is thus at most the number of cheap periods with memory
+	 * accesses that fit in the cost, plus the number of computation periods that
+	 * fit in what remains, plus the last period. This is never greater than
+	 * <code>ceil(cost / (Q - LW + 1))</code>, and much smaller for tasks with few
+	 * accesses and a lot of computation.
+	 * </p>
+	 * 
+	 * @param regulationPeriod the regulation period used in the model.
+	 * @param budget           the budget of the analysed processor.
+	 * @param writeLatency     the write latency.
+	 * @param accessNumber     the number of read and write accesses of the task.
+	 * @param memoryCost       the read and write cost of the task.
+	 * @param computationCost  the computation cost of the task.
+	 * @return the maximum number of periods, at least 1.
+	 */
+	public static int getMaxPeriodNumber(int regulationPeriod, int budget, int writeLatency, int accessNumber,
+			int memoryCost, int computationCost) {
+		int cost = memoryCost + computationCost;
+		if (cost == 0) {
+			return 1;
+		}
+
+		// The last period does at least one unit of work
+		int minMemoryProgress = budget - writeLatency + 1;
+		int memoryPeriodNumber = Math.min(accessNumber, (cost - 1) / minMemoryProgress);
+		int computationPeriodNumber = (cost - 1 - memoryPeriodNumber * minMemoryProgress) / regulationPeriod;
+		return memoryPeriodNumber + computationPeriodNumber + 1;
+	}
+
+	/**
+	 * Returns the smallest horizon between the minimum and the maximum after which
+	 * no schedule can still be running. The horizon is doubled from the minimum
+	 * until no schedule runs longer, then refined by bisection. The maximum is
+	 * returned without being checked.
+	 * 
+	 * @param minPeriodNumber the minimum number of periods.
+	 * @param maxPeriodNumber the provable maximum number of periods.
+	 * @param canRunLonger    returns false only if it is proven that no schedule
+	 *                        has work left after the specified number of periods.
+	 * @return the horizon to use in the model.
+	 */
+	public static int plan(int minPeriodNumber, int maxPeriodNumber, IntPredicate canRunLonger) {
+		// Find a horizon that is long enough by doubling
+		int tooShort = minPeriodNumber - 1;
+		int longEnough = Math.min(minPeriodNumber, maxPeriodNumber);
+		while (longEnough < maxPeriodNumber && canRunLonger.test(longEnough)) {
+			tooShort = longEnough;
+			longEnough = Math.min(maxPeriodNumber, 2 * longEnough);
+		}
+
+		// Bisect between the last horizon that was too short and the long enough one
+		while (longEnough - tooShort > 1) {
+			int middle = (tooShort + longEnough) / 2;
+			if (canRunLonger.test(middle)) {
+				tooShort = middle;
+			} else {
+				longEnough = middle;
+			}
+		}
+
+		return longEnough;
+	}
+
+}
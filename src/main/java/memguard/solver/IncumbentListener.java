@@ -0,0 +1,23 @@
+package memguard.solver;
+
+/**
+ * Listener of the schedules found while a {@link MemguardSolver} is solving
+ * (see {@link MemguardSolver#setIncumbentListener(IncumbentListener)}). Each
+ * call gives a schedule with a greater total stall than the previous ones, and
+ * the best proven upper bound of the total stall at that time. Calls are made
+ * from the solving threads of CP-SAT, so listeners must be thread-safe and
+ * return quickly.
+ */
+@FunctionalInterface
+public interface IncumbentListener {
+
+	/**
+	 * Called when the solver finds a schedule better than the previous ones.
+	 * 
+	 * @param totalStall the total stall of the new schedule.
+	 * @param stallBound the proven upper bound of the total stall.
+	 * @param time       the time since the solve started, in seconds.
+	 */
+	void onIncumbent(long totalStall, long stallBound, double time);
+
+}
@@ -1,7 +1,19 @@
 package memguard.solver;
 
+import com.google.ortools.sat.BoolVar;
+import com.google.ortools.sat.CpModel;
+import com.google.ortools.sat.CpSolver;
+import com.google.ortools.sat.CpSolverSolutionCallback;
+import com.google.ortools.sat.CpSolverStatus;
+import com.google.ortools.sat.IntVar;
+import com.google.ortools.sat.LinearArgument;
+import com.google.ortools.sat.LinearExpr;
+import com.google.ortools.sat.LinearExprBuilder;
+import com.google.ortools.sat.Literal;
+
 import memguard.logic.System;
 import memguard.solution.Solution;
+import memguard.solution.SolutionStatus;
 
 /**
  * Solvers and solutions have a naming convention to know what they correspond
@@ -20,11 +32,467 @@ import memguard.solution.Solution;
 public abstract class MemguardSolver extends Solver {
 
 	protected System system;
+	private SolverConfiguration configuration;
+	protected ScheduleHint hint;
+	private boolean cumulativeSums;
+	private boolean adaptiveHorizon;
+	private boolean heuristicBounds;
+	private SymmetryBreaking symmetryBreaking;
+	private boolean leanEncoding;
+	private long deadline;
+	private IncumbentListener incumbentListener;
+	private volatile CpSolver cpSolver;
+	private volatile boolean stopped;
 
 	public MemguardSolver(System system) {
 		this.system = system;
+		this.configuration = new SolverConfiguration();
+		this.cumulativeSums = false;
+		this.adaptiveHorizon = false;
+		this.heuristicBounds = false;
+		this.symmetryBreaking = SymmetryBreaking.ORDERED;
+		this.leanEncoding = false;
+		this.deadline = 0;
+		this.incumbentListener = null;
+		this.cpSolver = null;
+		this.stopped = false;
 	}
 
 	public abstract Solution solve(boolean verbose);
 
+	/**
+	 * Sets the CP-SAT parameters used by the next solves. The configuration is
+	 * not copied, so modifying it afterwards changes the parameters of this
+	 * solver. By default, CP-SAT defaults are used with all cores.
+	 * 
+	 * @param configuration the CP-SAT parameters.
+	 * @see SolverConfiguration#forProfile(String)
+	 */
+	public void setConfiguration(SolverConfiguration configuration) {
+		this.configuration = configuration;
+	}
+
+	public SolverConfiguration getConfiguration() {
+		return configuration;
+	}
+
+	/**
+	 * Sets the number of CP-SAT workers used for one solve. A value of 0 lets
+	 * CP-SAT use all available cores, which is what you want for a single solve
+	 * but not when many solves run concurrently.
+	 * 
+	 * @param workerNumber the number of CP-SAT workers, 0 for all cores.
+	 * @see SolverConfiguration#setWorkerNumber(int)
+	 */
+	public void setWorkerNumber(int workerNumber) {
+		configuration.setWorkerNumber(workerNumber);
+	}
+
+	/**
+	 * Returns the number of CP-SAT workers used for one solve (0 means all cores).
+	 * 
+	 * @return the number of CP-SAT workers used for one solve.
+	 */
+	public int getWorkerNumber() {
+		return configuration.getWorkerNumber();
+	}
+
+	/**
+	 * Sets the hint used to warm start the next solve, or null for no hint. Only
+	 * solvers capturing hints in their solutions use it, others ignore it.
+	 * 
+	 * @param hint the hint of a neighbouring solution.
+	 * @see ScheduleHint
+	 */
+	public void setHint(ScheduleHint hint) {
+		this.hint = hint;
+	}
+
+	public ScheduleHint getHint() {
+		return hint;
+	}
+
+	/**
+	 * Sets how the accesses done up to each period are encoded in the model (see
+	 * {@link #createPrefixSums(CpModel, IntVar[], int, int, String)}). With
+	 * cumulative sums, each period has a running total variable and the model size
+	 * is linear in the number of periods. Otherwise, each period has an
+	 * expression summing all previous periods and the model size is quadratic in
+	 * the number of periods. Both give the same solutions.
+	 * 
+	 * @param cumulativeSums true to use running total variables.
+	 */
+	public void setCumulativeSums(boolean cumulativeSums) {
+		this.cumulativeSums = cumulativeSums;
+	}
+
+	public boolean isCumulativeSums() {
+		return cumulativeSums;
+	}
+
+	/**
+	 * Sets whether the number of periods of the model is searched before solving
+	 * (see {@link HorizonPlanner#plan(int, int, java.util.function.IntPredicate)})
+	 * instead of using the provable maximum. Only solvers supporting it use it,
+	 * others ignore it. Both give the same optimum.
+	 * 
+	 * @param adaptiveHorizon true to search the number of periods.
+	 */
+	public void setAdaptiveHorizon(boolean adaptiveHorizon) {
+		this.adaptiveHorizon = adaptiveHorizon;
+	}
+
+	public boolean isAdaptiveHorizon() {
+		return adaptiveHorizon;
+	}
+
+	/**
+	 * Sets whether bounds of the total stall are computed before solving (see
+	 * {@link StallBounds}). The stall of a greedy schedule is then a lower bound of
+	 * the objective and the schedule is a hint, and an upper bound of the stall is
+	 * added to the model. If both bounds are equal, the greedy schedule is
+	 * returned without solving. Only solvers supporting it use it, others ignore
+	 * it. Both give the same optimum.
+	 * 
+	 * @param heuristicBounds true to compute bounds before solving.
+	 */
+	public void setHeuristicBounds(boolean heuristicBounds) {
+		this.heuristicBounds = heuristicBounds;
+	}
+
+	public boolean isHeuristicBounds() {
+		return heuristicBounds;
+	}
+
+	/**
+	 * Sets the constraints ordering the periods of the model (see
+	 * {@link SymmetryBreaking}). Only solvers supporting it use it, others keep
+	 * their own order. By default, periods are {@link SymmetryBreaking#ORDERED}.
+	 * 
+	 * @param symmetryBreaking the constraints ordering the periods.
+	 */
+	public void setSymmetryBreaking(SymmetryBreaking symmetryBreaking) {
+		this.symmetryBreaking = symmetryBreaking;
+	}
+
+	public SymmetryBreaking getSymmetryBreaking() {
+		return symmetryBreaking;
+	}
+
+	/**
+	 * Sets how the booleans describing the state of each period are linked to
+	 * the integer variables. By default, each boolean is linked by a pair of
+	 * reified constraints, one of them being a reified difference. With the lean
+	 * encoding, thresholds are linked with a half reified inequality and a linear
+	 * inequality (see
+	 * {@link #addThresholdLiteral(CpModel, BoolVar, LinearArgument, long, long)}),
+	 * and booleans depending on other booleans are linked with implications and
+	 * maximums. Only solvers supporting it use it, others ignore it. Both give the
+	 * same solutions.
+	 * 
+	 * @param leanEncoding true to use the lean encoding.
+	 */
+	public void setLeanEncoding(boolean leanEncoding) {
+		this.leanEncoding = leanEncoding;
+	}
+
+	public boolean isLeanEncoding() {
+		return leanEncoding;
+	}
+
+	/**
+	 * <p>
+	 * Returns, for each period i, an expression equal to the coefficient times the
+	 * sum of the variables of periods 0 to i. The sum of all variables times the
+	 * coefficient must be constrained to be equal to the total in the model.
+	 * </p>
+	 * 
+	 * <p>
+	 * With cumulative sums (see {@link #setCumulativeSums(boolean)}), a running
+	 * total variable is created for each period, in [0, total], with
+	 * <code>sum_i = sum_(i-1) + coefficient * variable_i</code>. Otherwise, each
+	 * expression is built with all the variables up to its period.
+	 * </p>
+	 * 
+	 * @param model       the model where running totals are created.
+	 * @param variables   the variables per period.
+	 * @param coefficient the coefficient of all variables.
+	 * @param total       the total of the sum over all periods.
+	 * @param name        the name prefix of the running total variables.
+	 * @return the sums up to each period.
+	 */
+	protected LinearArgument[] createPrefixSums(CpModel model, IntVar[] variables, int coefficient, int total,
+			String name) {
+		LinearArgument[] sums = new LinearArgument[variables.length];
+		if (cumulativeSums) {
+			for (int i = 0; i < variables.length; i++) {
+				IntVar sum = model.newIntVar(0, total, "%s_%d".formatted(name, i + 1));
+				LinearExprBuilder sumBuilder = LinearExpr.newBuilder().addTerm(variables[i], coefficient);
+				if (i > 0) {
+					sumBuilder.add(sums[i - 1]);
+				}
+				model.addEquality(sum, sumBuilder.build());
+				sums[i] = sum;
+			}
+		} else {
+			for (int i = 0; i < variables.length; i++) {
+				LinearExprBuilder sumBuilder = LinearExpr.newBuilder();
+				for (int j = 0; j <= i; j++) {
+					sumBuilder.addTerm(variables[j], coefficient);
+				}
+				sums[i] = sumBuilder.build();
+			}
+		}
+
+		return sums;
+	}
+
+	/**
+	 * <p>
+	 * Adds the constraints of <code>literal <=> expression >= threshold</code>,
+	 * for an expression that is at most max, without reified difference. The
+	 * literal enforces <code>expression >= threshold</code>, and the linear
+	 * constraint
+	 * <code>expression - (max - threshold + 1) * literal <= threshold - 1</code>
+	 * sets the literal as soon as the threshold is reached.
+	 * </p>
+	 * 
+	 * <p>
+	 * The second constraint is added last, and its coefficient does not depend on
+	 * the threshold when max is the threshold (for instance when the expression
+	 * is a sum bounded by a cost). The domains of both constraints are affine in
+	 * the threshold.
+	 * </p>
+	 * 
+	 * @param model      the model where constraints are added.
+	 * @param literal    the literal true when the threshold is reached.
+	 * @param expression the expression, at most max.
+	 * @param threshold  the threshold of the expression.
+	 * @param max        the maximum value of the expression.
+	 * @see #setLeanEncoding(boolean)
+	 */
+	protected void addThresholdLiteral(CpModel model, BoolVar literal, LinearArgument expression, long threshold,
+			long max) {
+		model.addGreaterOrEqual(expression, threshold).onlyEnforceIf(literal);
+		LinearExpr thresholdExpr = LinearExpr.newBuilder().add(expression).addTerm(literal, threshold - max - 1)
+				.build();
+		model.addLessOrEqual(thresholdExpr, threshold - 1);
+	}
+
+	/**
+	 * <p>
+	 * Adds the order of {@link SymmetryBreaking#LEXICOGRAPHIC}: for each pair of
+	 * consecutive periods that are full without operation stall, and whose previous
+	 * period is also full without operation stall (or that start the schedule), the
+	 * tuple (stall, -computation, write accesses) does not increase.
+	 * </p>
+	 * 
+	 * <p>
+	 * The order is encoded as one linear constraint per pair, with the key
+	 * <code>(stall * (P + 1) - computation) * (maxWriteAccess + 1) + writes</code>
+	 * that is lexicographic since computation and stall are at most P and write
+	 * accesses are at most maxWriteAccess.
+	 * </p>
+	 * 
+	 * @param model                the model where constraints are added.
+	 * @param stallVariables       the stall per period (without operation stall).
+	 * @param computationVariables the computation per period.
+	 * @param writeVariables       the write accesses per period.
+	 * @param filledVariables      true when the period is full without operation
+	 *                             stall.
+	 * @param regulationPeriod     the regulation period used in the model.
+	 * @param maxWriteAccess       the maximum number of write accesses per period.
+	 */
+	protected void addLexicographicOrder(CpModel model, IntVar[] stallVariables, IntVar[] computationVariables,
+			IntVar[] writeVariables, BoolVar[] filledVariables, int regulationPeriod, int maxWriteAccess) {
+		long writeWeight = maxWriteAccess + 1L;
+		long stallWeight = (regulationPeriod + 1L) * writeWeight;
+		for (int i = 0; i < stallVariables.length - 1; i++) {
+			LinearExpr keyDifferenceExpr = LinearExpr.newBuilder().addTerm(stallVariables[i], stallWeight)
+					.addTerm(stallVariables[i + 1], -stallWeight).addTerm(computationVariables[i], -writeWeight)
+					.addTerm(computationVariables[i + 1], writeWeight).addTerm(writeVariables[i], 1)
+					.addTerm(writeVariables[i + 1], -1).build();
+
+			Literal[] exchangeable = i == 0 ? new Literal[] { filledVariables[i], filledVariables[i + 1] }
+					: new Literal[] { filledVariables[i - 1], filledVariables[i], filledVariables[i + 1] };
+			model.addGreaterOrEqual(keyDifferenceExpr, 0).onlyEnforceIf(exchangeable);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Solves the system within a wall clock budget, including the building of the
+	 * models, and returns the best schedule found. If the budget is reached before
+	 * optimality is proven, the solution is FEASIBLE and its gap to the proven
+	 * bound is given by {@link Solution#getGap()}. Each schedule improving the
+	 * previous ones is given to the listener as soon as it is found.
+	 * </p>
+	 * 
+	 * <p>
+	 * If no schedule is found within the budget, the solution is UNKNOWN. It is
+	 * UNFEASIBLE only when CP-SAT proves that the system has no schedule.
+	 * </p>
+	 * 
+	 * @param timeBudget the wall clock budget of the solve, in seconds.
+	 * @param listener   the listener of the improving schedules, or null.
+	 * @return the best solution found within the budget.
+	 */
+	public Solution solveAnytime(double timeBudget, IncumbentListener listener) {
+		long previousDeadline = deadline;
+		IncumbentListener previousListener = incumbentListener;
+		setDeadline(java.lang.System.nanoTime() + (long) (timeBudget * 1e9));
+		setIncumbentListener(listener);
+		try {
+			return solve(false);
+		} finally {
+			setDeadline(previousDeadline);
+			setIncumbentListener(previousListener);
+		}
+	}
+
+	/**
+	 * Sets the instant after which solving stops, as given by
+	 * {@link java.lang.System#nanoTime()}, or 0 for no deadline. Each CP-SAT solve
+	 * is limited to the time remaining before the deadline, in addition to the
+	 * time limit of the configuration.
+	 * 
+	 * @param deadline the deadline in nanoseconds, 0 for none.
+	 * @see #solveAnytime(double, IncumbentListener)
+	 */
+	public void setDeadline(long deadline) {
+		this.deadline = deadline;
+	}
+
+	public long getDeadline() {
+		return deadline;
+	}
+
+	/**
+	 * Sets the listener of the schedules improving the objective while solving,
+	 * or null for none.
+	 * 
+	 * @param incumbentListener the listener of the improving schedules.
+	 */
+	public void setIncumbentListener(IncumbentListener incumbentListener) {
+		this.incumbentListener = incumbentListener;
+	}
+
+	public IncumbentListener getIncumbentListener() {
+		return incumbentListener;
+	}
+
+	/**
+	 * Solves the model with the CP-SAT solver, giving the improving schedules to
+	 * the incumbent listener if the model has an objective.
+	 * 
+	 * @param solver the CP-SAT solver created by {@link #createCpSolver()}.
+	 * @param model  the model to solve.
+	 * @return the status of the solve.
+	 */
+	protected CpSolverStatus solveModel(CpSolver solver, CpModel model) {
+		IncumbentListener listener = incumbentListener;
+		if (listener == null || !model.getBuilder().hasObjective()) {
+			return solver.solve(model);
+		}
+
+		return solver.solve(model, new CpSolverSolutionCallback() {
+			@Override
+			public void onSolutionCallback() {
+				listener.onIncumbent((long) objectiveValue(), (long) Math.floor(bestObjectiveBound()), wallTime());
+			}
+		});
+	}
+
+	/**
+	 * Returns the proven upper bound of the total stall after a solve maximizing
+	 * the total stall.
+	 * 
+	 * @param solver the CP-SAT solver that solved the model.
+	 * @return the proven upper bound of the total stall.
+	 */
+	protected long getStallBound(CpSolver solver) {
+		return (long) Math.floor(solver.bestObjectiveBound());
+	}
+
+	/**
+	 * Returns the status of a solve that found no schedule. Only a proof of
+	 * infeasibility gives UNFEASIBLE, a solve stopped by its budget or by
+	 * {@link #stop()} before finding a schedule is UNKNOWN.
+	 * 
+	 * @param status the status returned by CP-SAT.
+	 * @return UNFEASIBLE if the model is proven infeasible, UNKNOWN otherwise.
+	 */
+	protected SolutionStatus getUnsolvedStatus(CpSolverStatus status) {
+		return status == CpSolverStatus.INFEASIBLE ? SolutionStatus.UNFEASIBLE : SolutionStatus.UNKNOWN;
+	}
+
+	/**
+	 * Stops the current solve as soon as possible, from any thread. The solve
+	 * returns the best solution found so far (FEASIBLE, or UNKNOWN if none was
+	 * found). A stopped solver stays stopped: solves that have not created their
+	 * CP-SAT solver yet stop immediately.
+	 */
+	public void stop() {
+		stopped = true;
+		CpSolver currentSolver = cpSolver;
+		if (currentSolver != null) {
+			currentSolver.stopSearch();
+		}
+	}
+
+	/**
+	 * Returns true if {@link #stop()} has been called on this solver.
+	 * 
+	 * @return true if this solver has been stopped.
+	 */
+	public boolean isStopped() {
+		return stopped;
+	}
+
+	/**
+	 * Creates an empty CP-SAT model, loading OR-Tools's native libraries if they
+	 * are not loaded yet. Solvers that do not build a model (pure Java solvers, or
+	 * schedules proven optimal without solving) run without the native libraries.
+	 * 
+	 * @return an empty model.
+	 */
+	protected CpModel createModel() {
+		loadNativeLibraries();
+		return new CpModel();
+	}
+
+	/**
+	 * Creates a CP-SAT solver with the parameters of this solver (its
+	 * configuration, its deadline, and logs when {@link Solver#DEBUG} is set). The created
+	 * solver is the one stopped by {@link #stop()}. OR-Tools's native libraries are
+	 * loaded if needed.
+	 * 
+	 * @return a configured CP-SAT solver.
+	 */
+	protected CpSolver createCpSolver() {
+		loadNativeLibraries();
+		CpSolver solver = new CpSolver();
+		configuration.apply(solver.getParameters());
+
+		if (Solver.DEBUG) {
+			solver.getParameters().setLogToStdout(true);
+			solver.getParameters().setLogToResponse(true);
+			solver.getParameters().setLogSubsolverStatistics(true);
+			solver.getParameters().setLogSearchProgress(true);
+		}
+
+		if (deadline != 0) {
+			double remainingTime = Math.max(0, (deadline - java.lang.System.nanoTime()) / 1e9);
+			double timeLimit = solver.getParameters().getMaxTimeInSeconds();
+			solver.getParameters().setMaxTimeInSeconds(Math.min(timeLimit, remainingTime));
+		}
+
+		cpSolver = solver;
+		if (stopped) {
+			solver.getParameters().setMaxTimeInSeconds(0);
+		}
+
+		return solver;
+	}
+
 }
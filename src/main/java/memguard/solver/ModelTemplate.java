@@ -0,0 +1,161 @@
+package memguard.solver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.ortools.sat.CpModel;
+import com.google.ortools.sat.CpModelProto;
+import com.google.ortools.sat.IntVar;
+import com.google.ortools.sat.IntegerVariableProto;
+import com.google.ortools.sat.LinearConstraintProto;
+
+/**
+ * <p>
+ * Model built once for some constants (costs of a task for instance) and
+ * patched to create the same model for other constants, without running the
+ * model building code again. While building, each linear constraint whose
+ * domain depends on a constant is registered with
+ * {@link #patchLastConstraint(int)}, and each variable whose upper bound is a
+ * constant with {@link #patchUpperBound(IntVar, int)}.
+ * </p>
+ * 
+ * <p>
+ * Domains of registered constraints must be affine in their constant, which is
+ * the case of <code>expr == c</code>, <code>expr != c</code> and
+ * <code>expr <= c</code>: all their finite bounds are shifted by the
+ * difference between the new constant and the template constant. Once
+ * {@link #freeze()} is called, the template is not modified anymore and
+ * instances can be created concurrently with {@link #createInstance(int...)}.
+ * Variables of the template model can be used with any instance, since
+ * instances keep the same variable indices.
+ * </p>
+ */
+public class ModelTemplate {
+
+	private final CpModel model;
+	private final int[] constants;
+	private final List<int[]> constraintPatches;
+	private final List<int[]> variablePatches;
+	private volatile CpModelProto proto;
+
+	/**
+	 * Creates a new template for a model being built with the specified
+	 * constants.
+	 * 
+	 * @param model     the model being built.
+	 * @param constants the constants used to build the model.
+	 */
+	public ModelTemplate(CpModel model, int... constants) {
+		this.model = model;
+		this.constants = constants.clone();
+		this.constraintPatches = new ArrayList<int[]>();
+		this.variablePatches = new ArrayList<int[]>();
+		this.proto = null;
+	}
+
+	/**
+	 * Registers the last constraint added to the model as depending on the
+	 * constant of the specified index. This must be a linear constraint.
+	 * 
+	 * @param constantIndex the index of the constant.
+	 */
+	public void patchLastConstraint(int constantIndex) {
+		constraintPatches.add(new int[] { model.getBuilder().getConstraintsCount() - 1, constantIndex });
+	}
+
+	/**
+	 * Registers the last constraints added to the model as depending on the
+	 * constant of the specified index. They must be linear constraints.
+	 * 
+	 * @param constraintNumber the number of constraints to register.
+	 * @param constantIndex    the index of the constant.
+	 */
+	public void patchLastConstraints(int constraintNumber, int constantIndex) {
+		int constraintCount = model.getBuilder().getConstraintsCount();
+		for (int i = constraintCount - constraintNumber; i < constraintCount; i++) {
+			constraintPatches.add(new int[] { i, constantIndex });
+		}
+	}
+
+	/**
+	 * Registers the variable as having the constant of the specified index as
+	 * upper bound.
+	 * 
+	 * @param variable      the variable whose upper bound is the constant.
+	 * @param constantIndex the index of the constant.
+	 */
+	public void patchUpperBound(IntVar variable, int constantIndex) {
+		variablePatches.add(new int[] { variable.getIndex(), constantIndex });
+	}
+
+	/**
+	 * Returns the model of this template. It must not be modified once the
+	 * template is frozen.
+	 * 
+	 * @return the model of this template.
+	 */
+	public CpModel getModel() {
+		return model;
+	}
+
+	/**
+	 * Returns the constant of the specified index used to build the model.
+	 * 
+	 * @param constantIndex the index of the constant.
+	 * @return the constant used to build the model.
+	 */
+	public int getConstant(int constantIndex) {
+		return constants[constantIndex];
+	}
+
+	/**
+	 * Ends the building of the model, which must not be modified anymore.
+	 */
+	public void freeze() {
+		proto = model.model();
+	}
+
+	/**
+	 * Creates a copy of the template model where the registered constraints and
+	 * variables are patched with the specified constants. The template must be
+	 * frozen.
+	 * 
+	 * @param instanceConstants the constants of the instance, in the same order as
+	 *                          the constants of the template.
+	 * @return the model for the specified constants.
+	 * @throws IllegalStateException if the template is not frozen.
+	 */
+	public CpModel createInstance(int... instanceConstants) {
+		CpModelProto frozenProto = proto;
+		if (frozenProto == null) {
+			throw new IllegalStateException("Template must be frozen before creating instances");
+		}
+
+		CpModel instance = new CpModel();
+		instance.getBuilder().mergeFrom(frozenProto);
+
+		for (int[] patch : constraintPatches) {
+			long shift = (long) instanceConstants[patch[1]] - constants[patch[1]];
+			if (shift == 0) {
+				continue;
+			}
+
+			LinearConstraintProto.Builder linear = instance.getBuilder().getConstraintsBuilder(patch[0])
+					.getLinearBuilder();
+			for (int i = 0; i < linear.getDomainCount(); i++) {
+				long bound = linear.getDomain(i);
+				if (bound != Long.MIN_VALUE && bound != Long.MAX_VALUE) {
+					linear.setDomain(i, bound + shift);
+				}
+			}
+		}
+
+		for (int[] patch : variablePatches) {
+			IntegerVariableProto.Builder variable = instance.getBuilder().getVariablesBuilder(patch[0]);
+			variable.setDomain(variable.getDomainCount() - 1, instanceConstants[patch[1]]);
+		}
+
+		return instance;
+	}
+
+}
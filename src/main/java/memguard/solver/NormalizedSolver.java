@@ -0,0 +1,355 @@
+package memguard.solver;
+
+import java.util.Arrays;
+
+import memguard.logic.MemguardNCSystem;
+import memguard.logic.MemguardRWSystem;
+import memguard.logic.MemguardSystem;
+import memguard.logic.MemoryTask;
+import memguard.logic.MultiAccessTask;
+import memguard.logic.PeriodicTask;
+import memguard.logic.Processor;
+import memguard.logic.ReadWriteTask;
+import memguard.logic.Task;
+import memguard.solution.Solution;
+
+/**
+ * <p>
+ * Solves a system with all its durations divided by their greatest common
+ * divisor before solving the system itself. Latencies, budgets, regulation
+ * periods and costs are often given in a fine clock resolution while sharing a
+ * common divisor, and the domains of the model (and its stall bounds) grow with
+ * that resolution. The model of the divided system is much smaller, and its
+ * schedule multiplied back is a schedule of the system whose accesses start at
+ * multiples of the time unit.
+ * </p>
+ * 
+ * <p>
+ * That schedule is not always the worst case: stalls and computations are
+ * counted in clock cycles, and the worst case can end an access one cycle
+ * before the end of a period, which the divided system cannot. Its schedule is
+ * then given as hint to the solver of the system, whose model is the one of
+ * the original system: the hint starts the search from a schedule close to the
+ * worst case, and its stall is a lower bound of the worst case (see
+ * {@link ScheduleHint#isLowerBoundFor(int, int, int, int, int, int, int, int)}).
+ * </p>
+ * 
+ * <p>
+ * Only solvers implementing {@link ScalableSolver} are scaled, others are
+ * solved as is. The overhead of the solver (the write latency - 1 by default)
+ * does not need to be a multiple of the time unit: models only use the
+ * regulation period minus the overhead, so the divided system has that period
+ * and no overhead, and its hint has the same period as the model of the
+ * system. Deadlines and task periods are rounded down.
+ * </p>
+ * 
+ * <p>
+ * The parameters of the wrapped solver are taken when creating the normalized
+ * solver, and the parameters of the normalized solver are given to both
+ * solvers, each solve being limited by the time limit of the configuration. The
+ * hint is divided when all its durations are multiples of the time unit and
+ * dropped otherwise, and the incumbent listener receives stalls in the original
+ * time unit.
+ * </p>
+ */
+public final class NormalizedSolver extends MemguardSolver {
+
+	private final MemguardSolver solver;
+	private volatile MemguardSolver currentSolver;
+
+	/**
+	 * Creates a new solver normalizing the system of the specified solver.
+	 * 
+	 * @param solver the solver to run on the normalized system.
+	 */
+	public NormalizedSolver(MemguardSolver solver) {
+		super(solver.system);
+		this.solver = solver;
+		this.currentSolver = null;
+		copyParameters(solver, this);
+	}
+
+	/**
+	 * Returns the solver of the system, the one given to the constructor. It
+	 * solves the system itself once the divided system is solved.
+	 * 
+	 * @return the wrapped solver.
+	 */
+	public MemguardSolver getSolver() {
+		return solver;
+	}
+
+	/**
+	 * Returns the time unit used to solve the system, which is 1 if the system is
+	 * solved as is.
+	 * 
+	 * @return the time unit used to solve the system.
+	 */
+	public int getTimeUnit() {
+		return solver instanceof ScalableSolver scalable ? Math.max(1, scalable.getTimeUnit()) : 1;
+	}
+
+	@Override
+	public Solution solve(boolean verbose) {
+		int timeUnit = getTimeUnit();
+		copyParameters(this, solver);
+		if (timeUnit > 1) {
+			ScheduleHint scaledHint = solveScaled(timeUnit, verbose);
+			if (scaledHint != null) {
+				solver.setHint(scaledHint);
+			}
+		}
+
+		return solve(solver, verbose);
+	}
+
+	// Solves the divided system and returns its schedule in the original time unit, or null if none was found
+	private ScheduleHint solveScaled(int timeUnit, boolean verbose) {
+		if (verbose) {
+			System.out.println("Solving the system with durations divided by " + timeUnit + " first...");
+		}
+
+		MemguardSolver scaledSolver = ((ScalableSolver) solver).createScaledSolver(timeUnit);
+		copyParameters(this, scaledSolver);
+		scaledSolver.setHint(hint != null && hint.isDivisibleBy(timeUnit) ? hint.divide(timeUnit) : null);
+
+		IncumbentListener listener = getIncumbentListener();
+		if (listener != null) {
+			scaledSolver.setIncumbentListener((totalStall, stallBound, time) -> listener
+					.onIncumbent(totalStall * timeUnit, stallBound * timeUnit, time));
+		}
+
+		ScheduleHint scaledHint = solve(scaledSolver, verbose).getScheduleHint();
+		return scaledHint == null ? null : scaledHint.multiply(timeUnit);
+	}
+
+	private Solution solve(MemguardSolver runSolver, boolean verbose) {
+		currentSolver = runSolver;
+		if (isStopped()) {
+			runSolver.stop();
+		}
+
+		try {
+			return runSolver.solve(verbose);
+		} finally {
+			currentSolver = null;
+		}
+	}
+
+	@Override
+	public void stop() {
+		super.stop();
+		MemguardSolver runSolver = currentSolver;
+		if (runSolver != null) {
+			runSolver.stop();
+		}
+	}
+
+	private static void copyParameters(MemguardSolver from, MemguardSolver to) {
+		to.setConfiguration(new SolverConfiguration(from.getConfiguration()));
+		to.setHint(from.getHint());
+		to.setCumulativeSums(from.isCumulativeSums());
+		to.setAdaptiveHorizon(from.isAdaptiveHorizon());
+		to.setHeuristicBounds(from.isHeuristicBounds());
+		to.setSymmetryBreaking(from.getSymmetryBreaking());
+		to.setLeanEncoding(from.isLeanEncoding());
+		to.setDeadline(from.getDeadline());
+		to.setIncumbentListener(from.getIncumbentListener());
+	}
+
+	/**
+	 * Returns the greatest common divisor of the durations of the system
+	 * (latencies, regulation period minus the overhead, budgets and task costs),
+	 * or 1 if all are 0.
+	 * 
+	 * @param system   the system.
+	 * @param overhead the overhead of the solver at the end of each period.
+	 * @return the greatest time unit dividing all durations.
+	 */
+	public static int getTimeUnit(MemguardSystem system, int overhead) {
+		int timeUnit = gcd(system.getLatency(), system.getRegulationPeriod() - overhead);
+		if (system instanceof MemguardRWSystem rwsystem) {
+			timeUnit = gcd(timeUnit, rwsystem.getWriteLatency());
+		} else if (system instanceof MemguardNCSystem ncsystem) {
+			for (int latency : ncsystem.getLatencies()) {
+				timeUnit = gcd(timeUnit, latency);
+			}
+			timeUnit = gcd(timeUnit, ncsystem.getInterferenceLatency());
+		}
+
+		for (int budget : system.getBudgets()) {
+			timeUnit = gcd(timeUnit, budget);
+		}
+
+		for (Processor processor : system.getProcessors()) {
+			for (Task task : processor.getTasks()) {
+				for (int cost : getCosts(task)) {
+					timeUnit = gcd(timeUnit, cost);
+				}
+			}
+		}
+
+		return Math.max(1, timeUnit);
+	}
+
+	/**
+	 * Returns the same system with all its durations divided by the time unit.
+	 * Deadlines and task periods are rounded down.
+	 * 
+	 * @param system   the system to scale.
+	 * @param timeUnit a divisor of all durations of the system.
+	 * @return the scaled system.
+	 * @throws IllegalArgumentException if a duration is not a multiple of the time
+	 *                                  unit.
+	 */
+	public static MemguardSystem divide(MemguardSystem system, int timeUnit) {
+		if (system instanceof MemguardRWSystem rwsystem) {
+			return divide(rwsystem, timeUnit);
+		}
+
+		if (system instanceof MemguardNCSystem ncsystem) {
+			return divide(ncsystem, timeUnit);
+		}
+
+		return new MemguardSystem(divide(system.getLatency(), timeUnit), divide(system.getRegulationPeriod(), timeUnit),
+				divide(system.getBudgets(), timeUnit), divide(system.getProcessors(), timeUnit));
+	}
+
+	/**
+	 * Returns the same system with all its durations divided by the time unit.
+	 * Deadlines and task periods are rounded down.
+	 * 
+	 * @param system   the system to scale.
+	 * @param timeUnit a divisor of all durations of the system.
+	 * @return the scaled system.
+	 * @throws IllegalArgumentException if a duration is not a multiple of the time
+	 *                                  unit.
+	 */
+	public static MemguardRWSystem divide(MemguardRWSystem system, int timeUnit) {
+		return divide(system, timeUnit, 0);
+	}
+
+	/**
+	 * Returns the same system with all its durations divided by the time unit, and
+	 * the overhead removed from the regulation period. Deadlines and task periods
+	 * are rounded down.
+	 * 
+	 * @param system   the system to scale.
+	 * @param timeUnit a divisor of all durations of the system.
+	 * @param overhead the overhead of the solver, which the scaled system does not
+	 *                 have.
+	 * @return the scaled system.
+	 * @throws IllegalArgumentException if a duration is not a multiple of the time
+	 *                                  unit.
+	 */
+	public static MemguardRWSystem divide(MemguardRWSystem system, int timeUnit, int overhead) {
+		return new MemguardRWSystem(divide(system.getReadLatency(), timeUnit),
+				divide(system.getWriteLatency(), timeUnit), divide(system.getRegulationPeriod() - overhead, timeUnit),
+				divide(system.getBudgets(), timeUnit), divide(system.getProcessors(), timeUnit));
+	}
+
+	/**
+	 * Returns the same system with all its durations divided by the time unit.
+	 * Deadlines and task periods are rounded down.
+	 * 
+	 * @param system   the system to scale.
+	 * @param timeUnit a divisor of all durations of the system.
+	 * @return the scaled system.
+	 * @throws IllegalArgumentException if a duration is not a multiple of the time
+	 *                                  unit.
+	 */
+	public static MemguardNCSystem divide(MemguardNCSystem system, int timeUnit) {
+		return new MemguardNCSystem(divide(system.getLatencies(), timeUnit),
+				divide(system.getInterferenceLatency(), timeUnit), divide(system.getRegulationPeriod(), timeUnit),
+				divide(system.getBudgets(), timeUnit), divide(system.getProcessors(), timeUnit));
+	}
+
+	private static Processor[] divide(Processor[] processors, int timeUnit) {
+		Processor[] scaledProcessors = new Processor[processors.length];
+		for (int i = 0; i < processors.length; i++) {
+			Task[] tasks = processors[i].getTasks();
+			Task[] scaledTasks = new Task[tasks.length];
+			for (int j = 0; j < tasks.length; j++) {
+				scaledTasks[j] = divide(tasks[j], timeUnit);
+			}
+			scaledProcessors[i] = new Processor(scaledTasks);
+		}
+
+		return scaledProcessors;
+	}
+
+	private static Task divide(Task task, int timeUnit) {
+		int deadline = task.getDeadline() / timeUnit;
+		Task scaledTask;
+		if (task instanceof PeriodicTask periodicTask) {
+			scaledTask = new PeriodicTask(divide(periodicTask.getTask(), timeUnit), periodicTask.getPeriod() / timeUnit);
+		} else if (task instanceof ReadWriteTask rwtask) {
+			scaledTask = new ReadWriteTask(divide(rwtask.getReadCost(), timeUnit), divide(rwtask.getWriteCost(), timeUnit),
+					divide(rwtask.getComputationCost(), timeUnit), deadline);
+		} else if (task instanceof MultiAccessTask mtask) {
+			scaledTask = new MultiAccessTask(divide(mtask.getAccessCosts(), timeUnit),
+					divide(mtask.getComputationCost(), timeUnit), deadline);
+		} else if (task instanceof MemoryTask memoryTask) {
+			scaledTask = new MemoryTask(divide(memoryTask.getMemoryCost(), timeUnit),
+					divide(memoryTask.getComputationCost(), timeUnit), deadline);
+		} else {
+			scaledTask = new Task(divide(task.getCost(), timeUnit), deadline);
+		}
+
+		scaledTask.setPriority(task.getPriority());
+		return scaledTask;
+	}
+
+	private static int[] getCosts(Task task) {
+		if (task instanceof PeriodicTask periodicTask) {
+			return getCosts(periodicTask.getTask());
+		}
+
+		if (task instanceof ReadWriteTask rwtask) {
+			return new int[] { rwtask.getReadCost(), rwtask.getWriteCost(), rwtask.getComputationCost() };
+		}
+
+		if (task instanceof MultiAccessTask mtask) {
+			int[] costs = Arrays.copyOf(mtask.getAccessCosts(), mtask.getAccessClassNumber() + 1);
+			costs[costs.length - 1] = mtask.getComputationCost();
+			return costs;
+		}
+
+		if (task instanceof MemoryTask memoryTask) {
+			return new int[] { memoryTask.getMemoryCost(), memoryTask.getComputationCost() };
+		}
+
+		return new int[] { task.getCost() };
+	}
+
+	private static int[] divide(int[] durations, int timeUnit) {
+		int[] scaledDurations = new int[durations.length];
+		for (int i = 0; i < durations.length; i++) {
+			scaledDurations[i] = divide(durations[i], timeUnit);
+		}
+
+		return scaledDurations;
+	}
+
+	private static int divide(int duration, int timeUnit) {
+		if (duration % timeUnit != 0) {
+			throw new IllegalArgumentException(
+					"Duration %d is not a multiple of the time unit %d".formatted(duration, timeUnit));
+		}
+
+		return duration / timeUnit;
+	}
+
+	private static int gcd(int a, int b) {
+		a = Math.abs(a);
+		b = Math.abs(b);
+		while (b != 0) {
+			int remainder = a % b;
+			a = b;
+			b = remainder;
+		}
+
+		return a;
+	}
+
+}
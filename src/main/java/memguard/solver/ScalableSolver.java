@@ -0,0 +1,32 @@
+package memguard.solver;
+
+/**
+ * Solver that can solve its system with all durations divided by a common
+ * divisor, and gives the schedule of the divided system as a hint (see
+ * {@link ScheduleHint}). Multiplied back, that schedule is a schedule of the
+ * original system, which {@link NormalizedSolver} uses to warm start the
+ * solving of the original system.
+ */
+public interface ScalableSolver {
+
+	/**
+	 * Returns the greatest duration dividing all the durations used by the model
+	 * of this solver: latencies, regulation period minus the overhead, budgets and
+	 * task costs. Returns 1 when the model cannot be scaled.
+	 * 
+	 * @return the time unit of the model, at least 1.
+	 */
+	int getTimeUnit();
+
+	/**
+	 * Creates the same solver for the system whose durations are divided by the
+	 * specified time unit, and whose regulation period is reduced by the overhead
+	 * (the scaled solver has no overhead). Only the solver parameters given to its
+	 * constructor are kept, the other ones are set by the caller.
+	 * 
+	 * @param timeUnit a divisor of {@link #getTimeUnit()}.
+	 * @return the solver of the scaled system.
+	 */
+	MemguardSolver createScaledSolver(int timeUnit);
+
+}
@@ -0,0 +1,316 @@
+package memguard.solver;
+
+import java.util.Arrays;
+
+import com.google.ortools.sat.CpModel;
+import com.google.ortools.sat.IntVar;
+
+/**
+ * <p>
+ * Per-period values of a two counters solution (read, write and computation
+ * accesses, inter-processor stall, read and write stall, void), used to warm
+ * start the solving of a neighbouring system. A hint is captured by solvers
+ * supporting it and attached to the solution (see
+ * {@link memguard.solution.Solution#getScheduleHint()}), and is given to the
+ * next solver with {@link MemguardSolver#setHint(ScheduleHint)}.
+ * </p>
+ * 
+ * <p>
+ * The hint also keeps the system it comes from. When the hinted system is the
+ * same as the solved one except for a computation cost that is smaller or
+ * equal, the stall of the hint is a lower bound of the solved system's stall
+ * (see {@link #isLowerBoundFor(int, int, int, int, int, int, int, int)}). The
+ * implementation is static, meaning that you cannot modify a hint after
+ * creating it.
+ * </p>
+ */
+public class ScheduleHint {
+
+	private final int processorNumber;
+	private final int readLatency;
+	private final int writeLatency;
+	private final int regulationPeriod;
+	private final int budget;
+	private final int readCost;
+	private final int writeCost;
+	private final int computationCost;
+	private final long totalStall;
+	private final int[][] periods;
+
+	/**
+	 * Creates a new hint from the values of a solved system.
+	 * 
+	 * @param processorNumber  the number of processors.
+	 * @param readLatency      the read latency.
+	 * @param writeLatency     the write latency.
+	 * @param regulationPeriod the regulation period used in the model (without
+	 *                         overhead).
+	 * @param budget           the budget of the analysed processor.
+	 * @param readCost         the read cost of the task.
+	 * @param writeCost        the write cost of the task.
+	 * @param computationCost  the computation cost of the task.
+	 * @param totalStall       the total stall of the solution.
+	 * @param readAccesses     the read accesses per period.
+	 * @param writeAccesses    the write accesses per period.
+	 * @param computations     the computation per period.
+	 * @param stalls           the inter-processor stall per period.
+	 * @param readStalls       the read stall per period.
+	 * @param writeStalls      the write stall per period.
+	 * @param voids            the void accesses per period.
+	 */
+	public ScheduleHint(int processorNumber, int readLatency, int writeLatency, int regulationPeriod, int budget,
+			int readCost, int writeCost, int computationCost, long totalStall, int[] readAccesses,
+			int[] writeAccesses, int[] computations, int[] stalls, int[] readStalls, int[] writeStalls,
+			int[] voids) {
+		this.processorNumber = processorNumber;
+		this.readLatency = readLatency;
+		this.writeLatency = writeLatency;
+		this.regulationPeriod = regulationPeriod;
+		this.budget = budget;
+		this.readCost = readCost;
+		this.writeCost = writeCost;
+		this.computationCost = computationCost;
+		this.totalStall = totalStall;
+		this.periods = new int[][] { readAccesses.clone(), writeAccesses.clone(), computations.clone(),
+				stalls.clone(), readStalls.clone(), writeStalls.clone(), voids.clone() };
+	}
+
+	public long getTotalStall() {
+		return totalStall;
+	}
+
+	public int getPeriodNumber() {
+		return periods[0].length;
+	}
+
+	/**
+	 * Returns true if all durations of this hint (latencies, regulation period,
+	 * budget, costs, total stall and per-period units) are multiples of the time
+	 * unit, so that it can be divided (see {@link #divide(int)}).
+	 * 
+	 * @param timeUnit the time unit.
+	 * @return true if this hint can be divided by the time unit.
+	 */
+	public boolean isDivisibleBy(int timeUnit) {
+		if (readLatency % timeUnit != 0 || writeLatency % timeUnit != 0 || regulationPeriod % timeUnit != 0
+				|| budget % timeUnit != 0 || readCost % timeUnit != 0 || writeCost % timeUnit != 0
+				|| computationCost % timeUnit != 0 || totalStall % timeUnit != 0) {
+			return false;
+		}
+
+		for (int i = 2; i < periods.length; i++) {
+			for (int value : periods[i]) {
+				if (value % timeUnit != 0) {
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns the hint of the same schedule with all durations divided by the
+	 * time unit. Access numbers are kept.
+	 * 
+	 * @param timeUnit the time unit.
+	 * @return the divided hint.
+	 * @throws IllegalArgumentException if a duration is not a multiple of the time
+	 *                                  unit.
+	 * @see #isDivisibleBy(int)
+	 */
+	public ScheduleHint divide(int timeUnit) {
+		if (!isDivisibleBy(timeUnit)) {
+			throw new IllegalArgumentException("Hint durations are not multiples of " + timeUnit);
+		}
+
+		return scale(1, timeUnit);
+	}
+
+	/**
+	 * Returns the hint of the same schedule with all durations multiplied by the
+	 * factor. Access numbers are kept.
+	 * 
+	 * @param factor the multiplication factor.
+	 * @return the multiplied hint.
+	 */
+	public ScheduleHint multiply(int factor) {
+		return scale(factor, 1);
+	}
+
+	private ScheduleHint scale(int factor, int timeUnit) {
+		int[][] units = new int[periods.length][];
+		for (int i = 0; i < periods.length; i++) {
+			units[i] = periods[i].clone();
+			if (i >= 2) {
+				for (int j = 0; j < units[i].length; j++) {
+					units[i][j] = units[i][j] * factor / timeUnit;
+				}
+			}
+		}
+
+		return new ScheduleHint(processorNumber, readLatency * factor / timeUnit, writeLatency * factor / timeUnit,
+				regulationPeriod * factor / timeUnit, budget * factor / timeUnit, readCost * factor / timeUnit,
+				writeCost * factor / timeUnit, computationCost * factor / timeUnit, totalStall * factor / timeUnit,
+				units[0], units[1], units[2], units[3], units[4], units[5], units[6]);
+	}
+
+	/**
+	 * Returns true if the stall of this hint is a lower bound of the stall of the
+	 * specified system. This is the case when both systems are the same and only
+	 * differ by a greater or equal computation cost, since the worst-case stall is
+	 * non-decreasing in the computation cost.
+	 * 
+	 * @param processorNumber  the number of processors.
+	 * @param readLatency      the read latency.
+	 * @param writeLatency     the write latency.
+	 * @param regulationPeriod the regulation period used in the model (without
+	 *                         overhead).
+	 * @param budget           the budget of the analysed processor.
+	 * @param readCost         the read cost of the task.
+	 * @param writeCost        the write cost of the task.
+	 * @param computationCost  the computation cost of the task.
+	 * @return true if the stall of the hint is a lower bound for the system.
+	 */
+	public boolean isLowerBoundFor(int processorNumber, int readLatency, int writeLatency, int regulationPeriod,
+			int budget, int readCost, int writeCost, int computationCost) {
+		return this.processorNumber == processorNumber && this.readLatency == readLatency
+				&& this.writeLatency == writeLatency && this.regulationPeriod == regulationPeriod
+				&& this.budget == budget && this.readCost == readCost && this.writeCost == writeCost
+				&& this.computationCost <= computationCost;
+	}
+
+	/**
+	 * Adds the values of this hint, adapted to the number of periods and
+	 * computation cost of the model, as hints of the model variables. Values are
+	 * clamped to the domains of the variables.
+	 * 
+	 * @param model                      the model to hint.
+	 * @param computationCost            the computation cost of the solved task.
+	 * @param readAccessVariables        the read access variables.
+	 * @param writeAccessVariables       the write access variables.
+	 * @param computationAccessVariables the computation variables.
+	 * @param stallVariables             the inter-processor stall variables.
+	 * @param readStallVariables         the read stall variables.
+	 * @param writeStallVariables        the write stall variables.
+	 */
+	public void addHints(CpModel model, int computationCost, IntVar[] readAccessVariables,
+			IntVar[] writeAccessVariables, IntVar[] computationAccessVariables, IntVar[] stallVariables,
+			IntVar[] readStallVariables, IntVar[] writeStallVariables) {
+		int periodNumber = readAccessVariables.length;
+		addHints(model, readAccessVariables, getReadAccesses(periodNumber));
+		addHints(model, writeAccessVariables, getWriteAccesses(periodNumber));
+		addHints(model, computationAccessVariables, getComputations(periodNumber, computationCost));
+		addHints(model, stallVariables, getStalls(periodNumber));
+		addHints(model, readStallVariables, getReadStalls(periodNumber));
+		addHints(model, writeStallVariables, getWriteStalls(periodNumber));
+	}
+
+	private void addHints(CpModel model, IntVar[] variables, int[] values) {
+		for (int i = 0; i < variables.length; i++) {
+			long min = variables[i].getDomain().min();
+			long max = variables[i].getDomain().max();
+			model.addHint(variables[i], Math.max(min, Math.min(max, values[i])));
+		}
+	}
+
+	/**
+	 * Returns the hinted read accesses for a model with the specified number of
+	 * periods. Missing periods have no access.
+	 * 
+	 * @param periodNumber the number of periods of the model.
+	 * @return the hinted read accesses per period.
+	 */
+	public int[] getReadAccesses(int periodNumber) {
+		return Arrays.copyOf(periods[0], periodNumber);
+	}
+
+	/**
+	 * Returns the hinted write accesses for a model with the specified number of
+	 * periods. Missing periods have no access.
+	 * 
+	 * @param periodNumber the number of periods of the model.
+	 * @return the hinted write accesses per period.
+	 */
+	public int[] getWriteAccesses(int periodNumber) {
+		return Arrays.copyOf(periods[1], periodNumber);
+	}
+
+	/**
+	 * <p>
+	 * Returns the hinted computation for a model with the specified number of
+	 * periods and computation cost. The difference between the computation cost
+	 * of the hint and the new computation cost is adapted as follows:
+	 * </p>
+	 * 
+	 * <ul>
+	 * <li>extra computation first replaces void accesses of the hint, in period
+	 * order, then goes in the first period that the hint does not have (or the
+	 * last period if there are none).
+	 * <li>missing computation is removed from the last periods.
+	 * </ul>
+	 * 
+	 * @param periodNumber    the number of periods of the model.
+	 * @param computationCost the computation cost of the solved task.
+	 * @return the hinted computation per period.
+	 */
+	public int[] getComputations(int periodNumber, int computationCost) {
+		int[] computations = Arrays.copyOf(periods[2], periodNumber);
+		if (periodNumber == 0) {
+			return computations;
+		}
+
+		int difference = computationCost - Arrays.stream(computations).sum();
+		for (int i = 0; i < Math.min(periodNumber, getPeriodNumber()) && difference > 0; i++) {
+			int added = Math.min(difference, periods[6][i]);
+			computations[i] += added;
+			difference -= added;
+		}
+
+		if (difference > 0) {
+			computations[Math.min(getPeriodNumber(), periodNumber - 1)] += difference;
+		}
+
+		for (int i = periodNumber - 1; i >= 0 && difference < 0; i--) {
+			int removed = Math.min(-difference, computations[i]);
+			computations[i] -= removed;
+			difference += removed;
+		}
+
+		return computations;
+	}
+
+	/**
+	 * Returns the hinted inter-processor stall for a model with the specified
+	 * number of periods. Missing periods have no stall.
+	 * 
+	 * @param periodNumber the number of periods of the model.
+	 * @return the hinted stall per period.
+	 */
+	public int[] getStalls(int periodNumber) {
+		return Arrays.copyOf(periods[3], periodNumber);
+	}
+
+	/**
+	 * Returns the hinted read stall for a model with the specified number of
+	 * periods. Missing periods have no stall.
+	 * 
+	 * @param periodNumber the number of periods of the model.
+	 * @return the hinted read stall per period.
+	 */
+	public int[] getReadStalls(int periodNumber) {
+		return Arrays.copyOf(periods[4], periodNumber);
+	}
+
+	/**
+	 * Returns the hinted write stall for a model with the specified number of
+	 * periods. Missing periods have no stall.
+	 * 
+	 * @param periodNumber the number of periods of the model.
+	 * @return the hinted write stall per period.
+	 */
+	public int[] getWriteStalls(int periodNumber) {
+		return Arrays.copyOf(periods[5], periodNumber);
+	}
+
+}
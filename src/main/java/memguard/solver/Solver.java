@@ -13,8 +13,10 @@ import memguard.solution.Solution;
 
 /**
  * <p>
- * Basic solver class that will load OR-Tools's native libraries (if not loaded
- * yet) and create log redirections.
+ * Basic solver class that will create log redirections. OR-Tools's native
+ * libraries are only loaded when a solver needs them (see
+ * {@link #loadNativeLibraries()}), so that solvers in pure Java run without
+ * them.
  * </p>
  * 
  * <p>
@@ -31,24 +33,39 @@ public abstract class Solver {
 
 	public static final boolean DEBUG = false;
 	private static boolean areNativeLibsLoaded = false;
+	private static boolean areLogsRedirected = false;
 	
 	public Solver() {
-		init();
+		redirectLogs();
 	}
 	
 	public abstract Solution solve(boolean verbose);
 
-	public static final void init() {
-		if (!areNativeLibsLoaded) {			
-			// Load native libraries
+	/**
+	 * Loads OR-Tools's native libraries (if not loaded yet) and creates log
+	 * redirections.
+	 */
+	public static final synchronized void init() {
+		loadNativeLibraries();
+		redirectLogs();
+	}
+
+	/**
+	 * Loads OR-Tools's native libraries if not loaded yet. Solvers call it before
+	 * creating a CP-SAT solver.
+	 */
+	public static final synchronized void loadNativeLibraries() {
+		if (!areNativeLibsLoaded) {
 			Loader.loadNativeLibraries();
-		
-			// If libraries were not loaded, logs are not set
+			areNativeLibsLoaded = true;
+		}
+	}
+
+	private static synchronized void redirectLogs() {
+		if (!areLogsRedirected) {
 			System.setOut(new ConsoleRedirection(System.out, MessageNature.INFO));
 			System.setErr(new ConsoleRedirection(System.err, MessageNature.ERROR));
-			
-			// Set libraries loaded
-			areNativeLibsLoaded = true;
+			areLogsRedirected = true;
 		}
 	}
 	
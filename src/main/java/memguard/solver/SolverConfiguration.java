@@ -0,0 +1,251 @@
+package memguard.solver;
+
+import java.util.Locale;
+
+import com.google.ortools.sat.SatParameters;
+import com.google.ortools.sat.SatParameters.SearchBranching;
+
+/**
+ * <p>
+ * Parameters of the CP-SAT solver used by a {@link MemguardSolver}: number of
+ * workers, time limit, random seed, presolve level, linearization level and
+ * search branching. Parameters that are not set keep the CP-SAT default.
+ * </p>
+ * 
+ * <p>
+ * Named profiles give configurations for the usual ways of running solves (see
+ * {@link #forProfile(String)}):
+ * </p>
+ * 
+ * <ul>
+ * <li><code>default</code>: CP-SAT defaults, all cores.
+ * <li><code>throughput</code>: one worker per solve, for sweeps where many
+ * solves run concurrently and independent solves scale better than CP-SAT
+ * workers.
+ * <li><code>latency</code>: all cores for a single interactive solve.
+ * </ul>
+ */
+public class SolverConfiguration {
+
+	public static final String DEFAULT_PROFILE = "default";
+	public static final String THROUGHPUT_PROFILE = "throughput";
+	public static final String LATENCY_PROFILE = "latency";
+
+	/**
+	 * Presolve is disabled.
+	 */
+	public static final int PRESOLVE_OFF = 0;
+
+	/**
+	 * Presolve runs once, without probing.
+	 */
+	public static final int PRESOLVE_LIGHT = 1;
+
+	/**
+	 * Presolve runs with CP-SAT defaults.
+	 */
+	public static final int PRESOLVE_FULL = 2;
+
+	private static final int UNSET = -1;
+
+	private int workerNumber;
+	private double timeLimit;
+	private int randomSeed;
+	private int presolveLevel;
+	private int linearizationLevel;
+	private SearchBranching searchBranching;
+
+	/**
+	 * Creates a new configuration with CP-SAT defaults and all cores.
+	 */
+	public SolverConfiguration() {
+		this.workerNumber = 0;
+		this.timeLimit = 0;
+		this.randomSeed = UNSET;
+		this.presolveLevel = UNSET;
+		this.linearizationLevel = UNSET;
+		this.searchBranching = null;
+	}
+
+	/**
+	 * Creates a copy of the configuration.
+	 * 
+	 * @param configuration the configuration to copy.
+	 */
+	public SolverConfiguration(SolverConfiguration configuration) {
+		this.workerNumber = configuration.workerNumber;
+		this.timeLimit = configuration.timeLimit;
+		this.randomSeed = configuration.randomSeed;
+		this.presolveLevel = configuration.presolveLevel;
+		this.linearizationLevel = configuration.linearizationLevel;
+		this.searchBranching = configuration.searchBranching;
+	}
+
+	/**
+	 * Returns the configuration of the named profile (case insensitive).
+	 * 
+	 * @param profile the name of the profile.
+	 * @return a new configuration for the profile.
+	 * @throws IllegalArgumentException if the profile does not exist.
+	 */
+	public static SolverConfiguration forProfile(String profile) {
+		return switch (profile.trim().toLowerCase(Locale.ROOT)) {
+		case DEFAULT_PROFILE -> new SolverConfiguration();
+		case THROUGHPUT_PROFILE -> throughput();
+		case LATENCY_PROFILE -> latency();
+		default -> throw new IllegalArgumentException("Unknown solver profile: " + profile);
+		};
+	}
+
+	/**
+	 * Returns the configuration for sweeps: one worker per solve.
+	 * 
+	 * @return a new throughput configuration.
+	 */
+	public static SolverConfiguration throughput() {
+		SolverConfiguration configuration = new SolverConfiguration();
+		configuration.setWorkerNumber(1);
+		return configuration;
+	}
+
+	/**
+	 * Returns the configuration for a single interactive solve: all cores.
+	 * 
+	 * @return a new latency configuration.
+	 */
+	public static SolverConfiguration latency() {
+		SolverConfiguration configuration = new SolverConfiguration();
+		configuration.setWorkerNumber(0);
+		return configuration;
+	}
+
+	/**
+	 * Sets the number of CP-SAT workers. A value of 0 lets CP-SAT use all
+	 * available cores.
+	 * 
+	 * @param workerNumber the number of CP-SAT workers, 0 for all cores.
+	 */
+	public void setWorkerNumber(int workerNumber) {
+		this.workerNumber = workerNumber;
+	}
+
+	public int getWorkerNumber() {
+		return workerNumber;
+	}
+
+	/**
+	 * Sets the time limit of a solve. When it is reached, the best solution found
+	 * so far is returned (FEASIBLE).
+	 * 
+	 * @param timeLimit the time limit in seconds, 0 for no limit.
+	 */
+	public void setTimeLimit(double timeLimit) {
+		this.timeLimit = timeLimit;
+	}
+
+	public double getTimeLimit() {
+		return timeLimit;
+	}
+
+	/**
+	 * Sets the random seed of CP-SAT. With one worker, the same seed gives the
+	 * same search.
+	 * 
+	 * @param randomSeed the random seed, positive.
+	 */
+	public void setRandomSeed(int randomSeed) {
+		this.randomSeed = randomSeed;
+	}
+
+	public int getRandomSeed() {
+		return randomSeed;
+	}
+
+	/**
+	 * Sets how much CP-SAT simplifies the model before searching. Small models
+	 * solved many times can be faster with a lighter presolve.
+	 * 
+	 * @param presolveLevel {@link #PRESOLVE_OFF}, {@link #PRESOLVE_LIGHT} or
+	 *                      {@link #PRESOLVE_FULL}.
+	 */
+	public void setPresolveLevel(int presolveLevel) {
+		this.presolveLevel = presolveLevel;
+	}
+
+	public int getPresolveLevel() {
+		return presolveLevel;
+	}
+
+	/**
+	 * Sets how much of the model is added to the LP relaxation: 0 for none, 1 for
+	 * linear constraints (CP-SAT default), 2 for more cuts.
+	 * 
+	 * @param linearizationLevel the linearization level, between 0 and 2.
+	 */
+	public void setLinearizationLevel(int linearizationLevel) {
+		this.linearizationLevel = linearizationLevel;
+	}
+
+	public int getLinearizationLevel() {
+		return linearizationLevel;
+	}
+
+	/**
+	 * Sets the search branching of CP-SAT, or null for the default one.
+	 * 
+	 * @param searchBranching the search branching.
+	 */
+	public void setSearchBranching(SearchBranching searchBranching) {
+		this.searchBranching = searchBranching;
+	}
+
+	public SearchBranching getSearchBranching() {
+		return searchBranching;
+	}
+
+	/**
+	 * Sets the parameters of this configuration in CP-SAT parameters. Parameters
+	 * that are not set are left untouched.
+	 * 
+	 * @param parameters the CP-SAT parameters to modify.
+	 */
+	public void apply(SatParameters.Builder parameters) {
+		if (workerNumber > 0) {
+			parameters.setNumWorkers(workerNumber);
+		}
+
+		if (timeLimit > 0) {
+			parameters.setMaxTimeInSeconds(timeLimit);
+		}
+
+		if (randomSeed != UNSET) {
+			parameters.setRandomSeed(randomSeed);
+		}
+
+		switch (presolveLevel) {
+		case PRESOLVE_OFF -> parameters.setCpModelPresolve(false);
+		case PRESOLVE_LIGHT -> {
+			parameters.setMaxPresolveIterations(1);
+			parameters.setCpModelProbingLevel(0);
+		}
+		default -> {
+			// CP-SAT defaults
+		}
+		}
+
+		if (linearizationLevel != UNSET) {
+			parameters.setLinearizationLevel(linearizationLevel);
+		}
+
+		if (searchBranching != null) {
+			parameters.setSearchBranching(searchBranching);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "workers = %d, time limit = %s, seed = %d, presolve = %d, linearization = %d, branching = %s"
+				.formatted(workerNumber, timeLimit, randomSeed, presolveLevel, linearizationLevel, searchBranching);
+	}
+
+}
@@ -13,6 +13,7 @@ public class SolverTest extends Solver {
 
 	@Override
 	public Solution solve(boolean verbose) {
+		loadNativeLibraries();
 		CpModel model = new CpModel();
 		CpSolver solver = new CpSolver();
 
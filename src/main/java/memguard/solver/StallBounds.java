@@ -0,0 +1,492 @@
+package memguard.solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.google.ortools.sat.CpModel;
+import com.google.ortools.sat.IntVar;
+
+/**
+ * <p>
+ * Bounds of the worst-case total stall computed without CP-SAT, used to cut the
+ * objective of a model, to hint it, and to skip the solve when both bounds are
+ * equal (see {@link MemguardSolver#setHeuristicBounds(boolean)}).
+ * </p>
+ * 
+ * <p>
+ * The lower bound is the stall of a greedy schedule: memory accesses are done
+ * first, reads before writes, and computation only completes the periods until
+ * the memory is finished. Two schedules are built, one filling every period
+ * with memory up to the budget, the other only doing the accesses needed for
+ * the maximum stall and completing the period with computation while there is
+ * some left. The best one is kept, and only if it satisfies all the
+ * constraints of the model, period order included. Its stall is then always
+ * reachable and its values are a complete hint of the model.
+ * </p>
+ * 
+ * <p>
+ * The upper bound counts the periods that can be stalled. A period without
+ * memory access has no stall, so at most <code>min(accesses, periods)</code>
+ * periods are stalled, each by at most P - Q (plus an operation stall smaller
+ * than the greatest latency with two counters). With one counter, a period is
+ * also stalled by at most m - 1 per access, or P - Q for
+ * <code>min(k, Q)</code> accesses (k being the maximum interference accesses).
+ * </p>
+ * 
+ * <p>
+ * The implementation is static, meaning that you cannot modify bounds after
+ * creating them.
+ * </p>
+ */
+public class StallBounds {
+
+	/**
+	 * Value of a bound that could not be computed.
+	 */
+	public static final long NO_BOUND = -1;
+
+	private static final int READ = 0;
+	private static final int WRITE = 1;
+	private static final int COMPUTATION = 2;
+	private static final int STALL = 3;
+	private static final int VOID = 4;
+
+	private final long lowerBound;
+	private final long upperBound;
+	private final int[][] periods;
+
+	private StallBounds(long lowerBound, long upperBound, int[][] periods) {
+		this.lowerBound = lowerBound;
+		this.upperBound = upperBound;
+		this.periods = periods;
+	}
+
+	/**
+	 * Computes the bounds of a one counter model (see
+	 * {@link memguard.solver.memguardUU1C1B.MemguardUU1C1B}). Memory accesses of
+	 * the schedule are given by {@link #getReadAccesses()}.
+	 * 
+	 * @param processorNumber          the number of processors.
+	 * @param regulationPeriod         the regulation period.
+	 * @param budget                   the budget of the analysed processor.
+	 * @param memoryCost               the memory cost of the task.
+	 * @param computationCost          the computation cost of the task.
+	 * @param periodNumber             the number of periods of the model.
+	 * @param interferedAccessesForced true if the model forces min(k, Q)
+	 *                                 accesses in each period while memory is
+	 *                                 left.
+	 * @return the bounds of the total stall.
+	 */
+	public static StallBounds forOneCounter(int processorNumber, int regulationPeriod, int budget, int memoryCost,
+			int computationCost, int periodNumber, boolean interferedAccessesForced) {
+		int interferenceProcessorNumber = processorNumber - 1;
+		if (interferenceProcessorNumber < 1 || budget < 1 || budget > regulationPeriod) {
+			return new StallBounds(NO_BOUND, NO_BOUND, null);
+		}
+
+		int remainingBudget = regulationPeriod - budget;
+		int maxInterferenceAccess = Math.ceilDiv(remainingBudget, interferenceProcessorNumber);
+		int stalledAccess = Math.min(maxInterferenceAccess, budget);
+		int[] stalls = new int[budget + 1];
+		for (int m = 0; m <= budget; m++) {
+			stalls[m] = m == budget || m >= maxInterferenceAccess ? remainingBudget
+					: interferenceProcessorNumber * m;
+		}
+
+		// Stalled periods have accesses, and stall at most (m - 1) or (P - Q) / a per
+		// access
+		long periodUpperBound = (long) Math.min(memoryCost, periodNumber) * remainingBudget;
+		long accessUpperBound = stalledAccess == 0 ? 0
+				: Math.max((long) interferenceProcessorNumber * memoryCost,
+						(long) memoryCost * remainingBudget / stalledAccess);
+		long upperBound = Math.min(periodUpperBound, accessUpperBound);
+
+		// Keep the best greedy schedule that is valid for the model
+		int minimumAccess = interferedAccessesForced ? stalledAccess : 0;
+		int[][] bestPeriods = null;
+		long bestStall = NO_BOUND;
+		for (int targetAccess : new int[] { budget, Math.max(1, stalledAccess) }) {
+			List<int[]> schedule = createOneCounterSchedule(regulationPeriod, budget, memoryCost, computationCost,
+					stalls, targetAccess);
+			int[][] candidate = toPeriods(schedule, periodNumber, regulationPeriod,
+					createOrder(SymmetryBreaking.ORDERED, false));
+			if (candidate != null && isValidOneCounter(candidate, regulationPeriod, budget, memoryCost,
+					computationCost, stalls, minimumAccess)) {
+				long stall = Arrays.stream(candidate[STALL]).asLongStream().sum();
+				if (stall > bestStall) {
+					bestStall = stall;
+					bestPeriods = candidate;
+				}
+			}
+		}
+
+		return new StallBounds(bestStall, upperBound, bestPeriods);
+	}
+
+	/**
+	 * Computes the bounds of a two counters model (see
+	 * {@link memguard.solver.memguardUU2C1B.MemguardUU2C1BOpStall}). The greedy
+	 * schedule has no operation stall.
+	 * 
+	 * @param processorNumber  the number of processors.
+	 * @param readLatency      the read latency.
+	 * @param writeLatency     the write latency.
+	 * @param regulationPeriod the regulation period used in the model (without
+	 *                         overhead).
+	 * @param budget           the budget of the analysed processor.
+	 * @param readCost         the read cost of the task.
+	 * @param writeCost        the write cost of the task.
+	 * @param computationCost  the computation cost of the task.
+	 * @param periodNumber     the number of periods of the model.
+	 * @param symmetryBreaking the order of the periods in the model.
+	 * @param writeOrder       true if the model sorts periods by decreasing write
+	 *                         accesses when they are ordered.
+	 * @return the bounds of the total stall.
+	 */
+	public static StallBounds forTwoCounters(int processorNumber, int readLatency, int writeLatency,
+			int regulationPeriod, int budget, int readCost, int writeCost, int computationCost, int periodNumber,
+			SymmetryBreaking symmetryBreaking, boolean writeOrder) {
+		int interferenceProcessorNumber = processorNumber - 1;
+		if (interferenceProcessorNumber < 1 || budget < 1 || budget > regulationPeriod) {
+			return new StallBounds(NO_BOUND, NO_BOUND, null);
+		}
+
+		int remainingBudget = regulationPeriod - budget;
+		int maxLatency = Math.max(readLatency, writeLatency);
+		int accessNumber = readCost / readLatency + writeCost / writeLatency;
+
+		// Without enough budget for an access, empty periods can have operation stall
+		int stalledPeriodNumber = budget >= maxLatency ? Math.min(accessNumber, periodNumber) : periodNumber;
+		long upperBound = (long) stalledPeriodNumber * (remainingBudget + maxLatency - 1);
+
+		// Costs must be a whole number of accesses
+		if (readCost % readLatency != 0 || writeCost % writeLatency != 0) {
+			return new StallBounds(NO_BOUND, upperBound, null);
+		}
+
+		int maxInterferenceAccess = Math.ceilDiv(remainingBudget, interferenceProcessorNumber * writeLatency);
+		int[][] bestPeriods = null;
+		long bestStall = NO_BOUND;
+		for (int targetAccess : new int[] { Integer.MAX_VALUE, Math.max(1, maxInterferenceAccess) }) {
+			List<int[]> schedule = createTwoCountersSchedule(interferenceProcessorNumber, readLatency, writeLatency,
+					regulationPeriod, budget, readCost / readLatency, writeCost / writeLatency, computationCost,
+					maxInterferenceAccess, targetAccess);
+			int[][] candidate = toPeriods(schedule, periodNumber, regulationPeriod,
+					createOrder(symmetryBreaking, writeOrder));
+			if (candidate != null && isValidTwoCounters(candidate, interferenceProcessorNumber, readLatency,
+					writeLatency, regulationPeriod, budget, readCost / readLatency, writeCost / writeLatency,
+					computationCost, maxInterferenceAccess, symmetryBreaking, writeOrder)) {
+				long stall = Arrays.stream(candidate[STALL]).asLongStream().sum();
+				if (stall > bestStall) {
+					bestStall = stall;
+					bestPeriods = candidate;
+				}
+			}
+		}
+
+		return new StallBounds(bestStall, upperBound, bestPeriods);
+	}
+
+	private static List<int[]> createOneCounterSchedule(int regulationPeriod, int budget, int memoryCost,
+			int computationCost, int[] stalls, int targetAccess) {
+		List<int[]> schedule = new ArrayList<int[]>();
+		int remainingMemory = memoryCost;
+		int remainingComputation = computationCost;
+		while (remainingMemory > 0) {
+			// Take more accesses when there is not enough computation to fill the period
+			int accesses = Math.min(remainingMemory, Math.min(budget, Math.max(targetAccess,
+					budget - remainingComputation)));
+			int stall = stalls[accesses];
+			int free = regulationPeriod - accesses - stall;
+			remainingMemory -= accesses;
+			if (remainingMemory > 0 && free > remainingComputation) {
+				return null;
+			}
+
+			int computation = Math.min(free, remainingComputation);
+			remainingComputation -= computation;
+			schedule.add(new int[] { accesses, 0, computation, stall, free - computation });
+		}
+
+		addComputationPeriods(schedule, regulationPeriod, remainingComputation);
+		return schedule;
+	}
+
+	private static List<int[]> createTwoCountersSchedule(int interferenceProcessorNumber, int readLatency,
+			int writeLatency, int regulationPeriod, int budget, int readAccessNumber, int writeAccessNumber,
+			int computationCost, int maxInterferenceAccess, int targetAccess) {
+		List<int[]> schedule = new ArrayList<int[]>();
+		int remainingReads = readAccessNumber;
+		int remainingWrites = writeAccessNumber;
+		int remainingComputation = computationCost;
+		while (remainingReads > 0 || remainingWrites > 0) {
+			int[] period = createTwoCountersPeriod(interferenceProcessorNumber, readLatency, writeLatency,
+					regulationPeriod, budget, remainingReads, remainingWrites, maxInterferenceAccess, targetAccess);
+			boolean memoryLeft = period[READ] < remainingReads || period[WRITE] < remainingWrites;
+
+			// Fill the period with memory when there is not enough computation
+			if (memoryLeft && period[COMPUTATION] > remainingComputation) {
+				period = createTwoCountersPeriod(interferenceProcessorNumber, readLatency, writeLatency,
+						regulationPeriod, budget, remainingReads, remainingWrites, maxInterferenceAccess,
+						Integer.MAX_VALUE);
+				memoryLeft = period[READ] < remainingReads || period[WRITE] < remainingWrites;
+			}
+
+			if (period[READ] + period[WRITE] == 0 || (memoryLeft && period[COMPUTATION] > remainingComputation)) {
+				return null;
+			}
+
+			int free = period[COMPUTATION];
+			period[COMPUTATION] = Math.min(free, remainingComputation);
+			period[VOID] = free - period[COMPUTATION];
+			remainingReads -= period[READ];
+			remainingWrites -= period[WRITE];
+			remainingComputation -= period[COMPUTATION];
+			schedule.add(period);
+		}
+
+		addComputationPeriods(schedule, regulationPeriod, remainingComputation);
+		return schedule;
+	}
+
+	// Returns a period with reads first, the free units being in the computation
+	private static int[] createTwoCountersPeriod(int interferenceProcessorNumber, int readLatency, int writeLatency,
+			int regulationPeriod, int budget, int remainingReads, int remainingWrites, int maxInterferenceAccess,
+			int targetAccess) {
+		int reads = Math.min(targetAccess, Math.min(remainingReads, budget / readLatency));
+		int writes = Math.min(targetAccess - reads,
+				Math.min(remainingWrites, (budget - reads * readLatency) / writeLatency));
+		int used = reads * readLatency + writes * writeLatency;
+		int stall = used == budget || reads + writes >= maxInterferenceAccess ? regulationPeriod - budget
+				: interferenceProcessorNumber * writeLatency * (reads + writes);
+		return new int[] { reads, writes, regulationPeriod - used - stall, stall, 0 };
+	}
+
+	private static void addComputationPeriods(List<int[]> schedule, int regulationPeriod, int remainingComputation) {
+		while (remainingComputation > 0) {
+			int computation = Math.min(regulationPeriod, remainingComputation);
+			remainingComputation -= computation;
+			schedule.add(new int[] { 0, 0, computation, 0, regulationPeriod - computation });
+		}
+	}
+
+	/*
+	 * Orders periods by decreasing stall, then by decreasing write accesses and
+	 * increasing computation when ordered, or by increasing computation and
+	 * decreasing write accesses when lexicographic.
+	 */
+	private static Comparator<int[]> createOrder(SymmetryBreaking symmetryBreaking, boolean writeOrder) {
+		Comparator<int[]> order = Comparator.comparingInt(period -> -period[STALL]);
+		if (symmetryBreaking == SymmetryBreaking.LEXICOGRAPHIC) {
+			return order.thenComparingInt(period -> period[COMPUTATION]).thenComparingInt(period -> -period[WRITE]);
+		}
+
+		if (writeOrder) {
+			order = order.thenComparingInt(period -> -period[WRITE]);
+		}
+		return order.thenComparingInt(period -> period[COMPUTATION]);
+	}
+
+	/*
+	 * Sorts the periods with the order, the last period staying last since it can
+	 * have void. The schedule is completed with void periods.
+	 */
+	private static int[][] toPeriods(List<int[]> schedule, int periodNumber, int regulationPeriod,
+			Comparator<int[]> order) {
+		if (schedule == null || schedule.size() > periodNumber) {
+			return null;
+		}
+
+		if (!schedule.isEmpty()) {
+			schedule.subList(0, schedule.size() - 1).sort(order);
+		}
+
+		int[][] periods = new int[VOID + 1][periodNumber];
+		for (int i = 0; i < periodNumber; i++) {
+			int[] period = i < schedule.size() ? schedule.get(i) : new int[] { 0, 0, 0, 0, regulationPeriod };
+			for (int value = READ; value <= VOID; value++) {
+				periods[value][i] = period[value];
+			}
+		}
+
+		return periods;
+	}
+
+	private static boolean isValidOneCounter(int[][] periods, int regulationPeriod, int budget, int memoryCost,
+			int computationCost, int[] stalls, int minimumAccess) {
+		long memorySum = 0;
+		long computationSum = 0;
+		for (int i = 0; i < periods[READ].length; i++) {
+			int accesses = periods[READ][i];
+			memorySum += accesses;
+			computationSum += periods[COMPUTATION][i];
+			boolean finished = memorySum == memoryCost && computationSum == computationCost;
+			if (accesses > budget || periods[STALL][i] != stalls[accesses]
+					|| accesses + periods[COMPUTATION][i] + periods[STALL][i] + periods[VOID][i] != regulationPeriod
+					|| (periods[VOID][i] > 0 && !finished) || (memorySum < memoryCost && accesses < minimumAccess)
+					|| !isOrdered(periods, i, false)) {
+				return false;
+			}
+		}
+
+		return memorySum == memoryCost && computationSum == computationCost;
+	}
+
+	private static boolean isValidTwoCounters(int[][] periods, int interferenceProcessorNumber, int readLatency,
+			int writeLatency, int regulationPeriod, int budget, int readAccessNumber, int writeAccessNumber,
+			int computationCost, int maxInterferenceAccess, SymmetryBreaking symmetryBreaking, boolean writeOrder) {
+		int periodNumber = periods[READ].length;
+		long readSum = 0;
+		long writeSum = 0;
+		long computationSum = 0;
+		for (int i = 0; i < periodNumber; i++) {
+			int reads = periods[READ][i];
+			int writes = periods[WRITE][i];
+			int used = reads * readLatency + writes * writeLatency;
+			int stall = used == budget || reads + writes >= maxInterferenceAccess ? regulationPeriod - budget
+					: interferenceProcessorNumber * writeLatency * (reads + writes);
+			readSum += reads;
+			writeSum += writes;
+			computationSum += periods[COMPUTATION][i];
+			boolean finished = readSum == readAccessNumber && writeSum == writeAccessNumber
+					&& computationSum == computationCost;
+			boolean filled = used + periods[COMPUTATION][i] + periods[STALL][i] == regulationPeriod;
+			if (used > budget || periods[STALL][i] != stall || !filled && periods[VOID][i] == 0
+					|| used + periods[COMPUTATION][i] + stall + periods[VOID][i] != regulationPeriod
+					|| (periods[VOID][i] > 0 && !finished)
+					|| (symmetryBreaking == SymmetryBreaking.ORDERED && !isOrdered(periods, i, writeOrder))
+					|| (symmetryBreaking == SymmetryBreaking.LEXICOGRAPHIC && !isLexicographic(periods, i))) {
+				return false;
+			}
+
+			// A period that is not full before an access would have operation stall
+			if (i < periodNumber - 1 && !filled
+					&& ((periods[READ][i + 1] > 0 && budget - used < readLatency)
+							|| (periods[WRITE][i + 1] > 0 && budget - used < writeLatency))) {
+				return false;
+			}
+		}
+
+		return readSum == readAccessNumber && writeSum == writeAccessNumber && computationSum == computationCost;
+	}
+
+	private static boolean isOrdered(int[][] periods, int i, boolean writeOrder) {
+		if (i == 0) {
+			return true;
+		}
+
+		return periods[STALL][i - 1] >= periods[STALL][i]
+				&& (periods[VOID][i] > 0 || periods[COMPUTATION][i - 1] <= periods[COMPUTATION][i])
+				&& (!writeOrder || periods[WRITE][i - 1] >= periods[WRITE][i]);
+	}
+
+	/*
+	 * Periods without void of a valid schedule are full without operation stall
+	 * (see MemguardSolver#addLexicographicOrder)
+	 */
+	private static boolean isLexicographic(int[][] periods, int i) {
+		if (i == 0 || periods[VOID][i - 1] > 0 || periods[VOID][i] > 0 || (i > 1 && periods[VOID][i - 2] > 0)) {
+			return true;
+		}
+
+		if (periods[STALL][i - 1] != periods[STALL][i]) {
+			return periods[STALL][i - 1] > periods[STALL][i];
+		}
+		if (periods[COMPUTATION][i - 1] != periods[COMPUTATION][i]) {
+			return periods[COMPUTATION][i - 1] < periods[COMPUTATION][i];
+		}
+		return periods[WRITE][i - 1] >= periods[WRITE][i];
+	}
+
+	/**
+	 * Adds the values of the greedy schedule as hints of the model variables. Does
+	 * nothing if there is no greedy schedule.
+	 * 
+	 * @param model     the model to hint.
+	 * @param variables the variables per period.
+	 * @param values    the values per period, of the same length.
+	 */
+	public static void addHints(CpModel model, IntVar[] variables, int[] values) {
+		for (int i = 0; i < variables.length; i++) {
+			model.addHint(variables[i], values[i]);
+		}
+	}
+
+	/**
+	 * Returns the stall of the greedy schedule, or {@link #NO_BOUND} if there is
+	 * none.
+	 * 
+	 * @return the lower bound of the total stall.
+	 */
+	public long getLowerBound() {
+		return lowerBound;
+	}
+
+	/**
+	 * Returns the proven upper bound of the total stall, or {@link #NO_BOUND} if
+	 * it could not be computed.
+	 * 
+	 * @return the upper bound of the total stall.
+	 */
+	public long getUpperBound() {
+		return upperBound;
+	}
+
+	/**
+	 * Returns true if there is a greedy schedule, which gives the lower bound.
+	 * 
+	 * @return true if there is a greedy schedule.
+	 */
+	public boolean hasSchedule() {
+		return periods != null;
+	}
+
+	/**
+	 * Returns true if the greedy schedule is proven optimal, the solve can then be
+	 * skipped.
+	 * 
+	 * @return true if both bounds are equal.
+	 */
+	public boolean isTight() {
+		return periods != null && lowerBound == upperBound;
+	}
+
+	public int getPeriodNumber() {
+		return periods == null ? 0 : periods[READ].length;
+	}
+
+	/**
+	 * Returns the read accesses per period of the greedy schedule, or the memory
+	 * accesses with one counter.
+	 * 
+	 * @return the read accesses per period.
+	 */
+	public int[] getReadAccesses() {
+		return periods[READ].clone();
+	}
+
+	public int[] getWriteAccesses() {
+		return periods[WRITE].clone();
+	}
+
+	public int[] getComputations() {
+		return periods[COMPUTATION].clone();
+	}
+
+	/**
+	 * Returns the inter-processor stall per period of the greedy schedule. There
+	 * is no operation stall.
+	 * 
+	 * @return the inter-processor stall per period.
+	 */
+	public int[] getStalls() {
+		return periods[STALL].clone();
+	}
+
+	public int[] getVoids() {
+		return periods[VOID].clone();
+	}
+
+}
@@ -0,0 +1,52 @@
+package memguard.solver;
+
+/**
+ * Symmetry breaking constraints between the periods of the two counters models
+ * (see {@link MemguardSolver#setSymmetryBreaking(SymmetryBreaking)}). Exchanging
+ * two periods often gives another schedule with the same stall, the constraints
+ * remove some of these permutations from the search.
+ */
+public enum SymmetryBreaking {
+
+	/**
+	 * No constraint between periods. All permutations are explored.
+	 */
+	NONE,
+
+	/**
+	 * <p>
+	 * Periods are sorted by decreasing stall and increasing computation (and
+	 * decreasing write accesses when the solver asks for it), between all periods.
+	 * This is the default.
+	 * </p>
+	 * 
+	 * <p>
+	 * This order is a heuristic: a period with operation stall depends on the
+	 * accesses of the next period, so sorting all periods can remove every optimal
+	 * schedule, and the solver then returns a smaller stall than the worst case.
+	 * </p>
+	 */
+	ORDERED,
+
+	/**
+	 * <p>
+	 * Periods are sorted by decreasing (stall, -computation, write accesses) in
+	 * lexicographic order between two consecutive periods that are full without
+	 * operation stall and that follow a period full without operation stall (or
+	 * that start the schedule). Other periods are not ordered, in particular this
+	 * does not include the order of {@link #ORDERED}.
+	 * </p>
+	 * 
+	 * <p>
+	 * Such periods do not depend on their neighbours: the operation stall of the
+	 * previous period only depends on the accesses of the next one, and void only
+	 * appears once everything is finished. Exchanging two of them gives another
+	 * schedule with the same stall, and sorting each run of such periods keeps
+	 * the other periods in place, so at least one optimal schedule of the model
+	 * without symmetry breaking satisfies the order. Periods with operation stall
+	 * and their successors are never exchanged.
+	 * </p>
+	 */
+	LEXICOGRAPHIC;
+
+}
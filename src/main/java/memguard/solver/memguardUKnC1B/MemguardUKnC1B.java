@@ -0,0 +1,61 @@
+package memguard.solver.memguardUKnC1B;
+
+import memguard.logic.MemguardNCSystem;
+import memguard.solver.memguardUUnC1B.MemguardUUnC1B;
+
+/**
+ * <p>
+ * Solver of the n counters model when the budgets of all processors are known
+ * (see {@link MemguardNCSystem#getBudgets()}): the budget of processor 0 is the
+ * one of the analysed task, and the interfering processor k can only do
+ * <code>budget k / interference latency</code> accesses per regulation period.
+ * It interferes at the first accesses of the task in the period, and not at
+ * the following ones. With budgets of interfering processors big enough for as
+ * many accesses as the task, this is {@link MemguardUUnC1B}.
+ * </p>
+ * 
+ * <p>
+ * Interfering processors with the same budget are aggregated, so the model
+ * grows with the number of distinct budgets and not with the number of
+ * processors. The one and two counters systems are solved with the systems of
+ * {@link MemguardNCSystem#fromOneCounter} and
+ * {@link MemguardNCSystem#fromTwoCounters}.
+ * </p>
+ */
+public class MemguardUKnC1B extends MemguardUUnC1B {
+
+	public MemguardUKnC1B(MemguardNCSystem system, int overhead) {
+		super(system, overhead);
+	}
+
+	/**
+	 * This will compute the worst-case response time of a task in a system. This
+	 * system contains m processors with one budget each and only one task (to
+	 * simplify the process). The default overhead will be the interference
+	 * latency - 1
+	 * 
+	 * @param system the MemGuard's system with one task
+	 */
+	public MemguardUKnC1B(MemguardNCSystem system) {
+		this(system, system.getInterferenceLatency() - 1);
+	}
+
+	@Override
+	protected int[] getInterferenceAccessLimits() {
+		MemguardNCSystem ncsystem = (MemguardNCSystem) system;
+		int[] budgets = ncsystem.getBudgets();
+		int processorNumber = ncsystem.getProcessorNumber();
+		if (budgets.length < processorNumber) {
+			System.err.println("System must have one budget per processor, abort...");
+			System.exit(0);
+		}
+
+		int[] limits = new int[processorNumber - 1];
+		for (int k = 1; k < processorNumber; k++) {
+			limits[k - 1] = budgets[k] / ncsystem.getInterferenceLatency();
+		}
+
+		return limits;
+	}
+
+}
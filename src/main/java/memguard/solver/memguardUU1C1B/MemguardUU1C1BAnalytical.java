@@ -0,0 +1,217 @@
+package memguard.solver.memguardUU1C1B;
+
+import memguard.logic.MemguardSystem;
+import memguard.logic.MemoryTask;
+import memguard.logic.Task;
+import memguard.solution.Solution;
+import memguard.solution.SolutionBuilder;
+import memguard.solution.SolutionStatus;
+import memguard.solver.MemguardSolver;
+import memguard.solver.SolverConfiguration;
+
+/**
+ * <p>
+ * Computes the optimum of {@link MemguardUU1C1BUpgraded} without CP-SAT. With
+ * one counter, the stall of a period only depends on its memory accesses: it is
+ * P - Q when the period has at least <code>a = min(k, Q)</code> accesses (k
+ * being the maximum interference accesses), and <code>(m - 1) * accesses</code>
+ * otherwise. While memory accesses are left, a period has at least a accesses,
+ * does exactly Q of work and is stalled P - Q. After the memory is finished,
+ * periods are not stalled.
+ * </p>
+ * 
+ * <p>
+ * A schedule is thus given by the period f where the memory finishes. The f - 1
+ * periods before it are stalled P - Q, and each one needs between a and Q
+ * memory accesses, completed with computation up to Q. Period f is stalled P -
+ * Q if its accesses are at least a, and proportionally to its accesses
+ * otherwise, so it takes as many accesses as the computation cost allows. All
+ * values of f up to the number of periods of the model are tried, which makes
+ * the solver linear in the number of periods. The remaining computation always
+ * fits in the periods of the model, since each period can do at least Q of
+ * work.
+ * </p>
+ * 
+ * <p>
+ * This holds for systems with at least two processors and a budget between 1
+ * and the regulation period. Other systems are solved with
+ * {@link MemguardUU1C1BUpgraded}. In validation mode (see
+ * {@link #setValidation(boolean)}), all systems are also solved with CP-SAT and
+ * an error is printed if the optimal stalls differ.
+ * </p>
+ */
+public class MemguardUU1C1BAnalytical extends MemguardSolver {
+
+	private boolean validation;
+
+	/**
+	 * This will compute the worst-case response time of a task in a system. This
+	 * system contains m processors and only one task (to simplify the process).
+	 * 
+	 * @param system the MemGuard's system with one task
+	 */
+	public MemguardUU1C1BAnalytical(MemguardSystem system) {
+		super(system);
+		this.validation = false;
+	}
+
+	/**
+	 * Sets whether each system is also solved by {@link MemguardUU1C1BUpgraded}
+	 * to check the analytical optimum. When the CP-SAT solution is optimal and
+	 * differs, an error is printed and the CP-SAT solution is returned.
+	 * 
+	 * @param validation true to check the analytical optimum with CP-SAT.
+	 */
+	public void setValidation(boolean validation) {
+		this.validation = validation;
+	}
+
+	public boolean isValidation() {
+		return validation;
+	}
+
+	@Override
+	public Solution solve(boolean verbose) {
+		long solvingStart = System.nanoTime();
+
+		// Extract task
+		Task task = system.getProcessor(0).getTask(0);
+
+		// Verify that the task is a MemoryTask
+		if (!(task instanceof MemoryTask)) {
+			System.err.println("Task must be a MemoryTask, abort...");
+			System.exit(0);
+		}
+
+		MemguardSystem msystem = (MemguardSystem) system;
+		int processorNumber = system.getProcessorNumber();
+		int budget = msystem.getBudget(0);
+		int regulationPeriod = msystem.getRegulationPeriod();
+		if (processorNumber < 2 || budget < 1 || budget > regulationPeriod) {
+			if (verbose) {
+				System.out.println("No closed form for this system, solving with CP-SAT...");
+			}
+			return solveWithCpSat(verbose);
+		}
+
+		MemoryTask mtask = (MemoryTask) task;
+		int interferenceProcessorNumber = processorNumber - 1;
+		int remainingBudget = regulationPeriod - budget;
+		int memoryCost = mtask.getMemoryCost();
+		int computationCost = mtask.getComputationCost();
+		int maxPeriodNumber = Math.ceilDiv(memoryCost + computationCost, budget);
+		int maxInterferenceAccess = Math.ceilDiv(remainingBudget, interferenceProcessorNumber);
+		int stalledAccess = Math.min(maxInterferenceAccess, budget);
+
+		// Try every period where the memory can finish
+		long totalStall = 0;
+		int bestFinishPeriod = 0;
+		int bestLastAccess = 0;
+		for (int f = 1; f <= maxPeriodNumber && memoryCost > 0; f++) {
+			long minPreviousAccess = Math.max((long) (f - 1) * stalledAccess,
+					(long) (f - 1) * budget - computationCost);
+			long lastAccess = Math.min(budget, memoryCost - minPreviousAccess);
+			if (lastAccess < Math.max(1, memoryCost - (long) (f - 1) * budget)) {
+				continue;
+			}
+
+			long lastStall = lastAccess >= stalledAccess ? remainingBudget
+					: interferenceProcessorNumber * lastAccess;
+			long stall = (long) (f - 1) * remainingBudget + lastStall;
+			if (stall > totalStall || bestFinishPeriod == 0) {
+				totalStall = stall;
+				bestFinishPeriod = f;
+				bestLastAccess = (int) lastAccess;
+			}
+		}
+
+		if (verbose) {
+			System.out.println("Memory finishes in period %d with %d accesses".formatted(bestFinishPeriod,
+					bestLastAccess));
+			System.out.println("Total stall: %d".formatted(totalStall));
+		}
+
+		Solution solution = buildSolution(processorNumber, regulationPeriod, budget, stalledAccess,
+				remainingBudget, memoryCost, computationCost, bestFinishPeriod, bestLastAccess);
+		solution.setTotalStall(totalStall);
+		solution.setStallBound(totalStall);
+		solution.setSolvingTime((System.nanoTime() - solvingStart) / 1e9);
+
+		if (validation) {
+			Solution cpSatSolution = solveWithCpSat(false);
+			if (cpSatSolution.getStatus() == SolutionStatus.OPTIMAL
+					&& cpSatSolution.getTotalStall() != totalStall) {
+				System.err.println("Analytical stall %d differs from CP-SAT stall %d for m = %d, P = %d, Q = %d, M = %d, E = %d"
+						.formatted(totalStall, cpSatSolution.getTotalStall(), processorNumber, regulationPeriod,
+								budget, memoryCost, computationCost));
+				return cpSatSolution;
+			}
+		}
+
+		return solution;
+	}
+
+	private Solution solveWithCpSat(boolean verbose) {
+		MemguardUU1C1BUpgraded solver = new MemguardUU1C1BUpgraded((MemguardSystem) system);
+		solver.setConfiguration(new SolverConfiguration(getConfiguration()));
+		solver.setDeadline(getDeadline());
+		solver.setIncumbentListener(getIncumbentListener());
+		return solver.solve(verbose);
+	}
+
+	private Solution buildSolution(int processorNumber, int regulationPeriod, int budget, int stalledAccess,
+			int remainingBudget, int memoryCost, int computationCost, int finishPeriod, int lastAccess) {
+		int interferenceProcessorNumber = processorNumber - 1;
+		SolutionBuilder builder = new SolutionBuilder(processorNumber);
+
+		// Stalled periods: stalled accesses first, the rest as full as possible
+		int extraAccess = memoryCost - lastAccess - (finishPeriod - 1) * stalledAccess;
+		int remainingComputation = computationCost;
+		for (int i = 0; i < finishPeriod - 1; i++) {
+			int accesses = stalledAccess + Math.min(extraAccess, budget - stalledAccess);
+			extraAccess -= accesses - stalledAccess;
+			int computation = budget - accesses;
+			remainingComputation -= computation;
+			addPeriod(builder, interferenceProcessorNumber, accesses, computation, remainingBudget, 0);
+		}
+
+		// Period where memory finishes
+		if (finishPeriod > 0) {
+			int stall = lastAccess >= stalledAccess ? remainingBudget : interferenceProcessorNumber * lastAccess;
+			int computation = Math.min(remainingComputation, regulationPeriod - stall - lastAccess);
+			remainingComputation -= computation;
+			addPeriod(builder, interferenceProcessorNumber, lastAccess, computation, stall,
+					regulationPeriod - stall - lastAccess - computation);
+		}
+
+		// Computation left after memory
+		while (remainingComputation > 0) {
+			int computation = Math.min(remainingComputation, regulationPeriod);
+			remainingComputation -= computation;
+			addPeriod(builder, interferenceProcessorNumber, 0, computation, 0, regulationPeriod - computation);
+		}
+
+		return builder.build(SolutionStatus.OPTIMAL);
+	}
+
+	private void addPeriod(SolutionBuilder builder, int interferenceProcessorNumber, int memoryAccesses,
+			int computationAccesses, int stall, int voidAccesses) {
+		builder.addBeginPeriod();
+
+		// Add memory (and stall if any)
+		for (int r = 0; r < memoryAccesses; r++) {
+			int interferenceStall = Math.min(interferenceProcessorNumber, stall);
+			for (int i = 0; i < interferenceStall; i++) {
+				builder.addSharedResource(1, i + 1, true);
+			}
+			stall -= interferenceStall;
+			builder.addSharedResource(1, 0, true);
+		}
+
+		builder.addComputation(computationAccesses, 0, true);
+		builder.addStall(stall, 0, true);
+		builder.addVoid(voidAccesses);
+		builder.addEndPeriod();
+	}
+
+}
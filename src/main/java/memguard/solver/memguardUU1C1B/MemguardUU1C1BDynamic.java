@@ -0,0 +1,215 @@
+package memguard.solver.memguardUU1C1B;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import memguard.logic.MemguardSystem;
+import memguard.logic.MemoryTask;
+import memguard.logic.Task;
+import memguard.solution.Solution;
+import memguard.solution.SolutionBuilder;
+import memguard.solution.SolutionStatus;
+import memguard.solver.MemguardSolver;
+
+/**
+ * <p>
+ * Solves the model of {@link MemguardUU1C1B} by dynamic programming, in pure
+ * Java. The stall of a period only depends on its memory accesses: it is P - Q
+ * when the period uses its whole budget or has at least the maximum
+ * interference accesses, and <code>(m - 1) * accesses</code> otherwise. A
+ * period that does not finish the task has no void, so its computation is the
+ * rest of the period. Only the last period can finish both the memory and the
+ * computation and be completed with void.
+ * </p>
+ * 
+ * <p>
+ * The greatest stall to finish r memory accesses and c computation units is
+ * thus computed for all r and c, from the smaller ones, by trying every number
+ * of accesses in the next period. The number of periods does not need to be
+ * tracked: a period that does not finish the task does at least Q of work, so
+ * a schedule never has more periods than the model. This takes
+ * <code>O(M * E * Q)</code> time and <code>O(M * E)</code> memory.
+ * </p>
+ * 
+ * <p>
+ * Periods of the returned schedule are sorted by decreasing stall and
+ * increasing computation, the last period being the one with void, as in the
+ * symmetry breaking of the CP model.
+ * </p>
+ */
+public class MemguardUU1C1BDynamic extends MemguardSolver {
+
+	private static final int INFEASIBLE = -1;
+	private static final int LAST_PERIOD = -1;
+
+	/**
+	 * This will compute the worst-case response time of a task in a system. This
+	 * system contains m processors and only one task (to simplify the process).
+	 * 
+	 * @param system the MemGuard's system with one task
+	 */
+	public MemguardUU1C1BDynamic(MemguardSystem system) {
+		super(system);
+	}
+
+	@Override
+	public Solution solve(boolean verbose) {
+		long solvingStart = System.nanoTime();
+
+		// Extract task
+		Task task = system.getProcessor(0).getTask(0);
+
+		// Verify that the task is a MemoryTask
+		if (!(task instanceof MemoryTask)) {
+			System.err.println("Task must be a MemoryTask, abort...");
+			System.exit(0);
+		}
+
+		MemguardSystem msystem = (MemguardSystem) system;
+		int processorNumber = system.getProcessorNumber();
+		int budget = msystem.getBudget(0);
+		int regulationPeriod = msystem.getRegulationPeriod();
+		int interferenceProcessorNumber = processorNumber - 1;
+		int remainingBudget = regulationPeriod - budget;
+
+		MemoryTask mtask = (MemoryTask) task;
+		int memoryCost = mtask.getMemoryCost();
+		int computationCost = mtask.getComputationCost();
+		int maxInterferenceAccess = interferenceProcessorNumber > 0
+				? Math.ceilDiv(remainingBudget, interferenceProcessorNumber)
+				: Integer.MAX_VALUE;
+
+		// Stall of a period per number of memory accesses
+		int[] stalls = new int[budget + 1];
+		for (int m = 0; m <= budget; m++) {
+			stalls[m] = m == budget || m >= maxInterferenceAccess ? remainingBudget
+					: interferenceProcessorNumber * m;
+		}
+
+		// Greatest stall and first period choice to finish r accesses and c units
+		int width = computationCost + 1;
+		int[] bestStalls = new int[(memoryCost + 1) * width];
+		int[] choices = new int[(memoryCost + 1) * width];
+		for (int r = 0; r <= memoryCost; r++) {
+			for (int c = 0; c <= computationCost; c++) {
+				int state = r * width + c;
+				if (r == 0 && c == 0) {
+					bestStalls[state] = 0;
+					continue;
+				}
+
+				int bestStall = INFEASIBLE;
+				int choice = 0;
+
+				// Finish everything in this period, completed with void
+				if (r <= budget && r + c + stalls[r] <= regulationPeriod) {
+					bestStall = stalls[r];
+					choice = LAST_PERIOD;
+				}
+
+				// Or fill the period and continue
+				for (int m = 0; m <= Math.min(budget, r); m++) {
+					int e = regulationPeriod - m - stalls[m];
+					if (e < 0 || e > c || (m == r && e == c)) {
+						continue;
+					}
+
+					int nextStall = bestStalls[(r - m) * width + c - e];
+					if (nextStall != INFEASIBLE && stalls[m] + nextStall > bestStall) {
+						bestStall = stalls[m] + nextStall;
+						choice = m;
+					}
+				}
+
+				bestStalls[state] = bestStall;
+				choices[state] = choice;
+			}
+		}
+
+		int totalStall = bestStalls[memoryCost * width + computationCost];
+		Solution solution;
+		if (totalStall == INFEASIBLE) {
+			if (verbose) {
+				System.err.println("No schedule for this system");
+			}
+			solution = new Solution(SolutionStatus.UNFEASIBLE);
+		} else {
+			// Follow the choices from the whole task
+			List<int[]> periods = new ArrayList<int[]>();
+			int r = memoryCost;
+			int c = computationCost;
+			int[] lastPeriod = null;
+			while (r > 0 || c > 0) {
+				int choice = choices[r * width + c];
+				if (choice == LAST_PERIOD) {
+					lastPeriod = new int[] { r, c, stalls[r], regulationPeriod - r - c - stalls[r] };
+					break;
+				}
+
+				int e = regulationPeriod - choice - stalls[choice];
+				periods.add(new int[] { choice, e, stalls[choice], 0 });
+				r -= choice;
+				c -= e;
+			}
+
+			// Decreasing stall, increasing computation, void at the end
+			periods.sort(Comparator.<int[]>comparingInt(period -> -period[2]).thenComparingInt(period -> period[1]));
+			if (lastPeriod != null) {
+				periods.add(lastPeriod);
+			}
+
+			SolutionBuilder builder = new SolutionBuilder(processorNumber);
+			for (int i = 0; i < periods.size(); i++) {
+				int[] period = periods.get(i);
+				if (verbose) {
+					System.out.println();
+					System.out.println("Period %d".formatted(i + 1));
+					System.out.println("Memory accesses: %d".formatted(period[0]));
+					System.out.println("Computation performed: %d".formatted(period[1]));
+					System.out.println("Inter-processor stall: %d".formatted(period[2]));
+					System.out.println("Void accesses: %d".formatted(period[3]));
+				}
+				addPeriod(builder, interferenceProcessorNumber, period[0], period[1], period[2], period[3]);
+			}
+
+			if (verbose) {
+				System.out.println();
+				System.out.println("Total stall: %d".formatted(totalStall));
+			}
+
+			solution = builder.build(SolutionStatus.OPTIMAL);
+			solution.setTotalStall(totalStall);
+			solution.setStallBound(totalStall);
+		}
+
+		double solvingTime = (System.nanoTime() - solvingStart) / 1e9;
+		if (verbose) {
+			System.out.println("Problem solved in %.4f seconds".formatted(solvingTime));
+		}
+		solution.setSolvingTime(solvingTime);
+
+		return solution;
+	}
+
+	private void addPeriod(SolutionBuilder builder, int interferenceProcessorNumber, int memoryAccesses,
+			int computationAccesses, int stall, int voidAccesses) {
+		builder.addBeginPeriod();
+
+		// Add memory (and stall if any)
+		for (int r = 0; r < memoryAccesses; r++) {
+			int interferenceStall = Math.min(interferenceProcessorNumber, stall);
+			for (int i = 0; i < interferenceStall; i++) {
+				builder.addSharedResource(1, i + 1, true);
+			}
+			stall -= interferenceStall;
+			builder.addSharedResource(1, 0, true);
+		}
+
+		builder.addComputation(computationAccesses, 0, true);
+		builder.addStall(stall, 0, true);
+		builder.addVoid(voidAccesses);
+		builder.addEndPeriod();
+	}
+
+}
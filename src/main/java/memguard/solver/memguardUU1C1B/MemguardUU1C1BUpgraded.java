@@ -5,6 +5,7 @@ import com.google.ortools.sat.CpModel;
 import com.google.ortools.sat.CpSolver;
 import com.google.ortools.sat.CpSolverStatus;
 import com.google.ortools.sat.IntVar;
+import com.google.ortools.sat.LinearArgument;
 import com.google.ortools.sat.LinearExpr;
 import com.google.ortools.sat.LinearExprBuilder;
 import com.google.ortools.sat.Literal;
@@ -16,6 +17,7 @@ import memguard.solution.Solution;
 import memguard.solution.SolutionBuilder;
 import memguard.solution.SolutionStatus;
 import memguard.solver.MemguardSolver;
+import memguard.solver.StallBounds;
 
 public class MemguardUU1C1BUpgraded extends MemguardSolver {
 
@@ -31,6 +33,19 @@ public class MemguardUU1C1BUpgraded extends MemguardSolver {
 
 	@Override
 	public Solution solve(boolean verbose) {
+		return solve(verbose, isHeuristicBounds());
+	}
+
+	/**
+	 * Builds and solves the model of the system.
+	 * 
+	 * @param verbose   true to print the model and the solution.
+	 * @param useBounds true to cut the objective with the heuristic bounds.
+	 * @return the solution of the model.
+	 */
+	private Solution solve(boolean verbose, boolean useBounds) {
+		long buildingStart = System.nanoTime();
+
 		// Extract task
 		Task task = system.getProcessor(0).getTask(0);
 
@@ -72,8 +87,18 @@ public class MemguardUU1C1BUpgraded extends MemguardSolver {
 			System.out.println("\tMaximum interference memory access: " + maxInterferenceAccess);
 		}
 
+		// Skip the solve when the greedy schedule is proven optimal
+		StallBounds bounds = null;
+		if (useBounds) {
+			bounds = StallBounds.forOneCounter(processorNumber, regulationPeriod, budget, memoryCost, computationCost,
+					maxPeriodNumber, true);
+			if (bounds.isTight()) {
+				return solveFromBounds(verbose, bounds, buildingStart);
+			}
+		}
+
 		// Build model
-		CpModel model = new CpModel();
+		CpModel model = createModel();
 
 		// Create integer variables
 		IntVar[] memoryAccessVariables = new IntVar[maxPeriodNumber];
@@ -122,6 +147,11 @@ public class MemguardUU1C1BUpgraded extends MemguardSolver {
 			stallVariables[i] = stall;
 		}
 
+		// Accesses done up to each period
+		LinearArgument[] memorySums = createPrefixSums(model, memoryAccessVariables, 1, memoryCost, "m_sum");
+		LinearArgument[] computationSums = createPrefixSums(model, computationAccessVariables, 1, computationCost,
+				"e_sum");
+
 		// Define boolean variables (note that must have both yes and no constraints per
 		// variable)
 		for (int i = 0; i < maxPeriodNumber; i++) {
@@ -147,22 +177,14 @@ public class MemguardUU1C1BUpgraded extends MemguardSolver {
 
 			// Read variables
 			BoolVar memoryAccessFinished = model.newBoolVar("m_%d_finished".formatted(i + 1));
-			LinearExprBuilder memoryBuilder = LinearExpr.newBuilder();
-			for (int j = 0; j <= i; j++) {
-				memoryBuilder.add(memoryAccessVariables[j]);
-			}
-			LinearExpr readExpr = memoryBuilder.build();
+			LinearArgument readExpr = memorySums[i];
 			model.addEquality(readExpr, memoryCost).onlyEnforceIf(memoryAccessFinished);
 			model.addDifferent(readExpr, memoryCost).onlyEnforceIf(memoryAccessFinished.not());
 			memoryFinishedVariables[i] = memoryAccessFinished;
 
 			// Computation variables
 			BoolVar computationAccessFinished = model.newBoolVar("e_%d_finished".formatted(i + 1));
-			LinearExprBuilder computationBuilder = LinearExpr.newBuilder();
-			for (int j = 0; j <= i; j++) {
-				computationBuilder.add(computationAccessVariables[j]);
-			}
-			LinearExpr computationExpr = computationBuilder.build();
+			LinearArgument computationExpr = computationSums[i];
 			model.addEquality(computationExpr, computationCost).onlyEnforceIf(computationAccessFinished);
 			model.addDifferent(computationExpr, computationCost).onlyEnforceIf(computationAccessFinished.not());
 			computationFinishedVariables[i] = computationAccessFinished;
@@ -273,9 +295,39 @@ public class MemguardUU1C1BUpgraded extends MemguardSolver {
 		LinearExpr maximizationExpr = LinearExpr.newBuilder().addSum(stallVariables).build();
 		model.maximize(maximizationExpr);
 
+		// Cut the objective with the bounds and hint the greedy schedule
+		if (bounds != null) {
+			if (bounds.hasSchedule()) {
+				StallBounds.addHints(model, memoryAccessVariables, bounds.getReadAccesses());
+				int[] interferedAccesses = bounds.getReadAccesses();
+				int[] notInterferedAccesses = bounds.getReadAccesses();
+				for (int i = 0; i < maxPeriodNumber; i++) {
+					interferedAccesses[i] = Math.min(interferedAccesses[i], maxInterferedMemoryAccessPerPeriod);
+					notInterferedAccesses[i] -= interferedAccesses[i];
+				}
+				StallBounds.addHints(model, memoryAccessInterferedVariables, interferedAccesses);
+				StallBounds.addHints(model, memoryAccessNotInterferedVariables, notInterferedAccesses);
+				StallBounds.addHints(model, computationAccessVariables, bounds.getComputations());
+				StallBounds.addHints(model, stallVariables, bounds.getStalls());
+				StallBounds.addHints(model, voidAccessVariables, bounds.getVoids());
+				model.addGreaterOrEqual(maximizationExpr, bounds.getLowerBound());
+			}
+
+			if (bounds.getUpperBound() != StallBounds.NO_BOUND) {
+				model.addLessOrEqual(maximizationExpr, bounds.getUpperBound());
+			}
+		}
+
 		// Solve model
-		CpSolver solver = new CpSolver();
-		CpSolverStatus status = solver.solve(model);
+		CpSolver solver = createCpSolver();
+		double buildingTime = (System.nanoTime() - buildingStart) / 1e9;
+		CpSolverStatus status = solveModel(solver, model);
+
+		// The bounds are proven, so they are wrong: report it and solve without them
+		if (bounds != null && status == CpSolverStatus.INFEASIBLE) {
+			System.err.println("Bug: heuristic bounds make the model infeasible, solving again without bounds...");
+			return solve(verbose, false);
+		}
 
 		// If solution is optimal, say it!
 		Solution solution;
@@ -324,27 +376,8 @@ public class MemguardUU1C1BUpgraded extends MemguardSolver {
 					System.out.println("Max stall reached? %b".formatted(maxStall));
 				}
 
-				// Add an item with 0 length to begin
-				builder.addBeginPeriod();
-
-				// Add memory (and stall if any)
-				for (int r = 0; r < memoryAccesses; r++) {
-					// If stall left, then put item and update
-					stall -= addInterProcessorStall(builder, interferenceProcessorNumber, stall);
-					builder.addSharedResource(1, 0, true);
-				}
-
-				// Add computation
-				builder.addComputation(computationAccesses, 0, true);
-
-				// Add remaining stall if any
-				builder.addStall(stall, 0, true);
-
-				// Add void access
-				builder.addVoid(voidAccesses);
-
-				// Add an empty item to end
-				builder.addEndPeriod();
+				addPeriod(builder, interferenceProcessorNumber, memoryAccesses, computationAccesses, stall,
+						voidAccesses);
 			}
 
 			if (verbose) {
@@ -353,18 +386,73 @@ public class MemguardUU1C1BUpgraded extends MemguardSolver {
 			}
 
 			solution = builder.build(SolutionStatus.valueOf(status.toString()));
+			solution.setTotalStall(totalStall);
+			solution.setStallBound(getStallBound(solver));
 			System.out.println("Solution successfully created!");
 		} else {
 			System.err.println("Something is wrong with the model: " + status);
-			solution = new Solution(SolutionStatus.UNFEASIBLE);
+			solution = new Solution(getUnsolvedStatus(status));
 		}
 
 		System.out.println("Problem solved in %.4f seconds".formatted(solver.wallTime()));
 		solution.setSolvingTime(solver.wallTime());
+		solution.setBuildingTime(buildingTime);
+		solution.setModelSize(model.getBuilder().getVariablesCount(), model.getBuilder().getConstraintsCount());
+		solution.setSearchEffort(solver.numBranches(), solver.numConflicts());
 
 		return solution;
 	}
 
+	private Solution solveFromBounds(boolean verbose, StallBounds bounds, long buildingStart) {
+		int processorNumber = system.getProcessorNumber();
+		int regulationPeriod = ((MemguardSystem) system).getRegulationPeriod();
+		int[] memoryAccesses = bounds.getReadAccesses();
+		int[] computationAccesses = bounds.getComputations();
+		int[] stalls = bounds.getStalls();
+		int[] voidAccesses = bounds.getVoids();
+		SolutionBuilder builder = new SolutionBuilder(processorNumber);
+		for (int i = 0; i < bounds.getPeriodNumber() && voidAccesses[i] != regulationPeriod; i++) {
+			addPeriod(builder, processorNumber - 1, memoryAccesses[i], computationAccesses[i], stalls[i],
+					voidAccesses[i]);
+		}
+
+		if (verbose) {
+			System.out.println("Greedy schedule is optimal, solver skipped");
+			System.out.println("Total stall: %d".formatted(bounds.getLowerBound()));
+		}
+
+		Solution solution = builder.build(SolutionStatus.OPTIMAL);
+		solution.setTotalStall(bounds.getLowerBound());
+		solution.setStallBound(bounds.getUpperBound());
+		solution.setBuildingTime((System.nanoTime() - buildingStart) / 1e9);
+		return solution;
+	}
+
+	private void addPeriod(SolutionBuilder builder, int interferenceProcessorNumber, int memoryAccesses,
+			int computationAccesses, int stall, int voidAccesses) {
+		// Add an item with 0 length to begin
+		builder.addBeginPeriod();
+
+		// Add memory (and stall if any)
+		for (int r = 0; r < memoryAccesses; r++) {
+			// If stall left, then put item and update
+			stall -= addInterProcessorStall(builder, interferenceProcessorNumber, stall);
+			builder.addSharedResource(1, 0, true);
+		}
+
+		// Add computation
+		builder.addComputation(computationAccesses, 0, true);
+
+		// Add remaining stall if any
+		builder.addStall(stall, 0, true);
+
+		// Add void access
+		builder.addVoid(voidAccesses);
+
+		// Add an empty item to end
+		builder.addEndPeriod();
+	}
+
 	// Returns the number of stall unit put
 	private int addInterProcessorStall(SolutionBuilder builder, int interferenceProcessorNumber, int remainingStall) {
 		int totalStall = 0;
@@ -5,6 +5,7 @@ import com.google.ortools.sat.CpModel;
 import com.google.ortools.sat.CpSolver;
 import com.google.ortools.sat.CpSolverStatus;
 import com.google.ortools.sat.IntVar;
+import com.google.ortools.sat.LinearArgument;
 import com.google.ortools.sat.LinearExpr;
 import com.google.ortools.sat.LinearExprBuilder;
 import com.google.ortools.sat.Literal;
@@ -15,8 +16,8 @@ import memguard.logic.Task;
 import memguard.solution.Solution;
 import memguard.solution.SolutionBuilder;
 import memguard.solution.SolutionStatus;
+import memguard.solver.HorizonPlanner;
 import memguard.solver.MemguardSolver;
-import memguard.solver.Solver;
 
 public class MemguardUU2C1B extends MemguardSolver {
 
@@ -40,6 +41,8 @@ public class MemguardUU2C1B extends MemguardSolver {
 
 	@Override
 	public Solution solve(boolean verbose) {
+		long buildingStart = System.nanoTime();
+
 		// Extract task
 		Task task = system.getProcessor(0).getTask(0);
 
@@ -72,7 +75,8 @@ public class MemguardUU2C1B extends MemguardSolver {
 		int writeAccessNumber = writeCost / writeLatency;
 		int maxReadPerPeriod = Math.floorDiv(budget, readLatency);
 		int maxWritePerPeriod = Math.floorDiv(budget, writeLatency);
-		int maxPeriodNumber = Math.ceilDiv(readCost + writeCost + computationCost, budget - writeLatency + 1);
+		int maxPeriodNumber = HorizonPlanner.getMaxPeriodNumber(regulationPeriod, budget, writeLatency,
+				readAccessNumber + writeAccessNumber, readCost + writeCost, computationCost);
 
 		if (verbose) {
 			System.out.println("Important system variables:");
@@ -100,7 +104,7 @@ public class MemguardUU2C1B extends MemguardSolver {
 			System.out.println("Creating model...");
 		}
 		// Build model
-		CpModel model = new CpModel();
+		CpModel model = createModel();
 
 		// Create integer variables
 		IntVar[] readAccessVariables = new IntVar[maxPeriodNumber];
@@ -148,6 +152,12 @@ public class MemguardUU2C1B extends MemguardSolver {
 			stallVariables[i] = stall;
 		}
 
+		// Accesses done up to each period
+		LinearArgument[] readSums = createPrefixSums(model, readAccessVariables, readLatency, readCost, "r_sum");
+		LinearArgument[] writeSums = createPrefixSums(model, writeAccessVariables, writeLatency, writeCost, "w_sum");
+		LinearArgument[] computationSums = createPrefixSums(model, computationAccessVariables, 1, computationCost,
+				"e_sum");
+
 		// Define boolean variables (note that must have both yes and no constraints per
 		// variable)
 		for (int i = 0; i < maxPeriodNumber; i++) {
@@ -177,33 +187,21 @@ public class MemguardUU2C1B extends MemguardSolver {
 
 			// Read variables
 			BoolVar readAccessFinished = model.newBoolVar("r_%d_finished".formatted(i + 1));
-			LinearExprBuilder readBuilder = LinearExpr.newBuilder();
-			for (int j = 0; j <= i; j++) {
-				readBuilder.addTerm(readAccessVariables[j], readLatency);
-			}
-			LinearExpr readExpr = readBuilder.build();
+			LinearArgument readExpr = readSums[i];
 			model.addEquality(readExpr, readCost).onlyEnforceIf(readAccessFinished);
 			model.addDifferent(readExpr, readCost).onlyEnforceIf(readAccessFinished.not());
 			readFinishedVariables[i] = readAccessFinished;
 
 			// Write variables
 			BoolVar writeAccessFinished = model.newBoolVar("w_%d_finished".formatted(i + 1));
-			LinearExprBuilder writeBuilder = LinearExpr.newBuilder();
-			for (int j = 0; j <= i; j++) {
-				writeBuilder.addTerm(writeAccessVariables[j], writeLatency);
-			}
-			LinearExpr writeExpr = writeBuilder.build();
+			LinearArgument writeExpr = writeSums[i];
 			model.addEquality(writeExpr, writeCost).onlyEnforceIf(writeAccessFinished);
 			model.addDifferent(writeExpr, writeCost).onlyEnforceIf(writeAccessFinished.not());
 			writeFinishedVariables[i] = writeAccessFinished;
 
 			// Computation variables
 			BoolVar computationAccessFinished = model.newBoolVar("e_%d_finished".formatted(i + 1));
-			LinearExprBuilder computationBuilder = LinearExpr.newBuilder();
-			for (int j = 0; j <= i; j++) {
-				computationBuilder.add(computationAccessVariables[j]);
-			}
-			LinearExpr computationExpr = computationBuilder.build();
+			LinearArgument computationExpr = computationSums[i];
 			model.addEquality(computationExpr, computationCost).onlyEnforceIf(computationAccessFinished);
 			model.addDifferent(computationExpr, computationCost).onlyEnforceIf(computationAccessFinished.not());
 			computationFinishedVariables[i] = computationAccessFinished;
@@ -323,15 +321,9 @@ public class MemguardUU2C1B extends MemguardSolver {
 		if (verbose) {
 			System.out.println("Launching solver...");
 		}
-		CpSolver solver = new CpSolver();
-
-		if (Solver.DEBUG) {
-			solver.getParameters().setLogToStdout(true);
-			solver.getParameters().setLogToResponse(true);
-			solver.getParameters().setLogSubsolverStatistics(true);
-			solver.getParameters().setLogSearchProgress(true);
-		}
-		CpSolverStatus status = solver.solve(model);
+		CpSolver solver = createCpSolver();
+		double buildingTime = (System.nanoTime() - buildingStart) / 1e9;
+		CpSolverStatus status = solveModel(solver, model);
 
 		// If solution is optimal, say it!
 		Solution solution;
@@ -433,6 +425,8 @@ public class MemguardUU2C1B extends MemguardSolver {
 			}
 
 			solution = builder.build(SolutionStatus.valueOf(status.toString()));
+			solution.setTotalStall(totalStall);
+			solution.setStallBound(getStallBound(solver));
 			if (verbose) {
 				System.out.println("Solution successfully created!");
 			}
@@ -440,13 +434,16 @@ public class MemguardUU2C1B extends MemguardSolver {
 			if (verbose) {
 				System.err.println("Something is wrong with the model: " + status);
 			}
-			solution = new Solution(SolutionStatus.UNFEASIBLE);
+			solution = new Solution(getUnsolvedStatus(status));
 		}
 
 		if (verbose) {
 			System.out.println("Problem solved in %.4f seconds".formatted(solver.wallTime()));
 		}
 		solution.setSolvingTime(solver.wallTime());
+		solution.setBuildingTime(buildingTime);
+		solution.setModelSize(model.getBuilder().getVariablesCount(), model.getBuilder().getConstraintsCount());
+		solution.setSearchEffort(solver.numBranches(), solver.numConflicts());
 
 		return solution;
 	}
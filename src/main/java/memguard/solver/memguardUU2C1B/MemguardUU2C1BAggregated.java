@@ -0,0 +1,705 @@
+package memguard.solver.memguardUU2C1B;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.ortools.sat.BoolVar;
+import com.google.ortools.sat.CpModel;
+import com.google.ortools.sat.CpSolver;
+import com.google.ortools.sat.CpSolverStatus;
+import com.google.ortools.sat.IntVar;
+import com.google.ortools.sat.LinearExpr;
+import com.google.ortools.sat.LinearExprBuilder;
+import com.google.ortools.sat.Literal;
+import com.google.ortools.sat.TableConstraint;
+
+import memguard.logic.MemguardRWSystem;
+import memguard.logic.ReadWriteTask;
+import memguard.logic.Task;
+import memguard.solution.Solution;
+import memguard.solution.SolutionBuilder;
+import memguard.solution.SolutionStatus;
+import memguard.solver.HorizonPlanner;
+import memguard.solver.MemguardSolver;
+import memguard.solver.NormalizedSolver;
+import memguard.solver.ScalableSolver;
+import memguard.solver.ScheduleHint;
+
+/**
+ * <p>
+ * Solves the model of {@link MemguardUU2C1BOpStall} without one variable per
+ * period. Each period of a schedule is one of:
+ * </p>
+ * 
+ * <ul>
+ * <li>a full period without operation stall. Its stall only depends on its
+ * reads and writes, and its computation fills the rest of the period, so it is
+ * a pattern (r, w).
+ * <li>a period with operation stall (read or write stall). Its stall is P - Q,
+ * its remaining budget is smaller than the latency of the access of the next
+ * period, and the rest of the budget is computation or operation stall. It is
+ * a pattern (r, w, kind) and its computation is free.
+ * <li>the last period, which finishes the task and can have void. It is
+ * modelled with its own variables.
+ * </ul>
+ * 
+ * <p>
+ * The model counts how many periods use each pattern. The only link between
+ * periods is that a period with read (write) stall must be followed by a
+ * period with reads (writes). Periods are grouped in classes (operation stall
+ * kind and accesses present), and the model chooses how many periods of each
+ * class follow the periods with operation stall of each class. Such an order
+ * exists if each class with operation stall reaches, through these choices, a
+ * class without operation stall, which is ensured with levels decreasing along
+ * the chosen successors.
+ * </p>
+ * 
+ * <p>
+ * The model size only depends on the budget and the latencies (the number of
+ * patterns), not on the costs of the task nor on the number of periods. The
+ * periods are rebuilt in order from the counts after solving.
+ * </p>
+ */
+public class MemguardUU2C1BAggregated extends MemguardSolver implements ScalableSolver {
+
+	private static final int HAS_READ = 1;
+	private static final int HAS_WRITE = 2;
+	private static final int ACCESS_CLASS_NUMBER = 4;
+
+	private static final int READ_STALL = 0;
+	private static final int WRITE_STALL = 1;
+
+	// Classes of periods with operation stall, then full periods, then the last
+	private static final int STALLED_CLASS_NUMBER = 2 * ACCESS_CLASS_NUMBER;
+	private static final int FULL_CLASS_OFFSET = STALLED_CLASS_NUMBER;
+	private static final int LAST_CLASS = FULL_CLASS_OFFSET + ACCESS_CLASS_NUMBER;
+	private static final int CLASS_NUMBER = LAST_CLASS + 1;
+
+	// Values of a period
+	private static final int READ = 0;
+	private static final int WRITE = 1;
+	private static final int COMPUTATION = 2;
+	private static final int STALL = 3;
+	private static final int READ_STALL_VALUE = 4;
+	private static final int WRITE_STALL_VALUE = 5;
+	private static final int VOID = 6;
+
+	private int overhead;
+
+	public MemguardUU2C1BAggregated(MemguardRWSystem system, int overhead) {
+		super(system);
+		this.overhead = overhead;
+	}
+
+	/**
+	 * This will compute the worst-case response time of a task in a system, as
+	 * {@link MemguardUU2C1BOpStall} does. The default overhead will be the write
+	 * latency - 1
+	 * 
+	 * @param system the MemGuard's system with one task
+	 */
+	public MemguardUU2C1BAggregated(MemguardRWSystem system) {
+		this(system, system.getWriteLatency() - 1);
+	}
+
+	@Override
+	public int getTimeUnit() {
+		return NormalizedSolver.getTimeUnit((MemguardRWSystem) system, overhead);
+	}
+
+	@Override
+	public MemguardSolver createScaledSolver(int timeUnit) {
+		return new MemguardUU2C1BAggregated(NormalizedSolver.divide((MemguardRWSystem) system, timeUnit, overhead), 0);
+	}
+
+	@Override
+	public Solution solve(boolean verbose) {
+		// Extract task
+		Task task = system.getProcessor(0).getTask(0);
+
+		// Verify that the task is a ReadWriteTask
+		if (!(task instanceof ReadWriteTask)) {
+			System.err.println("Task must be a ReadWriteTask, abort...");
+			System.exit(0);
+		}
+
+		long buildingStart = System.nanoTime();
+		MemguardRWSystem rwsystem = (MemguardRWSystem) system;
+		ReadWriteTask rwtask = (ReadWriteTask) task;
+		int processorNumber = system.getProcessorNumber();
+		int interferenceProcessorNumber = processorNumber - 1;
+		int budget = rwsystem.getBudget(0);
+		int readLatency = rwsystem.getReadLatency();
+		int writeLatency = rwsystem.getWriteLatency();
+		int regulationPeriod = rwsystem.getRegulationPeriod() - overhead;
+		int remainingBudget = regulationPeriod - budget;
+		int maxInterferenceAccess = Math.ceilDiv(remainingBudget, interferenceProcessorNumber * writeLatency);
+
+		int readCost = rwtask.getReadCost();
+		int writeCost = rwtask.getWriteCost();
+		int computationCost = rwtask.getComputationCost();
+		int readAccessNumber = readCost / readLatency;
+		int writeAccessNumber = writeCost / writeLatency;
+		int maxReadPerPeriod = Math.floorDiv(budget, readLatency);
+		int maxWritePerPeriod = Math.floorDiv(budget, writeLatency);
+		int maxPeriodNumber = HorizonPlanner.getMaxPeriodNumber(regulationPeriod, budget, writeLatency,
+				readAccessNumber + writeAccessNumber, readCost + writeCost, computationCost);
+
+		// Stall of a period without operation stall, -1 when over budget
+		int[][] stalls = new int[maxReadPerPeriod + 1][maxWritePerPeriod + 1];
+		for (int r = 0; r <= maxReadPerPeriod; r++) {
+			for (int w = 0; w <= maxWritePerPeriod; w++) {
+				int used = r * readLatency + w * writeLatency;
+				if (used > budget) {
+					stalls[r][w] = -1;
+				} else if (used == budget || r + w >= maxInterferenceAccess) {
+					stalls[r][w] = remainingBudget;
+				} else {
+					stalls[r][w] = interferenceProcessorNumber * writeLatency * (r + w);
+				}
+			}
+		}
+
+		// Patterns of full periods {r, w} and of periods with operation stall {r, w,
+		// kind}
+		List<int[]> fullPatterns = new ArrayList<int[]>();
+		List<int[]> stalledPatterns = new ArrayList<int[]>();
+		for (int r = 0; r <= maxReadPerPeriod; r++) {
+			for (int w = 0; w <= maxWritePerPeriod; w++) {
+				if (stalls[r][w] < 0) {
+					continue;
+				}
+
+				fullPatterns.add(new int[] { r, w });
+				int remaining = budget - r * readLatency - w * writeLatency;
+				if (remaining > 0 && remaining < readLatency) {
+					stalledPatterns.add(new int[] { r, w, READ_STALL });
+				}
+				if (remaining > 0 && remaining < writeLatency) {
+					stalledPatterns.add(new int[] { r, w, WRITE_STALL });
+				}
+			}
+		}
+
+		if (verbose) {
+			System.out.println("Important system variables:");
+			System.out.println("\tProcessor number: " + processorNumber);
+			System.out.println("\tBudget: " + budget);
+			System.out.println("\tRegulation Period: " + regulationPeriod);
+			System.out.println("\tRead latency: " + readLatency);
+			System.out.println("\tWrite latency: " + writeLatency);
+			System.out.println("\tMaximum period number: " + maxPeriodNumber);
+			System.out.println("\tFull period patterns: " + fullPatterns.size());
+			System.out.println("\tOperation stall patterns: " + stalledPatterns.size());
+			System.out.println("Creating model...");
+		}
+
+		// Build model
+		CpModel model = createModel();
+		LinearExprBuilder readExprBuilder = LinearExpr.newBuilder();
+		LinearExprBuilder writeExprBuilder = LinearExpr.newBuilder();
+		LinearExprBuilder computationExprBuilder = LinearExpr.newBuilder();
+		LinearExprBuilder periodExprBuilder = LinearExpr.newBuilder();
+		LinearExprBuilder maximizationExprBuilder = LinearExpr.newBuilder();
+		LinearExprBuilder[] classCountBuilders = new LinearExprBuilder[CLASS_NUMBER];
+		for (int c = 0; c < CLASS_NUMBER; c++) {
+			classCountBuilders[c] = LinearExpr.newBuilder();
+		}
+
+		// Number of full periods per pattern, their computation fills the period
+		IntVar[] fullVariables = new IntVar[fullPatterns.size()];
+		for (int p = 0; p < fullPatterns.size(); p++) {
+			int r = fullPatterns.get(p)[READ];
+			int w = fullPatterns.get(p)[WRITE];
+			int computation = regulationPeriod - r * readLatency - w * writeLatency - stalls[r][w];
+			IntVar periods = model.newIntVar(0, getMaxCount(maxPeriodNumber, r, w, computation, readAccessNumber,
+					writeAccessNumber, computationCost), "full_%d_%d".formatted(r, w));
+			fullVariables[p] = periods;
+
+			readExprBuilder.addTerm(periods, r * readLatency);
+			writeExprBuilder.addTerm(periods, w * writeLatency);
+			computationExprBuilder.addTerm(periods, computation);
+			periodExprBuilder.add(periods);
+			maximizationExprBuilder.addTerm(periods, stalls[r][w]);
+			classCountBuilders[FULL_CLASS_OFFSET + getAccessClass(r, w)].add(periods);
+		}
+
+		// Number of periods with operation stall per pattern, and their total
+		// computation (the rest of the budget is operation stall)
+		IntVar[] stalledVariables = new IntVar[stalledPatterns.size()];
+		IntVar[] stalledComputationVariables = new IntVar[stalledPatterns.size()];
+		for (int p = 0; p < stalledPatterns.size(); p++) {
+			int r = stalledPatterns.get(p)[READ];
+			int w = stalledPatterns.get(p)[WRITE];
+			int kind = stalledPatterns.get(p)[2];
+			int remaining = budget - r * readLatency - w * writeLatency;
+			int maxCount = getMaxCount(maxPeriodNumber, r, w, 0, readAccessNumber, writeAccessNumber,
+					computationCost);
+			IntVar periods = model.newIntVar(0, maxCount, "stalled_%d_%d_%d".formatted(r, w, kind));
+			IntVar computation = model.newIntVar(0, (long) (remaining - 1) * maxCount,
+					"stalled_e_%d_%d_%d".formatted(r, w, kind));
+			model.addLessOrEqual(computation, LinearExpr.term(periods, remaining - 1));
+			stalledVariables[p] = periods;
+			stalledComputationVariables[p] = computation;
+
+			readExprBuilder.addTerm(periods, r * readLatency);
+			writeExprBuilder.addTerm(periods, w * writeLatency);
+			computationExprBuilder.add(computation);
+			periodExprBuilder.add(periods);
+			maximizationExprBuilder.addTerm(periods, remainingBudget + remaining).addTerm(computation, -1);
+			classCountBuilders[kind * ACCESS_CLASS_NUMBER + getAccessClass(r, w)].add(periods);
+		}
+
+		// Last period, which finishes the task and can have void
+		IntVar lastReadVariable = model.newIntVar(0, maxReadPerPeriod, "r_last");
+		IntVar lastWriteVariable = model.newIntVar(0, maxWritePerPeriod, "w_last");
+		IntVar lastComputationVariable = model.newIntVar(0, regulationPeriod, "e_last");
+		IntVar lastStallVariable = model.newIntVar(0, Math.max(0, remainingBudget), "stall_last");
+		TableConstraint lastStallTable = model
+				.addAllowedAssignments(new IntVar[] { lastReadVariable, lastWriteVariable, lastStallVariable });
+		for (int[] pattern : fullPatterns) {
+			lastStallTable.addTuple(new int[] { pattern[READ], pattern[WRITE], stalls[pattern[READ]][pattern[WRITE]] });
+		}
+		model.addLessOrEqual(LinearExpr.newBuilder().addTerm(lastReadVariable, readLatency)
+				.addTerm(lastWriteVariable, writeLatency).add(lastComputationVariable).add(lastStallVariable),
+				regulationPeriod);
+		BoolVar lastReadInPeriod = model.newBoolVar("r_present_last");
+		addThresholdLiteral(model, lastReadInPeriod, lastReadVariable, 1, maxReadPerPeriod);
+		BoolVar lastWriteInPeriod = model.newBoolVar("w_present_last");
+		addThresholdLiteral(model, lastWriteInPeriod, lastWriteVariable, 1, maxWritePerPeriod);
+
+		readExprBuilder.addTerm(lastReadVariable, readLatency);
+		writeExprBuilder.addTerm(lastWriteVariable, writeLatency);
+		computationExprBuilder.add(lastComputationVariable);
+		maximizationExprBuilder.add(lastStallVariable);
+		classCountBuilders[LAST_CLASS].add(1);
+
+		// The task is finished and the horizon of the period model is kept
+		model.addEquality(readExprBuilder, readCost);
+		model.addEquality(writeExprBuilder, writeCost);
+		model.addEquality(computationExprBuilder, computationCost);
+		model.addLessOrEqual(periodExprBuilder, maxPeriodNumber - 1);
+
+		// Periods with operation stall are followed by periods with the access
+		IntVar[][] successorVariables = new IntVar[STALLED_CLASS_NUMBER][CLASS_NUMBER];
+		LinearExprBuilder[] predecessorBuilders = new LinearExprBuilder[CLASS_NUMBER];
+		for (int c = 0; c < CLASS_NUMBER; c++) {
+			predecessorBuilders[c] = LinearExpr.newBuilder();
+		}
+		for (int c = 0; c < STALLED_CLASS_NUMBER; c++) {
+			int access = c / ACCESS_CLASS_NUMBER == READ_STALL ? HAS_READ : HAS_WRITE;
+			LinearExprBuilder successorBuilder = LinearExpr.newBuilder();
+			for (int d = 0; d < CLASS_NUMBER; d++) {
+				if (d != LAST_CLASS && (getClassAccesses(d) & access) == 0) {
+					continue;
+				}
+
+				IntVar successors = model.newIntVar(0, d == LAST_CLASS ? 1 : maxPeriodNumber,
+						"next_%d_%d".formatted(c, d));
+				if (d == LAST_CLASS) {
+					model.addLessOrEqual(successors, access == HAS_READ ? lastReadInPeriod : lastWriteInPeriod);
+				}
+				successorVariables[c][d] = successors;
+				successorBuilder.add(successors);
+				predecessorBuilders[d].add(successors);
+			}
+			model.addEquality(successorBuilder, classCountBuilders[c]);
+		}
+		for (int d = 0; d < CLASS_NUMBER; d++) {
+			model.addLessOrEqual(predecessorBuilders[d], classCountBuilders[d]);
+		}
+
+		// Each class with operation stall reaches a class without it (decreasing
+		// levels), so that periods can be ordered
+		IntVar[] levelVariables = new IntVar[STALLED_CLASS_NUMBER];
+		for (int c = 0; c < STALLED_CLASS_NUMBER; c++) {
+			levelVariables[c] = model.newIntVar(1, STALLED_CLASS_NUMBER, "level_%d".formatted(c));
+		}
+		for (int c = 0; c < STALLED_CLASS_NUMBER; c++) {
+			BoolVar used = model.newBoolVar("used_%d".formatted(c));
+			model.addLessOrEqual(classCountBuilders[c], LinearExpr.term(used, maxPeriodNumber));
+
+			List<Literal> reasons = new ArrayList<Literal>();
+			reasons.add(used.not());
+			for (int d = 0; d < CLASS_NUMBER; d++) {
+				if (successorVariables[c][d] == null) {
+					continue;
+				}
+
+				BoolVar reason = model.newBoolVar("reach_%d_%d".formatted(c, d));
+				model.addGreaterOrEqual(successorVariables[c][d], 1).onlyEnforceIf(reason);
+				if (d < STALLED_CLASS_NUMBER) {
+					model.addLessOrEqual(LinearExpr.newBuilder().add(levelVariables[d]).addTerm(levelVariables[c], -1),
+							-1).onlyEnforceIf(reason);
+				}
+				reasons.add(reason);
+			}
+			model.addBoolOr(reasons);
+		}
+
+		LinearExpr maximizationExpr = maximizationExprBuilder.build();
+		model.maximize(maximizationExpr);
+
+		// Solve model
+		if (verbose) {
+			System.out.println("Launching solver...");
+		}
+		CpSolver solver = createCpSolver();
+		double buildingTime = (System.nanoTime() - buildingStart) / 1e9;
+		CpSolverStatus status = solveModel(solver, model);
+
+		Solution solution;
+		if (status == CpSolverStatus.OPTIMAL || status == CpSolverStatus.FEASIBLE) {
+			if (verbose) {
+				System.out.println("Solution found: " + status);
+				System.out.println("Generating solution...");
+			}
+
+			// Create the periods of each class
+			List<List<int[]>> classPeriods = new ArrayList<List<int[]>>();
+			for (int c = 0; c < CLASS_NUMBER; c++) {
+				classPeriods.add(new ArrayList<int[]>());
+			}
+			for (int p = 0; p < fullPatterns.size(); p++) {
+				int r = fullPatterns.get(p)[READ];
+				int w = fullPatterns.get(p)[WRITE];
+				int computation = regulationPeriod - r * readLatency - w * writeLatency - stalls[r][w];
+				for (long i = solver.value(fullVariables[p]); i > 0; i--) {
+					classPeriods.get(FULL_CLASS_OFFSET + getAccessClass(r, w))
+							.add(new int[] { r, w, computation, stalls[r][w], 0, 0, 0 });
+				}
+			}
+			for (int p = 0; p < stalledPatterns.size(); p++) {
+				int r = stalledPatterns.get(p)[READ];
+				int w = stalledPatterns.get(p)[WRITE];
+				int kind = stalledPatterns.get(p)[2];
+				int remaining = budget - r * readLatency - w * writeLatency;
+				long computationLeft = solver.value(stalledComputationVariables[p]);
+				for (long i = solver.value(stalledVariables[p]); i > 0; i--) {
+					int computation = (int) Math.min(remaining - 1, computationLeft);
+					computationLeft -= computation;
+					int operationStall = remaining - computation;
+					classPeriods.get(kind * ACCESS_CLASS_NUMBER + getAccessClass(r, w))
+							.add(new int[] { r, w, computation, remainingBudget,
+									kind == READ_STALL ? operationStall : 0, kind == WRITE_STALL ? operationStall : 0,
+									0 });
+				}
+			}
+			int lastRead = (int) solver.value(lastReadVariable);
+			int lastWrite = (int) solver.value(lastWriteVariable);
+			int lastComputation = (int) solver.value(lastComputationVariable);
+			int lastStall = (int) solver.value(lastStallVariable);
+			classPeriods.get(LAST_CLASS).add(new int[] { lastRead, lastWrite, lastComputation, lastStall, 0, 0,
+					regulationPeriod - lastRead * readLatency - lastWrite * writeLatency - lastComputation
+							- lastStall });
+
+			long[][] successorCounts = new long[STALLED_CLASS_NUMBER][CLASS_NUMBER];
+			for (int c = 0; c < STALLED_CLASS_NUMBER; c++) {
+				for (int d = 0; d < CLASS_NUMBER; d++) {
+					successorCounts[c][d] = successorVariables[c][d] == null ? 0
+							: solver.value(successorVariables[c][d]);
+				}
+			}
+			List<int[]> periods = orderPeriods(classPeriods, successorCounts);
+
+			// Write solution
+			long totalStall = solver.value(maximizationExpr);
+			SolutionBuilder builder = new SolutionBuilder(processorNumber);
+			boolean lastPeriodReadStall = false;
+			boolean lastPeriodWriteStall = false;
+			for (int i = 0; i < periods.size(); i++) {
+				int[] period = periods.get(i);
+				int readAccesses = period[READ];
+				int writeAccesses = period[WRITE];
+				int stall = period[STALL];
+				int unitsPerPeriod = readAccesses * readLatency + writeAccesses * writeLatency + period[COMPUTATION]
+						+ stall + period[READ_STALL_VALUE] + period[WRITE_STALL_VALUE] + period[VOID];
+				if (unitsPerPeriod != regulationPeriod) {
+					System.err.println("Period %d has a wrong nomber of units in it (expected %d but got %d)"
+							.formatted(i + 1, regulationPeriod, unitsPerPeriod));
+				}
+
+				if (period[VOID] == regulationPeriod) {
+					break;
+				}
+
+				if (verbose) {
+					System.out.println();
+					System.out.println("Period %d".formatted(i + 1));
+					System.out.println("Read accesses: %d".formatted(readAccesses));
+					System.out.println("Write accesses: %d".formatted(writeAccesses));
+					System.out.println("Computation performed: %d".formatted(period[COMPUTATION]));
+					System.out.println("Inter-processor stall: %d".formatted(stall));
+					System.out.println("Read stall: %d".formatted(period[READ_STALL_VALUE]));
+					System.out.println("Write stall: %d".formatted(period[WRITE_STALL_VALUE]));
+					System.out.println("Void accesses: %d".formatted(period[VOID]));
+				}
+
+				// Add an item with 0 length to begin
+				builder.addBeginPeriod();
+
+				// If read stall before, start with a read
+				if (lastPeriodReadStall) {
+					stall = addRead(builder, interferenceProcessorNumber, stall, readLatency, writeLatency);
+					readAccesses--;
+				}
+
+				// If write stall before, start with a write
+				if (lastPeriodWriteStall) {
+					stall = addWrite(builder, interferenceProcessorNumber, stall, writeLatency);
+					writeAccesses--;
+				}
+
+				for (int r = 0; r < readAccesses; r++) {
+					stall = addRead(builder, interferenceProcessorNumber, stall, readLatency, writeLatency);
+				}
+				for (int w = 0; w < writeAccesses; w++) {
+					stall = addWrite(builder, interferenceProcessorNumber, stall, writeLatency);
+				}
+
+				builder.addComputation(period[COMPUTATION], 0, true);
+				builder.addStall(stall, 0, true);
+				builder.addStall(period[READ_STALL_VALUE], 0, true);
+				builder.addStall(period[WRITE_STALL_VALUE], 0, true);
+				builder.addVoid(period[VOID]);
+				builder.addEndPeriod();
+
+				// Add write latency - 1 to complete the period
+				builder.addStall(overhead, 0, true);
+
+				lastPeriodReadStall = period[READ_STALL_VALUE] > 0;
+				lastPeriodWriteStall = period[WRITE_STALL_VALUE] > 0;
+			}
+
+			if (verbose) {
+				System.out.println();
+				System.out.println("Total stall: %d".formatted(totalStall));
+			}
+
+			solution = builder.build(SolutionStatus.valueOf(status.toString()));
+			solution.setTotalStall(totalStall);
+			solution.setStallBound(getStallBound(solver));
+			solution.setScheduleHint(new ScheduleHint(processorNumber, readLatency, writeLatency, regulationPeriod,
+					budget, readCost, writeCost, computationCost, totalStall, getValues(periods, READ),
+					getValues(periods, WRITE), getValues(periods, COMPUTATION), getValues(periods, STALL),
+					getValues(periods, READ_STALL_VALUE), getValues(periods, WRITE_STALL_VALUE),
+					getValues(periods, VOID)));
+		} else {
+			if (verbose) {
+				System.err.println("Something is wrong with the model: " + status);
+			}
+			solution = new Solution(getUnsolvedStatus(status));
+		}
+
+		if (verbose) {
+			System.out.println("Problem solved in %.4f seconds".formatted(solver.wallTime()));
+		}
+		solution.setSolvingTime(solver.wallTime());
+		solution.setBuildingTime(buildingTime);
+		solution.setModelSize(model.getBuilder().getVariablesCount(), model.getBuilder().getConstraintsCount());
+		solution.setSearchEffort(solver.numBranches(), solver.numConflicts());
+
+		return solution;
+	}
+
+	/*
+	 * Maximum number of periods of a pattern, limited by the accesses and the
+	 * computation of the task
+	 */
+	private static int getMaxCount(int maxPeriodNumber, int reads, int writes, int computation,
+			int readAccessNumber, int writeAccessNumber, int computationCost) {
+		int maxCount = maxPeriodNumber;
+		if (reads > 0) {
+			maxCount = Math.min(maxCount, readAccessNumber / reads);
+		}
+		if (writes > 0) {
+			maxCount = Math.min(maxCount, writeAccessNumber / writes);
+		}
+		if (computation > 0) {
+			maxCount = Math.min(maxCount, computationCost / computation);
+		}
+
+		return maxCount;
+	}
+
+	private static int getAccessClass(int reads, int writes) {
+		return (reads > 0 ? HAS_READ : 0) | (writes > 0 ? HAS_WRITE : 0);
+	}
+
+	private static int getClassAccesses(int periodClass) {
+		return periodClass < FULL_CLASS_OFFSET ? periodClass % ACCESS_CLASS_NUMBER
+				: (periodClass - FULL_CLASS_OFFSET) % ACCESS_CLASS_NUMBER;
+	}
+
+	/*
+	 * Orders the periods so that each period with operation stall is followed by
+	 * a period of the class chosen by the model, the last period staying last.
+	 * Successors are first given class by class, which can create cycles of
+	 * periods with operation stall. A cycle is broken by exchanging the successor
+	 * of one of its periods with the one of another period of the same class
+	 * outside of the cycle, which always exists since each class reaches a class
+	 * without operation stall.
+	 */
+	private static List<int[]> orderPeriods(List<List<int[]>> classPeriods, long[][] successorCounts) {
+		List<int[]> periods = new ArrayList<int[]>();
+		List<Integer> periodClasses = new ArrayList<Integer>();
+		int[] classStarts = new int[CLASS_NUMBER + 1];
+		for (int c = 0; c < CLASS_NUMBER; c++) {
+			classStarts[c] = periods.size();
+			for (int[] period : classPeriods.get(c)) {
+				periods.add(period);
+				periodClasses.add(c);
+			}
+		}
+		classStarts[CLASS_NUMBER] = periods.size();
+
+		// Give successors class by class
+		int periodNumber = periods.size();
+		int[] successors = new int[periodNumber];
+		Arrays.fill(successors, -1);
+		int[] nextFree = Arrays.copyOf(classStarts, CLASS_NUMBER);
+		for (int c = 0; c < STALLED_CLASS_NUMBER; c++) {
+			int period = classStarts[c];
+			for (int d = 0; d < CLASS_NUMBER; d++) {
+				for (long i = 0; i < successorCounts[c][d]; i++) {
+					successors[period++] = nextFree[d]++;
+				}
+			}
+		}
+
+		// Break cycles
+		int[] cycle;
+		while ((cycle = findCycle(successors)) != null) {
+			boolean[] inCycle = new boolean[periodNumber];
+			for (int period : cycle) {
+				inCycle[period] = true;
+			}
+
+			boolean broken = false;
+			for (int i = 0; i < cycle.length && !broken; i++) {
+				int periodClass = periodClasses.get(cycle[i]);
+				for (int other = classStarts[periodClass]; other < classStarts[periodClass + 1]; other++) {
+					if (!inCycle[other]) {
+						int successor = successors[cycle[i]];
+						successors[cycle[i]] = successors[other];
+						successors[other] = successor;
+						broken = true;
+						break;
+					}
+				}
+			}
+
+			if (!broken) {
+				throw new IllegalStateException("Periods with operation stall cannot be ordered");
+			}
+		}
+
+		// Follow the chains from periods without predecessor, the last chain at the
+		// end
+		boolean[] hasPredecessor = new boolean[periodNumber];
+		for (int successor : successors) {
+			if (successor >= 0) {
+				hasPredecessor[successor] = true;
+			}
+		}
+
+		List<int[]> orderedPeriods = new ArrayList<int[]>();
+		List<int[]> lastChain = new ArrayList<int[]>();
+		for (int head = 0; head < periodNumber; head++) {
+			if (hasPredecessor[head]) {
+				continue;
+			}
+
+			List<int[]> chain = new ArrayList<int[]>();
+			int period = head;
+			boolean last = false;
+			while (period >= 0) {
+				chain.add(periods.get(period));
+				last |= periodClasses.get(period) == LAST_CLASS;
+				period = successors[period];
+			}
+
+			if (last) {
+				lastChain = chain;
+			} else {
+				orderedPeriods.addAll(chain);
+			}
+		}
+		orderedPeriods.addAll(lastChain);
+
+		return orderedPeriods;
+	}
+
+	// Returns the periods of a cycle of successors, or null if there is none
+	private static int[] findCycle(int[] successors) {
+		int[] states = new int[successors.length];
+		for (int start = 0; start < successors.length; start++) {
+			int period = start;
+			while (period >= 0 && states[period] == 0) {
+				states[period] = start + 1;
+				period = successors[period];
+			}
+
+			// Back on a period visited from this start: cycle
+			if (period >= 0 && states[period] == start + 1) {
+				List<Integer> cycle = new ArrayList<Integer>();
+				int cyclePeriod = period;
+				do {
+					cycle.add(cyclePeriod);
+					cyclePeriod = successors[cyclePeriod];
+				} while (cyclePeriod != period);
+				return cycle.stream().mapToInt(Integer::intValue).toArray();
+			}
+		}
+
+		return null;
+	}
+
+	private static int[] getValues(List<int[]> periods, int value) {
+		int[] values = new int[periods.size()];
+		for (int i = 0; i < periods.size(); i++) {
+			values[i] = periods.get(i)[value];
+		}
+
+		return values;
+	}
+
+	private int addRead(SolutionBuilder builder, int interferenceProcessorNumber, int stall, int readLatency,
+			int writeLatency) {
+		stall -= addInterProcessorStall(builder, interferenceProcessorNumber, stall, writeLatency);
+		builder.addSharedResource(readLatency, 0, true);
+		return stall;
+	}
+
+	private int addWrite(SolutionBuilder builder, int interferenceProcessorNumber, int stall, int writeLatency) {
+		stall -= addInterProcessorStall(builder, interferenceProcessorNumber, stall, writeLatency);
+		builder.addSharedResource(writeLatency, 0, true);
+		return stall;
+	}
+
+	// Returns the number of stall unit put
+	private int addInterProcessorStall(SolutionBuilder builder, int interferenceProcessorNumber, int remainingStall,
+			int writeLatency) {
+		int totalStall = 0;
+		if (remainingStall != 0) {
+			int stall = Math.min(interferenceProcessorNumber * writeLatency, remainingStall);
+			totalStall = stall;
+
+			for (int i = 0; i < interferenceProcessorNumber; i++) {
+				// If no stall remaining, exit
+				if (stall == 0) {
+					break;
+				}
+
+				// Else use at most write latency stall unit
+				int placedStall = Math.min(writeLatency, stall);
+				stall -= placedStall;
+				builder.addSharedResource(placedStall, i + 1, true);
+			}
+		}
+
+		return totalStall;
+	}
+
+}
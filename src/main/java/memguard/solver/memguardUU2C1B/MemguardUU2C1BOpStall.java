@@ -5,6 +5,7 @@ import com.google.ortools.sat.CpModel;
 import com.google.ortools.sat.CpSolver;
 import com.google.ortools.sat.CpSolverStatus;
 import com.google.ortools.sat.IntVar;
+import com.google.ortools.sat.LinearArgument;
 import com.google.ortools.sat.LinearExpr;
 import com.google.ortools.sat.LinearExprBuilder;
 import com.google.ortools.sat.Literal;
@@ -15,10 +16,16 @@ import memguard.logic.Task;
 import memguard.solution.Solution;
 import memguard.solution.SolutionBuilder;
 import memguard.solution.SolutionStatus;
+import memguard.solver.HorizonPlanner;
 import memguard.solver.MemguardSolver;
+import memguard.solver.NormalizedSolver;
+import memguard.solver.ScalableSolver;
+import memguard.solver.ScheduleHint;
 import memguard.solver.Solver;
+import memguard.solver.StallBounds;
+import memguard.solver.SymmetryBreaking;
 
-public class MemguardUU2C1BOpStall extends MemguardSolver {
+public class MemguardUU2C1BOpStall extends MemguardSolver implements ScalableSolver {
 
 	private int overhead;
 
@@ -38,6 +45,16 @@ public class MemguardUU2C1BOpStall extends MemguardSolver {
 		this(system, system.getWriteLatency() - 1);
 	}
 
+	@Override
+	public int getTimeUnit() {
+		return NormalizedSolver.getTimeUnit((MemguardRWSystem) system, overhead);
+	}
+
+	@Override
+	public MemguardSolver createScaledSolver(int timeUnit) {
+		return new MemguardUU2C1BOpStall(NormalizedSolver.divide((MemguardRWSystem) system, timeUnit, overhead), 0);
+	}
+
 	@Override
 	public Solution solve(boolean verbose) {
 		// Extract task
@@ -49,6 +66,69 @@ public class MemguardUU2C1BOpStall extends MemguardSolver {
 			System.exit(0);
 		}
 
+		// Choose the number of periods
+		MemguardRWSystem rwsystem = (MemguardRWSystem) system;
+		ReadWriteTask rwtask = (ReadWriteTask) task;
+		int budget = rwsystem.getBudget(0);
+		int writeLatency = rwsystem.getWriteLatency();
+		int regulationPeriod = rwsystem.getRegulationPeriod() - overhead;
+		int memoryCost = rwtask.getReadCost() + rwtask.getWriteCost();
+		int computationCost = rwtask.getComputationCost();
+		int accessNumber = rwtask.getReadCost() / rwsystem.getReadLatency() + rwtask.getWriteCost() / writeLatency;
+		int maxPeriodNumber = HorizonPlanner.getMaxPeriodNumber(regulationPeriod, budget, writeLatency, accessNumber,
+				memoryCost, computationCost);
+
+		// Skip the solve when the greedy schedule is proven optimal
+		if (isHeuristicBounds()) {
+			long buildingStart = System.nanoTime();
+			StallBounds bounds = createBounds(maxPeriodNumber);
+			if (bounds.isTight()) {
+				return solveFromBounds(verbose, bounds, buildingStart);
+			}
+		}
+
+		if (!isAdaptiveHorizon()) {
+			return solve(verbose, maxPeriodNumber, false, hint, isHeuristicBounds());
+		}
+
+		// Only keep periods where a schedule can still be running
+		long planningStart = System.nanoTime();
+		int minPeriodNumber = HorizonPlanner.getMinPeriodNumber(regulationPeriod, budget, memoryCost,
+				computationCost);
+		int periodNumber = HorizonPlanner.plan(minPeriodNumber, maxPeriodNumber,
+				horizon -> solve(false, horizon, true, null, false).getStatus() != SolutionStatus.UNFEASIBLE);
+		double planningTime = (System.nanoTime() - planningStart) / 1e9;
+		if (verbose) {
+			System.out.println("Horizon reduced from %d to %d periods in %.4f seconds".formatted(maxPeriodNumber,
+					periodNumber, planningTime));
+		}
+
+		Solution solution = solve(verbose, periodNumber, false, hint, isHeuristicBounds());
+		solution.setBuildingTime(solution.getBuildingTime() + planningTime);
+		return solution;
+	}
+
+	/**
+	 * Builds and solves the model with the specified number of periods. In prefix
+	 * mode, the task must not be finished at the end of the last period, which is
+	 * then not the last period of the schedule: the returned solution has no item
+	 * and is UNFEASIBLE only if it is proven that no schedule has work left after
+	 * the specified number of periods.
+	 * 
+	 * @param verbose         true to print the model and the solution.
+	 * @param maxPeriodNumber the number of periods of the model.
+	 * @param prefix          true to only check that a schedule can run longer.
+	 * @param hint            the hint of the solve, or null.
+	 * @param useBounds       true to cut the objective with the heuristic bounds.
+	 * @return the solution of the model.
+	 */
+	private Solution solve(boolean verbose, int maxPeriodNumber, boolean prefix, ScheduleHint hint,
+			boolean useBounds) {
+		long buildingStart = System.nanoTime();
+
+		// Extract task
+		Task task = system.getProcessor(0).getTask(0);
+
 		if (verbose) {
 			System.out.println("Extracting data from system...");
 		}
@@ -72,8 +152,6 @@ public class MemguardUU2C1BOpStall extends MemguardSolver {
 		int writeAccessNumber = writeCost / writeLatency;
 		int maxReadPerPeriod = Math.floorDiv(budget, readLatency);
 		int maxWritePerPeriod = Math.floorDiv(budget, writeLatency);
-		int maxPeriodNumber = Math.ceilDiv(readCost + writeCost + computationCost, budget - writeLatency + 1);
-//		maxPeriodNumber = 70;
 
 		if (verbose) {
 			System.out.println("Important system variables:");
@@ -101,7 +179,7 @@ public class MemguardUU2C1BOpStall extends MemguardSolver {
 			System.out.println("Creating model...");
 		}
 		// Build model
-		CpModel model = new CpModel();
+		CpModel model = createModel();
 
 		// Create integer variables
 		IntVar[] readAccessVariables = new IntVar[maxPeriodNumber];
@@ -169,138 +247,223 @@ public class MemguardUU2C1BOpStall extends MemguardSolver {
 			writeStallVariables[i] = writeStall;
 		}
 
+		// Accesses done up to each period
+		LinearArgument[] readSums = createPrefixSums(model, readAccessVariables, readLatency, readCost, "r_sum");
+		LinearArgument[] writeSums = createPrefixSums(model, writeAccessVariables, writeLatency, writeCost, "w_sum");
+		LinearArgument[] computationSums = createPrefixSums(model, computationAccessVariables, 1, computationCost,
+				"e_sum");
+
 		// Define boolean variables (note that must have both yes and no constraints per
 		// variable)
-		for (int i = 0; i < maxPeriodNumber; i++) {
-			// Check if more accesses than possible interference
-			BoolVar moreAccessThanPossibleStall = model.newBoolVar("more_access_%d".formatted(i + 1));
-			LinearExpr memoryAccessesExpr = LinearExpr.newBuilder().add(readAccessVariables[i])
-					.add(writeAccessVariables[i]).build();
-			model.addGreaterOrEqual(memoryAccessesExpr, maxInterferenceAccess)
-					.onlyEnforceIf(moreAccessThanPossibleStall);
-			model.addLessThan(memoryAccessesExpr, maxInterferenceAccess)
-					.onlyEnforceIf(moreAccessThanPossibleStall.not());
-			moreAccessThanPossibleStallVariables[i] = moreAccessThanPossibleStall;
-
-			// Void values
-			BoolVar voidAccessGreaterZero = model.newBoolVar("v_%d_gt0".formatted(i + 1));
-			model.addDifferent(voidAccessVariables[i], 0).onlyEnforceIf(voidAccessGreaterZero);
-			model.addEquality(voidAccessVariables[i], 0).onlyEnforceIf(voidAccessGreaterZero.not());
-			voidAccessGreaterZeroVariables[i] = voidAccessGreaterZero;
-
-			// Budget finished in the period
-			BoolVar budgetFinished = model.newBoolVar("Q_%d_finished".formatted(i + 1));
-			LinearExpr budgetUsedExpr = LinearExpr.newBuilder().addTerm(readAccessVariables[i], readLatency)
-					.addTerm(writeAccessVariables[i], writeLatency).build();
-			model.addEquality(budgetUsedExpr, budget).onlyEnforceIf(budgetFinished);
-			model.addDifferent(budgetUsedExpr, budget).onlyEnforceIf(budgetFinished.not());
-			budgetFinishedVariables[i] = budgetFinished;
-
-			// Budget not enough for a read
-			BoolVar budgetNotEnoughRead = model.newBoolVar("budget_not_enough_read_%d".formatted(i + 1));
-			model.addLessThan(remainingBudgetVariables[i], readLatency).onlyEnforceIf(budgetNotEnoughRead);
-			model.addGreaterOrEqual(remainingBudgetVariables[i], readLatency).onlyEnforceIf(budgetNotEnoughRead.not());
-			budgetNotEnoughReadVariables[i] = budgetNotEnoughRead;
-
-			// Budget not enough for a write
-			BoolVar budgetNotEnoughWrite = model.newBoolVar("budget_not_enough_write_%d".formatted(i + 1));
-			model.addLessThan(remainingBudgetVariables[i], writeLatency).onlyEnforceIf(budgetNotEnoughWrite);
-			model.addGreaterOrEqual(remainingBudgetVariables[i], writeLatency)
-					.onlyEnforceIf(budgetNotEnoughWrite.not());
-			budgetNotEnoughWriteVariables[i] = budgetNotEnoughWrite;
-
-			// Read variables
-			BoolVar readAccessFinished = model.newBoolVar("r_%d_finished".formatted(i + 1));
-			LinearExprBuilder readBuilder = LinearExpr.newBuilder();
-			for (int j = 0; j <= i; j++) {
-				readBuilder.addTerm(readAccessVariables[j], readLatency);
-			}
-			LinearExpr readExpr = readBuilder.build();
-			model.addEquality(readExpr, readCost).onlyEnforceIf(readAccessFinished);
-			model.addDifferent(readExpr, readCost).onlyEnforceIf(readAccessFinished.not());
-			readFinishedVariables[i] = readAccessFinished;
-
-			// Write variables
-			BoolVar writeAccessFinished = model.newBoolVar("w_%d_finished".formatted(i + 1));
-			LinearExprBuilder writeBuilder = LinearExpr.newBuilder();
-			for (int j = 0; j <= i; j++) {
-				writeBuilder.addTerm(writeAccessVariables[j], writeLatency);
-			}
-			LinearExpr writeExpr = writeBuilder.build();
-			model.addEquality(writeExpr, writeCost).onlyEnforceIf(writeAccessFinished);
-			model.addDifferent(writeExpr, writeCost).onlyEnforceIf(writeAccessFinished.not());
-			writeFinishedVariables[i] = writeAccessFinished;
-
-			// Read in period
-			BoolVar readInPeriod = model.newBoolVar("r_present_%d".formatted(i + 1));
-			model.addDifferent(readAccessVariables[i], 0).onlyEnforceIf(readInPeriod);
-			model.addEquality(readAccessVariables[i], 0).onlyEnforceIf(readInPeriod.not());
-			readInPeriodVariables[i] = readInPeriod;
-
-			// Write in period
-			BoolVar writeInPeriod = model.newBoolVar("w_present_%d".formatted(i + 1));
-			model.addDifferent(writeAccessVariables[i], 0).onlyEnforceIf(writeInPeriod);
-			model.addEquality(writeAccessVariables[i], 0).onlyEnforceIf(writeInPeriod.not());
-			writeInPeriodVariables[i] = writeInPeriod;
-
-			// Computation variables
-			BoolVar computationAccessFinished = model.newBoolVar("e_%d_finished".formatted(i + 1));
-			LinearExprBuilder computationBuilder = LinearExpr.newBuilder();
-			for (int j = 0; j <= i; j++) {
-				computationBuilder.add(computationAccessVariables[j]);
-			}
-			LinearExpr computationExpr = computationBuilder.build();
-			model.addEquality(computationExpr, computationCost).onlyEnforceIf(computationAccessFinished);
-			model.addDifferent(computationExpr, computationCost).onlyEnforceIf(computationAccessFinished.not());
-			computationFinishedVariables[i] = computationAccessFinished;
-
-			// Read stall greater than 0
-			BoolVar readStallGreaterZero = model.newBoolVar("read_stall_%d".formatted(i + 1));
-			if (i != maxPeriodNumber - 1) {
-				model.addDifferent(readStallVariables[i], 0).onlyEnforceIf(readStallGreaterZero);
-				model.addEquality(readStallVariables[i], 0).onlyEnforceIf(readStallGreaterZero.not());
-			} else {
-				model.addBoolAnd(new Literal[] { readStallGreaterZero.not() });
+		if (isLeanEncoding()) {
+			for (int i = 0; i < maxPeriodNumber; i++) {
+				// Check if more accesses than possible interference
+				BoolVar moreAccessThanPossibleStall = model.newBoolVar("more_access_%d".formatted(i + 1));
+				LinearExpr memoryAccessesExpr = LinearExpr.newBuilder().add(readAccessVariables[i])
+						.add(writeAccessVariables[i]).build();
+				addThresholdLiteral(model, moreAccessThanPossibleStall, memoryAccessesExpr, maxInterferenceAccess,
+						maxReadPerPeriod + maxWritePerPeriod);
+				moreAccessThanPossibleStallVariables[i] = moreAccessThanPossibleStall;
+
+				// Void values
+				BoolVar voidAccessGreaterZero = model.newBoolVar("v_%d_gt0".formatted(i + 1));
+				addThresholdLiteral(model, voidAccessGreaterZero, voidAccessVariables[i], 1, regulationPeriod);
+				voidAccessGreaterZeroVariables[i] = voidAccessGreaterZero;
+
+				// Budget finished, not enough for a read, not enough for a write (the used
+				// budget is at most the budget)
+				LinearExpr budgetUsedExpr = LinearExpr.newBuilder().addTerm(readAccessVariables[i], readLatency)
+						.addTerm(writeAccessVariables[i], writeLatency).build();
+				BoolVar budgetFinished = model.newBoolVar("Q_%d_finished".formatted(i + 1));
+				addThresholdLiteral(model, budgetFinished, budgetUsedExpr, budget, budget);
+				budgetFinishedVariables[i] = budgetFinished;
+
+				BoolVar budgetNotEnoughRead = model.newBoolVar("budget_not_enough_read_%d".formatted(i + 1));
+				addThresholdLiteral(model, budgetNotEnoughRead, budgetUsedExpr, budget - readLatency + 1, budget);
+				budgetNotEnoughReadVariables[i] = budgetNotEnoughRead;
+
+				BoolVar budgetNotEnoughWrite = model.newBoolVar("budget_not_enough_write_%d".formatted(i + 1));
+				addThresholdLiteral(model, budgetNotEnoughWrite, budgetUsedExpr, budget - writeLatency + 1, budget);
+				budgetNotEnoughWriteVariables[i] = budgetNotEnoughWrite;
+
+				// Read, write and computation finished (sums are at most the costs)
+				BoolVar readAccessFinished = model.newBoolVar("r_%d_finished".formatted(i + 1));
+				addThresholdLiteral(model, readAccessFinished, readSums[i], readCost, readCost);
+				readFinishedVariables[i] = readAccessFinished;
+
+				BoolVar writeAccessFinished = model.newBoolVar("w_%d_finished".formatted(i + 1));
+				addThresholdLiteral(model, writeAccessFinished, writeSums[i], writeCost, writeCost);
+				writeFinishedVariables[i] = writeAccessFinished;
+
+				BoolVar computationAccessFinished = model.newBoolVar("e_%d_finished".formatted(i + 1));
+				addThresholdLiteral(model, computationAccessFinished, computationSums[i], computationCost,
+						computationCost);
+				computationFinishedVariables[i] = computationAccessFinished;
+
+				// Read and write in period
+				BoolVar readInPeriod = model.newBoolVar("r_present_%d".formatted(i + 1));
+				addThresholdLiteral(model, readInPeriod, readAccessVariables[i], 1, maxReadPerPeriod);
+				readInPeriodVariables[i] = readInPeriod;
+
+				BoolVar writeInPeriod = model.newBoolVar("w_present_%d".formatted(i + 1));
+				addThresholdLiteral(model, writeInPeriod, writeAccessVariables[i], 1, maxWritePerPeriod);
+				writeInPeriodVariables[i] = writeInPeriod;
+
+				// Read and write stall greater than 0
+				BoolVar readStallGreaterZero = model.newBoolVar("read_stall_%d".formatted(i + 1));
+				BoolVar writeStallGreaterZero = model.newBoolVar("write_stall_%d".formatted(i + 1));
+				if (prefix || i != maxPeriodNumber - 1) {
+					addThresholdLiteral(model, readStallGreaterZero, readStallVariables[i], 1, readLatency - 1);
+					addThresholdLiteral(model, writeStallGreaterZero, writeStallVariables[i], 1, writeLatency - 1);
+				} else {
+					model.addBoolAnd(new Literal[] { readStallGreaterZero.not(), writeStallGreaterZero.not() });
+				}
+				readStallGreaterZeroVariables[i] = readStallGreaterZero;
+				writeStallGreaterZeroVariables[i] = writeStallGreaterZero;
+
+				// Max stall required when any of its reasons is
+				BoolVar maxStallReq = model.newBoolVar("max_stall_%d".formatted(i + 1));
+				model.addMaxEquality(maxStallReq, new LinearArgument[] { readStallGreaterZero, writeStallGreaterZero,
+						budgetFinished, moreAccessThanPossibleStall });
+				maxStallVariables[i] = maxStallReq;
+
+				// The period is filled without void when it has no void (units of a period
+				// always sum to the period)
+				BoolVar periodFilledNoVoid = model.newBoolVar("period_filled_no_void_%d".formatted(i + 1));
+				model.addExactlyOne(new Literal[] { periodFilledNoVoid, voidAccessGreaterZero });
+				periodFilledNoVoidVariables[i] = periodFilledNoVoid;
+
+				// The period is filled without operation stall when it has no void and no
+				// operation stall
+				BoolVar periodFilledNoOperationStall = model
+						.newBoolVar("period_filled_no_op_stall_%d".formatted(i + 1));
+				model.addImplication(periodFilledNoOperationStall, voidAccessGreaterZero.not());
+				model.addImplication(periodFilledNoOperationStall, readStallGreaterZero.not());
+				model.addImplication(periodFilledNoOperationStall, writeStallGreaterZero.not());
+				model.addBoolOr(new Literal[] { periodFilledNoOperationStall, voidAccessGreaterZero,
+						readStallGreaterZero, writeStallGreaterZero });
+				periodFilledNoOperationStallVariables[i] = periodFilledNoOperationStall;
 			}
-			readStallGreaterZeroVariables[i] = readStallGreaterZero;
-
-			// Write stall greater than 0
-			BoolVar writeStallGreaterZero = model.newBoolVar("write_stall_%d".formatted(i + 1));
-			if (i != maxPeriodNumber - 1) {
-				model.addDifferent(writeStallVariables[i], 0).onlyEnforceIf(writeStallGreaterZero);
-				model.addEquality(writeStallVariables[i], 0).onlyEnforceIf(writeStallGreaterZero.not());
-			} else {
-				model.addBoolAnd(new Literal[] { writeStallGreaterZero.not() });
+		} else {
+			for (int i = 0; i < maxPeriodNumber; i++) {
+				// Check if more accesses than possible interference
+				BoolVar moreAccessThanPossibleStall = model.newBoolVar("more_access_%d".formatted(i + 1));
+				LinearExpr memoryAccessesExpr = LinearExpr.newBuilder().add(readAccessVariables[i])
+						.add(writeAccessVariables[i]).build();
+				model.addGreaterOrEqual(memoryAccessesExpr, maxInterferenceAccess)
+						.onlyEnforceIf(moreAccessThanPossibleStall);
+				model.addLessThan(memoryAccessesExpr, maxInterferenceAccess)
+						.onlyEnforceIf(moreAccessThanPossibleStall.not());
+				moreAccessThanPossibleStallVariables[i] = moreAccessThanPossibleStall;
+
+				// Void values
+				BoolVar voidAccessGreaterZero = model.newBoolVar("v_%d_gt0".formatted(i + 1));
+				model.addDifferent(voidAccessVariables[i], 0).onlyEnforceIf(voidAccessGreaterZero);
+				model.addEquality(voidAccessVariables[i], 0).onlyEnforceIf(voidAccessGreaterZero.not());
+				voidAccessGreaterZeroVariables[i] = voidAccessGreaterZero;
+
+				// Budget finished in the period
+				BoolVar budgetFinished = model.newBoolVar("Q_%d_finished".formatted(i + 1));
+				LinearExpr budgetUsedExpr = LinearExpr.newBuilder().addTerm(readAccessVariables[i], readLatency)
+						.addTerm(writeAccessVariables[i], writeLatency).build();
+				model.addEquality(budgetUsedExpr, budget).onlyEnforceIf(budgetFinished);
+				model.addDifferent(budgetUsedExpr, budget).onlyEnforceIf(budgetFinished.not());
+				budgetFinishedVariables[i] = budgetFinished;
+
+				// Budget not enough for a read
+				BoolVar budgetNotEnoughRead = model.newBoolVar("budget_not_enough_read_%d".formatted(i + 1));
+				model.addLessThan(remainingBudgetVariables[i], readLatency).onlyEnforceIf(budgetNotEnoughRead);
+				model.addGreaterOrEqual(remainingBudgetVariables[i], readLatency).onlyEnforceIf(budgetNotEnoughRead.not());
+				budgetNotEnoughReadVariables[i] = budgetNotEnoughRead;
+
+				// Budget not enough for a write
+				BoolVar budgetNotEnoughWrite = model.newBoolVar("budget_not_enough_write_%d".formatted(i + 1));
+				model.addLessThan(remainingBudgetVariables[i], writeLatency).onlyEnforceIf(budgetNotEnoughWrite);
+				model.addGreaterOrEqual(remainingBudgetVariables[i], writeLatency)
+						.onlyEnforceIf(budgetNotEnoughWrite.not());
+				budgetNotEnoughWriteVariables[i] = budgetNotEnoughWrite;
+
+				// Read variables
+				BoolVar readAccessFinished = model.newBoolVar("r_%d_finished".formatted(i + 1));
+				LinearArgument readExpr = readSums[i];
+				model.addEquality(readExpr, readCost).onlyEnforceIf(readAccessFinished);
+				model.addDifferent(readExpr, readCost).onlyEnforceIf(readAccessFinished.not());
+				readFinishedVariables[i] = readAccessFinished;
+
+				// Write variables
+				BoolVar writeAccessFinished = model.newBoolVar("w_%d_finished".formatted(i + 1));
+				LinearArgument writeExpr = writeSums[i];
+				model.addEquality(writeExpr, writeCost).onlyEnforceIf(writeAccessFinished);
+				model.addDifferent(writeExpr, writeCost).onlyEnforceIf(writeAccessFinished.not());
+				writeFinishedVariables[i] = writeAccessFinished;
+
+				// Read in period
+				BoolVar readInPeriod = model.newBoolVar("r_present_%d".formatted(i + 1));
+				model.addDifferent(readAccessVariables[i], 0).onlyEnforceIf(readInPeriod);
+				model.addEquality(readAccessVariables[i], 0).onlyEnforceIf(readInPeriod.not());
+				readInPeriodVariables[i] = readInPeriod;
+
+				// Write in period
+				BoolVar writeInPeriod = model.newBoolVar("w_present_%d".formatted(i + 1));
+				model.addDifferent(writeAccessVariables[i], 0).onlyEnforceIf(writeInPeriod);
+				model.addEquality(writeAccessVariables[i], 0).onlyEnforceIf(writeInPeriod.not());
+				writeInPeriodVariables[i] = writeInPeriod;
+
+				// Computation variables
+				BoolVar computationAccessFinished = model.newBoolVar("e_%d_finished".formatted(i + 1));
+				LinearArgument computationExpr = computationSums[i];
+				model.addEquality(computationExpr, computationCost).onlyEnforceIf(computationAccessFinished);
+				model.addDifferent(computationExpr, computationCost).onlyEnforceIf(computationAccessFinished.not());
+				computationFinishedVariables[i] = computationAccessFinished;
+
+				// Read stall greater than 0
+				BoolVar readStallGreaterZero = model.newBoolVar("read_stall_%d".formatted(i + 1));
+				if (prefix || i != maxPeriodNumber - 1) {
+					model.addDifferent(readStallVariables[i], 0).onlyEnforceIf(readStallGreaterZero);
+					model.addEquality(readStallVariables[i], 0).onlyEnforceIf(readStallGreaterZero.not());
+				} else {
+					model.addBoolAnd(new Literal[] { readStallGreaterZero.not() });
+				}
+				readStallGreaterZeroVariables[i] = readStallGreaterZero;
+
+				// Write stall greater than 0
+				BoolVar writeStallGreaterZero = model.newBoolVar("write_stall_%d".formatted(i + 1));
+				if (prefix || i != maxPeriodNumber - 1) {
+					model.addDifferent(writeStallVariables[i], 0).onlyEnforceIf(writeStallGreaterZero);
+					model.addEquality(writeStallVariables[i], 0).onlyEnforceIf(writeStallGreaterZero.not());
+				} else {
+					model.addBoolAnd(new Literal[] { writeStallGreaterZero.not() });
+				}
+				writeStallGreaterZeroVariables[i] = writeStallGreaterZero;
+
+				// Max stall required
+				BoolVar maxStallReq = model.newBoolVar("max_stall_%d".formatted(i + 1));
+				model.addBoolOr(new Literal[] { readStallGreaterZero, writeStallGreaterZero, budgetFinished,
+						moreAccessThanPossibleStall }).onlyEnforceIf(maxStallReq);
+				model.addBoolAnd(new Literal[] { readStallGreaterZero.not(), writeStallGreaterZero.not(),
+						budgetFinished.not(), moreAccessThanPossibleStall.not() }).onlyEnforceIf(maxStallReq.not());
+				maxStallVariables[i] = maxStallReq;
+
+				// Check if period is filled without void
+				BoolVar periodFilledNoVoid = model.newBoolVar("period_filled_no_void_%d".formatted(i + 1));
+				LinearExpr accessesNoVoidExpr = LinearExpr.newBuilder().addTerm(readAccessVariables[i], readLatency)
+						.addTerm(writeAccessVariables[i], writeLatency).add(computationAccessVariables[i])
+						.add(stallVariables[i]).add(readStallVariables[i]).add(writeStallVariables[i]).build();
+				model.addEquality(accessesNoVoidExpr, regulationPeriod).onlyEnforceIf(periodFilledNoVoid);
+				model.addDifferent(accessesNoVoidExpr, regulationPeriod).onlyEnforceIf(periodFilledNoVoid.not());
+				periodFilledNoVoidVariables[i] = periodFilledNoVoid;
+
+				// Check if period is filled without operation stall
+				BoolVar periodFilledNoOperationStall = model.newBoolVar("period_filled_no_op_stall_%d".formatted(i + 1));
+				LinearExpr accessesNoStallExpr = LinearExpr.newBuilder().addTerm(readAccessVariables[i], readLatency)
+						.addTerm(writeAccessVariables[i], writeLatency).add(computationAccessVariables[i])
+						.add(stallVariables[i]).build();
+				model.addEquality(accessesNoStallExpr, regulationPeriod).onlyEnforceIf(periodFilledNoOperationStall);
+				model.addDifferent(accessesNoStallExpr, regulationPeriod).onlyEnforceIf(periodFilledNoOperationStall.not());
+				periodFilledNoOperationStallVariables[i] = periodFilledNoOperationStall;
 			}
-			writeStallGreaterZeroVariables[i] = writeStallGreaterZero;
-
-			// Max stall required
-			BoolVar maxStallReq = model.newBoolVar("max_stall_%d".formatted(i + 1));
-			model.addBoolOr(new Literal[] { readStallGreaterZero, writeStallGreaterZero, budgetFinished,
-					moreAccessThanPossibleStall }).onlyEnforceIf(maxStallReq);
-			model.addBoolAnd(new Literal[] { readStallGreaterZero.not(), writeStallGreaterZero.not(),
-					budgetFinished.not(), moreAccessThanPossibleStall.not() }).onlyEnforceIf(maxStallReq.not());
-			maxStallVariables[i] = maxStallReq;
-
-			// Check if period is filled without void
-			BoolVar periodFilledNoVoid = model.newBoolVar("period_filled_no_void_%d".formatted(i + 1));
-			LinearExpr accessesNoVoidExpr = LinearExpr.newBuilder().addTerm(readAccessVariables[i], readLatency)
-					.addTerm(writeAccessVariables[i], writeLatency).add(computationAccessVariables[i])
-					.add(stallVariables[i]).add(readStallVariables[i]).add(writeStallVariables[i]).build();
-			model.addEquality(accessesNoVoidExpr, regulationPeriod).onlyEnforceIf(periodFilledNoVoid);
-			model.addDifferent(accessesNoVoidExpr, regulationPeriod).onlyEnforceIf(periodFilledNoVoid.not());
-			periodFilledNoVoidVariables[i] = periodFilledNoVoid;
-
-			// Check if period is filled without operation stall
-			BoolVar periodFilledNoOperationStall = model.newBoolVar("period_filled_no_op_stall_%d".formatted(i + 1));
-			LinearExpr accessesNoStallExpr = LinearExpr.newBuilder().addTerm(readAccessVariables[i], readLatency)
-					.addTerm(writeAccessVariables[i], writeLatency).add(computationAccessVariables[i])
-					.add(stallVariables[i]).build();
-			model.addEquality(accessesNoStallExpr, regulationPeriod).onlyEnforceIf(periodFilledNoOperationStall);
-			model.addDifferent(accessesNoStallExpr, regulationPeriod).onlyEnforceIf(periodFilledNoOperationStall.not());
-			periodFilledNoOperationStallVariables[i] = periodFilledNoOperationStall;
 		}
-		
+
 		if (Solver.DEBUG) {
 			constraintDebug = model.getBuilder().getConstraintsCount();
 			System.out.println("Constraints to fix booleans: #0 -> #" + (constraintDebug - 1));
@@ -312,7 +475,12 @@ public class MemguardUU2C1BOpStall extends MemguardSolver {
 		for (int i = 0; i < maxPeriodNumber; i++) {
 			maxReadExprBuilder.addTerm(readAccessVariables[i], readLatency).build();
 		}
-		model.addEquality(maxReadExprBuilder.build(), readCost);
+		LinearExpr maxReadExpr = maxReadExprBuilder.build();
+		if (prefix) {
+			model.addLessOrEqual(maxReadExpr, readCost);
+		} else {
+			model.addEquality(maxReadExpr, readCost);
+		}
 		if (Solver.DEBUG) {
 			int newValue = model.getBuilder().getConstraintsCount();
 			System.out.println("Max possible read access constraints: #%d -> #%d".formatted(constraintDebug, newValue));
@@ -324,7 +492,12 @@ public class MemguardUU2C1BOpStall extends MemguardSolver {
 		for (int i = 0; i < maxPeriodNumber; i++) {
 			maxWriteExprBuilder.addTerm(writeAccessVariables[i], writeLatency).build();
 		}
-		model.addEquality(maxWriteExprBuilder.build(), writeCost);
+		LinearExpr maxWriteExpr = maxWriteExprBuilder.build();
+		if (prefix) {
+			model.addLessOrEqual(maxWriteExpr, writeCost);
+		} else {
+			model.addEquality(maxWriteExpr, writeCost);
+		}
 		if (Solver.DEBUG) {
 			int newValue = model.getBuilder().getConstraintsCount();
 			System.out.println("Max possible write access constraints: #%d -> #%d".formatted(constraintDebug, newValue));
@@ -333,13 +506,24 @@ public class MemguardUU2C1BOpStall extends MemguardSolver {
 
 		// Max possible computation
 		LinearExpr maxComputationExpr = LinearExpr.newBuilder().addSum(computationAccessVariables).build();
-		model.addEquality(maxComputationExpr, computationCost);
+		if (prefix) {
+			model.addLessOrEqual(maxComputationExpr, computationCost);
+		} else {
+			model.addEquality(maxComputationExpr, computationCost);
+		}
 		if (Solver.DEBUG) {
 			int newValue = model.getBuilder().getConstraintsCount();
 			System.out.println("Max possible computation constraints: #%d -> #%d".formatted(constraintDebug, newValue));
 			constraintDebug = newValue;
 		}
 
+		// In prefix mode, there is still work after the last period
+		if (prefix) {
+			int lastPeriod = maxPeriodNumber - 1;
+			model.addBoolOr(new Literal[] { readFinishedVariables[lastPeriod].not(),
+					writeFinishedVariables[lastPeriod].not(), computationFinishedVariables[lastPeriod].not() });
+		}
+
 		// Constraint budget per period
 		for (int i = 0; i < maxPeriodNumber; i++) {
 			LinearExpr memoryAccessExpr = LinearExpr.newBuilder().addTerm(readAccessVariables[i], readLatency)
@@ -395,7 +579,7 @@ public class MemguardUU2C1BOpStall extends MemguardSolver {
 						.onlyEnforceIf(new Literal[] { readInPeriodVariables[i + 1],
 								writeStallGreaterZeroVariables[i].not(), periodFilledNoOperationStallVariables[i].not(),
 								budgetNotEnoughReadVariables[i] });
-			} else {
+			} else if (!prefix) {
 				model.addEquality(readStallVariables[i], 0);
 			}
 		}
@@ -417,7 +601,7 @@ public class MemguardUU2C1BOpStall extends MemguardSolver {
 						.onlyEnforceIf(new Literal[] { writeInPeriodVariables[i + 1],
 								readStallGreaterZeroVariables[i].not(), periodFilledNoOperationStallVariables[i].not(),
 								budgetNotEnoughWriteVariables[i] });
-			} else {
+			} else if (!prefix) {
 				model.addEquality(writeStallVariables[i], 0);
 			}
 		}
@@ -458,67 +642,140 @@ public class MemguardUU2C1BOpStall extends MemguardSolver {
 			constraintDebug = newValue;
 		}
 
-		// Symmetry breaking:
-		/*
-		 * Sort per decreasing stall to ensure that the biggest amount of stall is
-		 * generated before using computation tricks. This doesn't remove existing
-		 * solutions since for period i and j, i < j, with period i having 3 stall units
-		 * and period j having 8 stall units, exchange them still gives a valid
-		 * solution.
-		 */
-		for (int i = 0; i < maxPeriodNumber - 1; i++) {
-			LinearExpr stallNowExpr = LinearExpr.newBuilder().add(stallVariables[i]).add(readStallVariables[i])
-					.add(writeStallVariables[i]).build();
-			LinearExpr stallAfterExpr = LinearExpr.newBuilder().add(stallVariables[i + 1])
-					.add(readStallVariables[i + 1]).add(writeStallVariables[i + 1]).build();
+		// Symmetry breaking (the global order is not applied with the lexicographic
+		// order, which only keeps exchanges that are valid):
+		SymmetryBreaking symmetryBreaking = getSymmetryBreaking();
+		if (symmetryBreaking == SymmetryBreaking.ORDERED) {
+			/*
+			 * Sort per decreasing stall to ensure that the biggest amount of stall is
+			 * generated before using computation tricks. This doesn't remove existing
+			 * solutions since for period i and j, i < j, with period i having 3 stall units
+			 * and period j having 8 stall units, exchange them still gives a valid
+			 * solution.
+			 */
+			for (int i = 0; i < maxPeriodNumber - 1; i++) {
+				LinearExpr stallNowExpr = LinearExpr.newBuilder().add(stallVariables[i]).add(readStallVariables[i])
+						.add(writeStallVariables[i]).build();
+				LinearExpr stallAfterExpr = LinearExpr.newBuilder().add(stallVariables[i + 1])
+						.add(readStallVariables[i + 1]).add(writeStallVariables[i + 1]).build();
+
+				model.addGreaterOrEqual(stallNowExpr, stallAfterExpr);
+			}
+			if (Solver.DEBUG) {
+				int newValue = model.getBuilder().getConstraintsCount();
+				System.out.println("Symmetry breaking 1 (decreasing stall): #%d -> #%d".formatted(constraintDebug, newValue));
+				constraintDebug = newValue;
+			}
 
-			model.addGreaterOrEqual(stallNowExpr, stallAfterExpr);
-		}
-		if (Solver.DEBUG) {
-			int newValue = model.getBuilder().getConstraintsCount();
-			System.out.println("Symmetry breaking 1 (decreasing stall): #%d -> #%d".formatted(constraintDebug, newValue));
-			constraintDebug = newValue;
+			/**
+			 * Sort per increasing computation use. This is purely esthetic since it will
+			 * just create an order in the periods. As for sorting stall, reordering by
+			 * computation does not change anything. This must not affect void units since
+			 * they are put only when there is no resource left (so put at the end)
+			 */
+			for (int i = 0; i < maxPeriodNumber - 1; i++) {
+				model.addLessOrEqual(computationAccessVariables[i], computationAccessVariables[i + 1])
+						.onlyEnforceIf(voidAccessGreaterZeroVariables[i + 1].not());
+			}
+			if (Solver.DEBUG) {
+				int newValue = model.getBuilder().getConstraintsCount();
+				System.out.println("Symmetry breaking 2 (increasing computation): #%d -> #%d".formatted(constraintDebug, newValue));
+				constraintDebug = newValue;
+			}
 		}
 
-		/**
-		 * Sort per increasing computation use. This is purely esthetic since it will
-		 * just create an order in the periods. As for sorting stall, reordering by
-		 * computation does not change anything. This must not affect void units since
-		 * they are put only when there is no resource left (so put at the end)
-		 */
-		for (int i = 0; i < maxPeriodNumber - 1; i++) {
-			model.addLessOrEqual(computationAccessVariables[i], computationAccessVariables[i + 1])
-					.onlyEnforceIf(voidAccessGreaterZeroVariables[i + 1].not());
-		}
-		if (Solver.DEBUG) {
-			int newValue = model.getBuilder().getConstraintsCount();
-			System.out.println("Symmetry breaking 2 (increasing computation): #%d -> #%d".formatted(constraintDebug, newValue));
-			constraintDebug = newValue;
+		// Break ties between independent full periods, operation stall stays with its
+		// next period
+		if (symmetryBreaking == SymmetryBreaking.LEXICOGRAPHIC) {
+			addLexicographicOrder(model, stallVariables, computationAccessVariables, writeAccessVariables,
+					periodFilledNoOperationStallVariables, regulationPeriod, budget / writeLatency);
+			if (Solver.DEBUG) {
+				int newValue = model.getBuilder().getConstraintsCount();
+				System.out.println(
+						"Symmetry breaking (lexicographic): #%d -> #%d".formatted(constraintDebug, newValue));
+				constraintDebug = newValue;
+			}
 		}
 
 		// Add maximization
 		LinearExpr maximizationExpr = LinearExpr.newBuilder().addSum(stallVariables).addSum(readStallVariables)
 				.addSum(writeStallVariables).build();
-		model.maximize(maximizationExpr);
+		if (!prefix) {
+			model.maximize(maximizationExpr);
+		}
+
+		// Warm start from the solution of a neighbouring system, its stall is a lower
+		// bound when it only has less computation
+		boolean hintLowerBound = false;
+		if (hint != null && !prefix) {
+			hint.addHints(model, computationCost, readAccessVariables, writeAccessVariables,
+					computationAccessVariables, stallVariables, readStallVariables, writeStallVariables);
+			if (hint.isLowerBoundFor(processorNumber, readLatency, writeLatency, regulationPeriod, budget, readCost,
+					writeCost, computationCost)) {
+				model.addGreaterOrEqual(maximizationExpr, hint.getTotalStall());
+				hintLowerBound = true;
+			}
+		}
+
+		// Cut the objective with the bounds and hint the greedy schedule
+		boolean heuristicBounds = useBounds && !prefix;
+		if (heuristicBounds) {
+			StallBounds bounds = createBounds(maxPeriodNumber);
+			if (bounds.hasSchedule()) {
+				if (hint == null) {
+					StallBounds.addHints(model, readAccessVariables, bounds.getReadAccesses());
+					StallBounds.addHints(model, writeAccessVariables, bounds.getWriteAccesses());
+					StallBounds.addHints(model, computationAccessVariables, bounds.getComputations());
+					StallBounds.addHints(model, stallVariables, bounds.getStalls());
+					StallBounds.addHints(model, readStallVariables, new int[maxPeriodNumber]);
+					StallBounds.addHints(model, writeStallVariables, new int[maxPeriodNumber]);
+					StallBounds.addHints(model, voidAccessVariables, bounds.getVoids());
+				}
+				model.addGreaterOrEqual(maximizationExpr, bounds.getLowerBound());
+			}
+
+			if (bounds.getUpperBound() != StallBounds.NO_BOUND) {
+				model.addLessOrEqual(maximizationExpr, bounds.getUpperBound());
+			}
+		}
 
 		// Solve model
 		if (verbose) {
 			System.out.println("Launching solver...");
 		}
-		CpSolver solver = new CpSolver();
+		CpSolver solver = createCpSolver();
 		if (Solver.DEBUG) {
 			System.out.println("Constraint list: ");
 			int i = 0;
 			for (var c : model.getBuilder().getConstraintsList()) {
 				System.out.println("#" + i++ + " " + c.toString());
 			}
+		}
+		double buildingTime = (System.nanoTime() - buildingStart) / 1e9;
+		CpSolverStatus status = solveModel(solver, model);
+
+		// In prefix mode, only say if a schedule can still be running
+		if (prefix) {
+			Solution prefixSolution = new Solution(
+					status == CpSolverStatus.INFEASIBLE ? SolutionStatus.UNFEASIBLE : SolutionStatus.FEASIBLE);
+			prefixSolution.setSolvingTime(solver.wallTime());
+			prefixSolution.setBuildingTime(buildingTime);
+			return prefixSolution;
+		}
 
-			solver.getParameters().setLogToStdout(true);
-			solver.getParameters().setLogToResponse(true);
-			solver.getParameters().setLogSubsolverStatistics(true);
-			solver.getParameters().setLogSearchProgress(true);
+		// If the lower bound was wrong, solve again without the hint
+		if (hintLowerBound && status == CpSolverStatus.INFEASIBLE) {
+			if (verbose) {
+				System.out.println("Hint lower bound is not reachable, solving again without hint...");
+			}
+			return solve(verbose, maxPeriodNumber, false, null, useBounds);
+		}
+
+		// The bounds are proven, so they are wrong: report it and solve without them
+		if (heuristicBounds && status == CpSolverStatus.INFEASIBLE) {
+			System.err.println("Bug: heuristic bounds make the model infeasible, solving again without bounds...");
+			return solve(verbose, maxPeriodNumber, false, hint, false);
 		}
-		CpSolverStatus status = solver.solve(model);
 
 		// If solution is optimal, say it!
 		Solution solution;
@@ -659,6 +916,13 @@ public class MemguardUU2C1BOpStall extends MemguardSolver {
 			}
 
 			solution = builder.build(SolutionStatus.valueOf(status.toString()));
+			solution.setTotalStall(totalStall);
+			solution.setStallBound(getStallBound(solver));
+			solution.setScheduleHint(new ScheduleHint(processorNumber, readLatency, writeLatency, regulationPeriod,
+					budget, readCost, writeCost, computationCost, totalStall, getValues(solver, readAccessVariables),
+					getValues(solver, writeAccessVariables), getValues(solver, computationAccessVariables),
+					getValues(solver, stallVariables), getValues(solver, readStallVariables),
+					getValues(solver, writeStallVariables), getValues(solver, voidAccessVariables)));
 			if (verbose) {
 				System.out.println("Solution successfully created!");
 			}
@@ -666,17 +930,91 @@ public class MemguardUU2C1BOpStall extends MemguardSolver {
 			if (verbose) {
 				System.err.println("Something is wrong with the model: " + status);
 			}
-			solution = new Solution(SolutionStatus.UNFEASIBLE);
+			solution = new Solution(getUnsolvedStatus(status));
 		}
 
 		if (verbose) {
 			System.out.println("Problem solved in %.4f seconds".formatted(solver.wallTime()));
 		}
 		solution.setSolvingTime(solver.wallTime());
+		solution.setBuildingTime(buildingTime);
+		solution.setModelSize(model.getBuilder().getVariablesCount(), model.getBuilder().getConstraintsCount());
+		solution.setSearchEffort(solver.numBranches(), solver.numConflicts());
+
+		return solution;
+	}
+
+	private StallBounds createBounds(int periodNumber) {
+		MemguardRWSystem rwsystem = (MemguardRWSystem) system;
+		ReadWriteTask rwtask = (ReadWriteTask) system.getProcessor(0).getTask(0);
+		return StallBounds.forTwoCounters(system.getProcessorNumber(), rwsystem.getReadLatency(),
+				rwsystem.getWriteLatency(), rwsystem.getRegulationPeriod() - overhead, rwsystem.getBudget(0),
+				rwtask.getReadCost(), rwtask.getWriteCost(), rwtask.getComputationCost(), periodNumber,
+				getSymmetryBreaking(), false);
+	}
+
+	private Solution solveFromBounds(boolean verbose, StallBounds bounds, long buildingStart) {
+		MemguardRWSystem rwsystem = (MemguardRWSystem) system;
+		ReadWriteTask rwtask = (ReadWriteTask) system.getProcessor(0).getTask(0);
+		int processorNumber = system.getProcessorNumber();
+		int interferenceProcessorNumber = processorNumber - 1;
+		int readLatency = rwsystem.getReadLatency();
+		int writeLatency = rwsystem.getWriteLatency();
+		int regulationPeriod = rwsystem.getRegulationPeriod() - overhead;
+		int[] readAccesses = bounds.getReadAccesses();
+		int[] writeAccesses = bounds.getWriteAccesses();
+		int[] computationAccesses = bounds.getComputations();
+		int[] stalls = bounds.getStalls();
+		int[] voidAccesses = bounds.getVoids();
+
+		SolutionBuilder builder = new SolutionBuilder(processorNumber);
+		for (int i = 0; i < bounds.getPeriodNumber() && voidAccesses[i] != regulationPeriod; i++) {
+			int stall = stalls[i];
+			builder.addBeginPeriod();
+
+			// Add reads and writes (and stall if any)
+			for (int r = 0; r < readAccesses[i]; r++) {
+				stall = addRead(builder, interferenceProcessorNumber, stall, readLatency, writeLatency);
+			}
+			for (int w = 0; w < writeAccesses[i]; w++) {
+				stall = addWrite(builder, interferenceProcessorNumber, stall, writeLatency);
+			}
+
+			builder.addComputation(computationAccesses[i], 0, true);
+			builder.addStall(stall, 0, true);
+			builder.addVoid(voidAccesses[i]);
+			builder.addEndPeriod();
 
+			// Add write latency - 1 to complete the period
+			builder.addStall(overhead, 0, true);
+		}
+
+		if (verbose) {
+			System.out.println("Greedy schedule is optimal, solver skipped");
+			System.out.println("Total stall: %d".formatted(bounds.getLowerBound()));
+		}
+
+		int[] noStalls = new int[bounds.getPeriodNumber()];
+		Solution solution = builder.build(SolutionStatus.OPTIMAL);
+		solution.setTotalStall(bounds.getLowerBound());
+		solution.setStallBound(bounds.getUpperBound());
+		solution.setScheduleHint(new ScheduleHint(processorNumber, readLatency, writeLatency, regulationPeriod,
+				rwsystem.getBudget(0), rwtask.getReadCost(), rwtask.getWriteCost(), rwtask.getComputationCost(),
+				bounds.getLowerBound(), readAccesses, writeAccesses, computationAccesses, stalls, noStalls, noStalls,
+				voidAccesses));
+		solution.setBuildingTime((System.nanoTime() - buildingStart) / 1e9);
 		return solution;
 	}
 
+	private int[] getValues(CpSolver solver, IntVar[] variables) {
+		int[] values = new int[variables.length];
+		for (int i = 0; i < variables.length; i++) {
+			values[i] = (int) solver.value(variables[i]);
+		}
+
+		return values;
+	}
+
 	private int addRead(SolutionBuilder builder, int interferenceProcessorNumber, int stall, int readLatency,
 			int writeLatency) {
 		stall -= addInterProcessorStall(builder, interferenceProcessorNumber, stall, writeLatency);
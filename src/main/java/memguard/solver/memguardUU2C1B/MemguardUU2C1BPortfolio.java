@@ -0,0 +1,246 @@
+package memguard.solver.memguardUU2C1B;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import memguard.logic.MemguardRWSystem;
+import memguard.solution.Solution;
+import memguard.solution.SolutionStatus;
+import memguard.solver.IncumbentListener;
+import memguard.solver.MemguardSolver;
+import memguard.solver.SolverConfiguration;
+
+/**
+ * <p>
+ * Races several solvers of the same two counters system and returns the first
+ * proven optimal solution. The other solvers are stopped as soon as one of
+ * them proves optimality (see {@link MemguardSolver#stop()}). If no solver
+ * proves optimality, the feasible solution with the greatest stall is
+ * returned. The name of the solver that produced the returned solution is set
+ * in the solution (see {@link Solution#getSolverName()}).
+ * </p>
+ * 
+ * <p>
+ * All variants must have the same optimum for the system, otherwise the result
+ * depends on which one finishes first. This is not the case in general: the
+ * operation stall and the symmetries of {@link MemguardUU2C1BRconWreg} change
+ * the optimum as soon as a latency is greater than 1. Use
+ * {@link #getEquivalentVariants(MemguardSolver, MemguardRWSystem)} to get
+ * variants that are known to agree. The workers of the portfolio (see
+ * {@link #setWorkerNumber(int)}) are split between the variants, which
+ * otherwise use the configuration of the portfolio, and the hint, the deadline,
+ * the incumbent listener and the heuristic bounds are given to all of them.
+ * </p>
+ */
+public class MemguardUU2C1BPortfolio extends MemguardSolver {
+
+	private static final long STOP_DELAY_MILLISECONDS = 10;
+
+	private final List<MemguardSolver> variants;
+
+	/**
+	 * Creates a new portfolio racing the specified variants. Variants are raced
+	 * once: stopped variants stay stopped, so create a new portfolio for each
+	 * solve.
+	 * 
+	 * @param system   the MemGuard's system with one task
+	 * @param variants the solvers to race, all having the same optimum
+	 */
+	public MemguardUU2C1BPortfolio(MemguardRWSystem system, List<MemguardSolver> variants) {
+		super(system);
+		this.variants = new ArrayList<MemguardSolver>(variants);
+	}
+
+	/**
+	 * Creates a new portfolio racing {@link MemguardUU2C1BOpStall} with the
+	 * variants that have the same optimum for the system (see
+	 * {@link #getEquivalentVariants(MemguardSolver, MemguardRWSystem)}).
+	 * 
+	 * @param system the MemGuard's system with one task
+	 */
+	public MemguardUU2C1BPortfolio(MemguardRWSystem system) {
+		this(system, getEquivalentVariants(new MemguardUU2C1BOpStall(system), system));
+	}
+
+	/**
+	 * Returns the reference solver followed by the two counters solvers that are
+	 * known to have the same optimum for the system. When both latencies are 1,
+	 * there is no operation stall and no overhead, and {@link MemguardUU2C1B},
+	 * {@link MemguardUU2C1BOpStall} and {@link MemguardUU2C1BRconWreg} all find
+	 * the same stall. Otherwise, only the reference solver is returned.
+	 * 
+	 * @param reference the solver whose optimum is expected
+	 * @param system    the MemGuard's system with one task
+	 * @return the reference solver and the solvers having the same optimum
+	 */
+	public static List<MemguardSolver> getEquivalentVariants(MemguardSolver reference, MemguardRWSystem system) {
+		List<MemguardSolver> variants = new ArrayList<MemguardSolver>();
+		variants.add(reference);
+		if (system.getReadLatency() == 1 && system.getWriteLatency() == 1) {
+			List<MemguardSolver> candidates = List.of(new MemguardUU2C1B(system), new MemguardUU2C1BOpStall(system),
+					new MemguardUU2C1BRconWreg(system));
+			for (MemguardSolver candidate : candidates) {
+				if (candidate.getClass() != reference.getClass()) {
+					variants.add(candidate);
+				}
+			}
+		}
+
+		return variants;
+	}
+
+	public List<MemguardSolver> getVariants() {
+		return variants;
+	}
+
+	@Override
+	public Solution solve(boolean verbose) {
+		if (variants.isEmpty()) {
+			System.err.println("Portfolio has no solver to race, abort...");
+			System.exit(0);
+		}
+
+		// Split workers between variants
+		int workerNumber = getWorkerNumber() > 0 ? getWorkerNumber() : Runtime.getRuntime().availableProcessors();
+		int variantWorkerNumber = Math.max(1, workerNumber / variants.size());
+
+		long solvingStart = System.nanoTime();
+		ExecutorService pool = Executors.newFixedThreadPool(variants.size(), runnable -> {
+			Thread thread = new Thread(runnable, "portfolio-variant");
+			thread.setDaemon(true);
+			return thread;
+		});
+		CompletionService<Solution> completion = new ExecutorCompletionService<Solution>(pool);
+		IncumbentListener variantListener = createVariantListener();
+		Map<Future<Solution>, MemguardSolver> futureVariants = new HashMap<Future<Solution>, MemguardSolver>();
+		for (MemguardSolver variant : variants) {
+			variant.setConfiguration(new SolverConfiguration(getConfiguration()));
+			variant.setWorkerNumber(variantWorkerNumber);
+			variant.setHint(hint);
+			variant.setHeuristicBounds(isHeuristicBounds());
+			variant.setSymmetryBreaking(getSymmetryBreaking());
+			variant.setLeanEncoding(isLeanEncoding());
+			variant.setDeadline(getDeadline());
+			variant.setIncumbentListener(variantListener);
+			futureVariants.put(completion.submit(() -> variant.solve(false)), variant);
+		}
+
+		if (verbose) {
+			System.out.println("Racing " + variants.size() + " solvers with " + variantWorkerNumber
+					+ " worker(s) each...");
+		}
+
+		// Wait for the first optimal solution, keep the best one otherwise
+		Solution bestSolution = null;
+		MemguardSolver winner = null;
+		long stallBound = Long.MAX_VALUE;
+		boolean infeasible = false;
+		try {
+			for (int i = 0; i < variants.size(); i++) {
+				Future<Solution> future = completion.take();
+				Solution solution = future.get();
+				MemguardSolver variant = futureVariants.get(future);
+				if (solution.getStallBound() >= 0) {
+					stallBound = Math.min(stallBound, solution.getStallBound());
+				}
+
+				if (verbose) {
+					System.out.println(variant.getClass().getSimpleName() + " finished: " + solution.getStatus());
+				}
+
+				// All variants model the same system, one proof is enough
+				if (solution.getStatus() == SolutionStatus.UNFEASIBLE) {
+					infeasible = true;
+					break;
+				}
+
+				if (solution.getStatus() == SolutionStatus.OPTIMAL) {
+					bestSolution = solution;
+					winner = variant;
+					break;
+				}
+
+				if (solution.getStatus() == SolutionStatus.FEASIBLE
+						&& (bestSolution == null || solution.getTotalStall() > bestSolution.getTotalStall())) {
+					bestSolution = solution;
+					winner = variant;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Solver of the portfolio failed", e.getCause());
+		} finally {
+			stopVariants(pool);
+		}
+
+		if (bestSolution == null) {
+			bestSolution = new Solution(infeasible ? SolutionStatus.UNFEASIBLE : SolutionStatus.UNKNOWN);
+		} else {
+			bestSolution.setSolverName(winner.getClass().getSimpleName());
+			if (bestSolution.getStatus() == SolutionStatus.FEASIBLE && stallBound != Long.MAX_VALUE) {
+				// All variants have the same optimum, so the smallest bound holds
+				bestSolution.setStallBound(Math.max(bestSolution.getTotalStall(), stallBound));
+			}
+		}
+
+		bestSolution.setSolvingTime((System.nanoTime() - solvingStart) / 1e9);
+		if (verbose) {
+			System.out.println("Winner: " + bestSolution.getSolverName());
+		}
+
+		return bestSolution;
+	}
+
+	// Only gives the listener the schedules improving all variants' schedules
+	private IncumbentListener createVariantListener() {
+		IncumbentListener listener = getIncumbentListener();
+		if (listener == null) {
+			return null;
+		}
+
+		AtomicLong bestStall = new AtomicLong(-1);
+		AtomicLong bestBound = new AtomicLong(Long.MAX_VALUE);
+		return (totalStall, stallBound, time) -> {
+			long bound = bestBound.accumulateAndGet(stallBound, Math::min);
+			if (bestStall.getAndAccumulate(totalStall, Math::max) < totalStall) {
+				listener.onIncumbent(totalStall, Math.max(totalStall, bound), time);
+			}
+		};
+	}
+
+	// A stop can be missed if a variant has not created its CP-SAT solver yet, so
+	// stop until all variants have returned
+	private void stopVariants(ExecutorService pool) {
+		pool.shutdown();
+		try {
+			do {
+				for (MemguardSolver variant : variants) {
+					variant.stop();
+				}
+			} while (!pool.awaitTermination(STOP_DELAY_MILLISECONDS, TimeUnit.MILLISECONDS));
+		} catch (InterruptedException e) {
+			pool.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public void stop() {
+		super.stop();
+		for (MemguardSolver variant : variants) {
+			variant.stop();
+		}
+	}
+
+}
@@ -0,0 +1,105 @@
+package memguard.solver.memguardUU2C1B;
+
+import com.google.ortools.sat.BoolVar;
+import com.google.ortools.sat.IntVar;
+import com.google.ortools.sat.LinearExpr;
+
+import memguard.logic.MemguardRWSystem;
+import memguard.solver.ModelTemplate;
+import memguard.solver.SymmetryBreaking;
+
+/**
+ * <p>
+ * Model of {@link MemguardUU2C1BRconWreg} built once and reused for all systems
+ * with the same processors, latencies, regulation period and budget. Only the
+ * costs of the task change between these systems, and they only appear in
+ * constants of the model, which are patched by the {@link ModelTemplate}.
+ * </p>
+ * 
+ * <p>
+ * The number of periods of the template must be enough for all the systems it
+ * is used for. Periods after the end of the task only contain void accesses, so
+ * a longer horizon does not change the optimum. Create the template with the
+ * greatest costs (see {@link MemguardUU2C1BRconWreg#createTemplate()}).
+ * </p>
+ */
+public class MemguardUU2C1BRconWregTemplate {
+
+	private final int processorNumber;
+	private final int readLatency;
+	private final int writeLatency;
+	private final int regulationPeriod;
+	private final int budget;
+	private final int overhead;
+	private final boolean cumulativeSums;
+	private final SymmetryBreaking symmetryBreaking;
+	private final boolean leanEncoding;
+	private final int periodNumber;
+	private final ModelTemplate modelTemplate;
+	private final LinearExpr maximizationExpr;
+	private final IntVar[][] intVariables;
+	private final BoolVar[][] boolVariables;
+
+	MemguardUU2C1BRconWregTemplate(MemguardRWSystem system, int overhead, boolean cumulativeSums,
+			SymmetryBreaking symmetryBreaking, boolean leanEncoding, int periodNumber, ModelTemplate modelTemplate, LinearExpr maximizationExpr, IntVar[][] intVariables,
+			BoolVar[][] boolVariables) {
+		this.processorNumber = system.getProcessorNumber();
+		this.readLatency = system.getReadLatency();
+		this.writeLatency = system.getWriteLatency();
+		this.regulationPeriod = system.getRegulationPeriod();
+		this.budget = system.getBudget(0);
+		this.overhead = overhead;
+		this.cumulativeSums = cumulativeSums;
+		this.symmetryBreaking = symmetryBreaking;
+		this.leanEncoding = leanEncoding;
+		this.periodNumber = periodNumber;
+		this.modelTemplate = modelTemplate;
+		this.maximizationExpr = maximizationExpr;
+		this.intVariables = intVariables;
+		this.boolVariables = boolVariables;
+	}
+
+	/**
+	 * Returns true if this template can be used to solve the system: it must have
+	 * the same processors, latencies, regulation period, budget, overhead, sums
+	 * encoding, symmetry breaking and boolean encoding, and the system must not
+	 * need more periods than the template.
+	 * 
+	 * @param system           the system to solve.
+	 * @param overhead         the overhead of the solver.
+	 * @param cumulativeSums   true if the solver uses cumulative sums.
+	 * @param symmetryBreaking the symmetry breaking of the solver.
+	 * @param leanEncoding     true if the solver uses the lean encoding.
+	 * @param periodNumber     the number of periods needed by the system.
+	 * @return true if the template can be used for the system.
+	 */
+	public boolean isCompatible(MemguardRWSystem system, int overhead, boolean cumulativeSums,
+			SymmetryBreaking symmetryBreaking, boolean leanEncoding, int periodNumber) {
+		return processorNumber == system.getProcessorNumber() && readLatency == system.getReadLatency()
+				&& writeLatency == system.getWriteLatency() && regulationPeriod == system.getRegulationPeriod()
+				&& budget == system.getBudget(0) && this.overhead == overhead && this.cumulativeSums == cumulativeSums
+				&& this.symmetryBreaking == symmetryBreaking && this.leanEncoding == leanEncoding
+				&& periodNumber <= this.periodNumber;
+	}
+
+	public int getPeriodNumber() {
+		return periodNumber;
+	}
+
+	public ModelTemplate getModelTemplate() {
+		return modelTemplate;
+	}
+
+	LinearExpr getMaximizationExpr() {
+		return maximizationExpr;
+	}
+
+	IntVar[][] getIntVariables() {
+		return intVariables;
+	}
+
+	BoolVar[][] getBoolVariables() {
+		return boolVariables;
+	}
+
+}
@@ -0,0 +1,643 @@
+package memguard.solver.memguardUUnC1B;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.ortools.sat.BoolVar;
+import com.google.ortools.sat.CpModel;
+import com.google.ortools.sat.CpSolver;
+import com.google.ortools.sat.CpSolverStatus;
+import com.google.ortools.sat.IntVar;
+import com.google.ortools.sat.LinearArgument;
+import com.google.ortools.sat.LinearExpr;
+import com.google.ortools.sat.LinearExprBuilder;
+import com.google.ortools.sat.Literal;
+
+import memguard.logic.MemguardNCSystem;
+import memguard.logic.MultiAccessTask;
+import memguard.logic.Task;
+import memguard.solution.Solution;
+import memguard.solution.SolutionBuilder;
+import memguard.solution.SolutionStatus;
+import memguard.solver.HorizonPlanner;
+import memguard.solver.MemguardSolver;
+import memguard.solver.Solver;
+import memguard.solver.SymmetryBreaking;
+
+/**
+ * <p>
+ * Solver of the generalized model with one counter per access class (reads,
+ * writes, prefetches, DMA transfers...), each class having its own latency and
+ * cost (see {@link MemguardNCSystem}). It is the model of
+ * {@link memguard.solver.memguardUU2C1B.MemguardUU2C1BOpStall} with any number
+ * of classes: each period uses the budget with the accesses of all classes,
+ * interfering processors stall the task with accesses of the interference
+ * latency, and the period ends with an operation stall when the remaining
+ * budget is too small for the next access of the task.
+ * </p>
+ * 
+ * <p>
+ * The operation stall of a period is given to at most one class, the one of
+ * the access starting the next period. Instead of one exclusion per pair of
+ * classes, the classes share the literal "the period has an operation stall",
+ * so that the model grows linearly in the number of classes. The period
+ * booleans are always defined with threshold literals (see
+ * {@link MemguardSolver#setLeanEncoding(boolean)}).
+ * </p>
+ * 
+ * <p>
+ * With the system of {@link MemguardNCSystem#fromTwoCounters} and the same
+ * overhead, the stall is the one of the two counters solver. With the system of
+ * {@link MemguardNCSystem#fromOneCounter}, latencies and overhead are 1 and 0,
+ * there is no operation stall and the stall is the one of the one counter
+ * solvers. Hints and heuristic bounds are specific to these solvers and are
+ * ignored.
+ * </p>
+ * 
+ * <p>
+ * Budgets of the interfering processors are unknown, so they can access memory
+ * at each access of the task. Solvers knowing them limit the accesses of each
+ * interfering processor with {@link #getInterferenceAccessLimits()}.
+ * </p>
+ */
+public class MemguardUUnC1B extends MemguardSolver {
+
+	private int overhead;
+
+	public MemguardUUnC1B(MemguardNCSystem system, int overhead) {
+		super(system);
+		this.overhead = overhead;
+	}
+
+	/**
+	 * This will compute the worst-case response time of a task in a system. This
+	 * system contains m processors and only one task (to simplify the process). The
+	 * default overhead will be the interference latency - 1
+	 * 
+	 * @param system the MemGuard's system with one task
+	 */
+	public MemguardUUnC1B(MemguardNCSystem system) {
+		this(system, system.getInterferenceLatency() - 1);
+	}
+
+	@Override
+	public Solution solve(boolean verbose) {
+		// Extract task
+		Task task = system.getProcessor(0).getTask(0);
+
+		// Verify that the task is a MultiAccessTask with one cost per class
+		MemguardNCSystem ncsystem = (MemguardNCSystem) system;
+		if (!(task instanceof MultiAccessTask mtask)
+				|| mtask.getAccessClassNumber() != ncsystem.getAccessClassNumber()) {
+			System.err.println("Task must be a MultiAccessTask with one cost per access class, abort...");
+			System.exit(0);
+			return null;
+		}
+
+		// Choose the number of periods
+		int budget = ncsystem.getBudget(0);
+		int regulationPeriod = ncsystem.getRegulationPeriod() - overhead;
+		int maxLatency = Arrays.stream(ncsystem.getLatencies()).max().getAsInt();
+		int accessNumber = 0;
+		for (int j = 0; j < ncsystem.getAccessClassNumber(); j++) {
+			accessNumber += mtask.getAccessCost(j) / ncsystem.getLatency(j);
+		}
+		int maxPeriodNumber = HorizonPlanner.getMaxPeriodNumber(regulationPeriod, budget, maxLatency, accessNumber,
+				mtask.getMemoryCost(), mtask.getComputationCost());
+
+		if (!isAdaptiveHorizon()) {
+			return solve(verbose, maxPeriodNumber, false);
+		}
+
+		// Only keep periods where a schedule can still be running
+		long planningStart = System.nanoTime();
+		int minPeriodNumber = HorizonPlanner.getMinPeriodNumber(regulationPeriod, budget, mtask.getMemoryCost(),
+				mtask.getComputationCost());
+		int periodNumber = HorizonPlanner.plan(minPeriodNumber, maxPeriodNumber,
+				horizon -> solve(false, horizon, true).getStatus() != SolutionStatus.UNFEASIBLE);
+		double planningTime = (System.nanoTime() - planningStart) / 1e9;
+		if (verbose) {
+			System.out.println("Horizon reduced from %d to %d periods in %.4f seconds".formatted(maxPeriodNumber,
+					periodNumber, planningTime));
+		}
+
+		Solution solution = solve(verbose, periodNumber, false);
+		solution.setBuildingTime(solution.getBuildingTime() + planningTime);
+		return solution;
+	}
+
+	/**
+	 * Builds and solves the model with the specified number of periods. In prefix
+	 * mode, the task must not be finished at the end of the last period, which is
+	 * then not the last period of the schedule: the returned solution has no item
+	 * and is UNFEASIBLE only if it is proven that no schedule has work left after
+	 * the specified number of periods.
+	 * 
+	 * @param verbose         true to print the model and the solution.
+	 * @param maxPeriodNumber the number of periods of the model.
+	 * @param prefix          true to only check that a schedule can run longer.
+	 * @return the solution of the model.
+	 */
+	private Solution solve(boolean verbose, int maxPeriodNumber, boolean prefix) {
+		long buildingStart = System.nanoTime();
+
+		// Is a n counters system with a multi access task (checked before)
+		MemguardNCSystem ncsystem = (MemguardNCSystem) system;
+		MultiAccessTask mtask = (MultiAccessTask) system.getProcessor(0).getTask(0);
+		int processorNumber = system.getProcessorNumber();
+		int budget = ncsystem.getBudget(0);
+		int interferenceLatency = ncsystem.getInterferenceLatency();
+		int regulationPeriod = ncsystem.getRegulationPeriod() - overhead;
+		int interferenceProcessorNumber = processorNumber - 1;
+		int remainingBudget = regulationPeriod - budget;
+
+		int classNumber = ncsystem.getAccessClassNumber();
+		int[] latencies = ncsystem.getLatencies();
+		int[] accessCosts = mtask.getAccessCosts();
+		int computationCost = mtask.getComputationCost();
+		int[] maxAccessPerPeriod = new int[classNumber];
+		int maxMemoryAccessPerPeriod = 0;
+		for (int j = 0; j < classNumber; j++) {
+			maxAccessPerPeriod[j] = budget / latencies[j];
+			maxMemoryAccessPerPeriod += maxAccessPerPeriod[j];
+		}
+
+		// Interfering processors grouped by their access limit, the ones that can do
+		// as many accesses as the task interfere at each access
+		int[] interferenceAccessLimits = getInterferenceAccessLimits();
+		Map<Integer, Integer> limitedProcessorNumbers = new TreeMap<Integer, Integer>();
+		int unlimitedProcessorNumber = 0;
+		for (int limit : interferenceAccessLimits) {
+			if (limit >= maxMemoryAccessPerPeriod) {
+				unlimitedProcessorNumber++;
+			} else if (limit > 0) {
+				limitedProcessorNumbers.merge(limit, 1, Integer::sum);
+			}
+		}
+		int maxInterferenceAccess = unlimitedProcessorNumber == 0 ? maxMemoryAccessPerPeriod + 1
+				: Math.ceilDiv(remainingBudget, unlimitedProcessorNumber * interferenceLatency);
+
+		if (verbose) {
+			System.out.println("Important system variables:");
+			System.out.println("\tProcessor number: " + processorNumber);
+			System.out.println("\tBudget: " + budget);
+			System.out.println("\tRegulation Period: " + regulationPeriod);
+			System.out.println("\tLatencies: " + Arrays.toString(latencies));
+			System.out.println("\tInterference latency: " + interferenceLatency);
+			System.out.println("\tNumber of interfering cores: " + interferenceProcessorNumber);
+			System.out.println("\tRemaining budget (P - Q): " + remainingBudget);
+			System.out.println("\tMaximum interference memory access: " + maxInterferenceAccess);
+			System.out.println("\tUnlimited interfering cores: " + unlimitedProcessorNumber);
+			System.out.println("\tLimited interfering cores per access limit: " + limitedProcessorNumbers);
+
+			System.out.println("Important task variables:");
+			System.out.println("\tAccess costs: " + Arrays.toString(accessCosts));
+			System.out.println("\tComputation cost: " + computationCost);
+			System.out.println("\tMaximum period number: " + maxPeriodNumber);
+			System.out.println("\tMaximum accesses per period: " + Arrays.toString(maxAccessPerPeriod));
+		}
+
+		if (verbose) {
+			System.out.println("Creating model...");
+		}
+		// Build model
+		CpModel model = createModel();
+
+		// Create integer variables, indexed by period then class
+		IntVar[][] accessVariables = new IntVar[maxPeriodNumber][classNumber];
+		IntVar[][] operationStallVariables = new IntVar[maxPeriodNumber][classNumber];
+		IntVar[] computationAccessVariables = new IntVar[maxPeriodNumber];
+		IntVar[] voidAccessVariables = new IntVar[maxPeriodNumber];
+		IntVar[] stallVariables = new IntVar[maxPeriodNumber];
+
+		// Create boolean variables
+		BoolVar[][] inPeriodVariables = new BoolVar[maxPeriodNumber][classNumber];
+		BoolVar[][] budgetNotEnoughVariables = new BoolVar[maxPeriodNumber][classNumber];
+		BoolVar[][] operationStallGreaterZeroVariables = new BoolVar[maxPeriodNumber][classNumber];
+		BoolVar[] operationStallVariablesInPeriod = new BoolVar[maxPeriodNumber];
+		BoolVar[] finishedVariables = new BoolVar[maxPeriodNumber];
+		BoolVar[] voidAccessGreaterZeroVariables = new BoolVar[maxPeriodNumber];
+		BoolVar[] maxStallVariables = new BoolVar[maxPeriodNumber];
+		BoolVar[] periodFilledNoOperationStallVariables = new BoolVar[maxPeriodNumber];
+
+		// Define integer variables
+		for (int i = 0; i < maxPeriodNumber; i++) {
+			for (int j = 0; j < classNumber; j++) {
+				accessVariables[i][j] = model.newIntVar(0, maxAccessPerPeriod[j], "a_%d_%d".formatted(i + 1, j + 1));
+				operationStallVariables[i][j] = model.newIntVar(0, latencies[j] - 1,
+						"op_stall_%d_%d".formatted(i + 1, j + 1));
+			}
+
+			computationAccessVariables[i] = model.newIntVar(0, regulationPeriod, "e_%d".formatted(i + 1));
+			voidAccessVariables[i] = model.newIntVar(0, regulationPeriod, "v_%d".formatted(i + 1));
+			stallVariables[i] = model.newIntVar(0, remainingBudget, "stall_%d".formatted(i + 1));
+		}
+
+		// Accesses done up to each period
+		LinearArgument[][] accessSums = new LinearArgument[classNumber][];
+		for (int j = 0; j < classNumber; j++) {
+			IntVar[] classAccessVariables = new IntVar[maxPeriodNumber];
+			for (int i = 0; i < maxPeriodNumber; i++) {
+				classAccessVariables[i] = accessVariables[i][j];
+			}
+			accessSums[j] = createPrefixSums(model, classAccessVariables, latencies[j], accessCosts[j],
+					"a_sum_%d".formatted(j + 1));
+		}
+		LinearArgument[] computationSums = createPrefixSums(model, computationAccessVariables, 1, computationCost,
+				"e_sum");
+
+		// Define boolean variables
+		for (int i = 0; i < maxPeriodNumber; i++) {
+			LinearExpr budgetUsedExpr = getBudgetUsedExpr(accessVariables[i], latencies);
+
+			// Budget finished (the used budget is at most the budget)
+			BoolVar budgetFinished = model.newBoolVar("Q_%d_finished".formatted(i + 1));
+			addThresholdLiteral(model, budgetFinished, budgetUsedExpr, budget, budget);
+
+			// Per class: in period, not enough budget for an access, operation stall
+			Literal[] finishedLiterals = new Literal[classNumber + 1];
+			for (int j = 0; j < classNumber; j++) {
+				BoolVar inPeriod = model.newBoolVar("a_present_%d_%d".formatted(i + 1, j + 1));
+				addThresholdLiteral(model, inPeriod, accessVariables[i][j], 1, maxAccessPerPeriod[j]);
+				inPeriodVariables[i][j] = inPeriod;
+
+				BoolVar budgetNotEnough = model.newBoolVar("budget_not_enough_%d_%d".formatted(i + 1, j + 1));
+				addThresholdLiteral(model, budgetNotEnough, budgetUsedExpr, budget - latencies[j] + 1, budget);
+				budgetNotEnoughVariables[i][j] = budgetNotEnough;
+
+				BoolVar operationStallGreaterZero = model.newBoolVar("op_stall_%d_%d_gt0".formatted(i + 1, j + 1));
+				if (prefix || i != maxPeriodNumber - 1) {
+					addThresholdLiteral(model, operationStallGreaterZero, operationStallVariables[i][j], 1,
+							latencies[j] - 1);
+				} else {
+					model.addBoolAnd(new Literal[] { operationStallGreaterZero.not() });
+					model.addEquality(operationStallVariables[i][j], 0);
+				}
+				operationStallGreaterZeroVariables[i][j] = operationStallGreaterZero;
+
+				BoolVar classFinished = model.newBoolVar("a_%d_%d_finished".formatted(i + 1, j + 1));
+				addThresholdLiteral(model, classFinished, accessSums[j][i], accessCosts[j], accessCosts[j]);
+				finishedLiterals[j] = classFinished;
+			}
+
+			// At most one class has the operation stall of the period
+			BoolVar operationStall = model.newBoolVar("op_stall_%d".formatted(i + 1));
+			model.addMaxEquality(operationStall, operationStallGreaterZeroVariables[i]);
+			model.addAtMostOne(operationStallGreaterZeroVariables[i]);
+			operationStallVariablesInPeriod[i] = operationStall;
+
+			// All classes and computation finished
+			BoolVar computationFinished = model.newBoolVar("e_%d_finished".formatted(i + 1));
+			addThresholdLiteral(model, computationFinished, computationSums[i], computationCost, computationCost);
+			finishedLiterals[classNumber] = computationFinished;
+			BoolVar finished = model.newBoolVar("finished_%d".formatted(i + 1));
+			model.addMinEquality(finished, finishedLiterals);
+			finishedVariables[i] = finished;
+
+			// Void values
+			BoolVar voidAccessGreaterZero = model.newBoolVar("v_%d_gt0".formatted(i + 1));
+			addThresholdLiteral(model, voidAccessGreaterZero, voidAccessVariables[i], 1, regulationPeriod);
+			voidAccessGreaterZeroVariables[i] = voidAccessGreaterZero;
+
+			// Max stall required when any of its reasons is. When no interfering
+			// processor is limited, more accesses than possible interference is one of
+			// them, the interference is otherwise bounded by P - Q with the stall
+			BoolVar maxStallReq = model.newBoolVar("max_stall_%d".formatted(i + 1));
+			if (limitedProcessorNumbers.isEmpty()) {
+				BoolVar moreAccessThanPossibleStall = model.newBoolVar("more_access_%d".formatted(i + 1));
+				addThresholdLiteral(model, moreAccessThanPossibleStall, LinearExpr.sum(accessVariables[i]),
+						maxInterferenceAccess, maxMemoryAccessPerPeriod);
+				model.addMaxEquality(maxStallReq,
+						new LinearArgument[] { operationStall, budgetFinished, moreAccessThanPossibleStall });
+			} else {
+				model.addMaxEquality(maxStallReq, new LinearArgument[] { operationStall, budgetFinished });
+			}
+			maxStallVariables[i] = maxStallReq;
+
+			// The period is filled without operation stall when it has no void and no
+			// operation stall (units of a period always sum to the period)
+			BoolVar periodFilledNoOperationStall = model.newBoolVar("period_filled_no_op_stall_%d".formatted(i + 1));
+			model.addImplication(periodFilledNoOperationStall, voidAccessGreaterZero.not());
+			model.addImplication(periodFilledNoOperationStall, operationStall.not());
+			model.addBoolOr(new Literal[] { periodFilledNoOperationStall, voidAccessGreaterZero, operationStall });
+			periodFilledNoOperationStallVariables[i] = periodFilledNoOperationStall;
+		}
+
+		// Total accesses and computation
+		for (int j = 0; j < classNumber; j++) {
+			if (prefix) {
+				model.addLessOrEqual(accessSums[j][maxPeriodNumber - 1], accessCosts[j]);
+			} else {
+				model.addEquality(accessSums[j][maxPeriodNumber - 1], accessCosts[j]);
+			}
+		}
+		if (prefix) {
+			model.addLessOrEqual(computationSums[maxPeriodNumber - 1], computationCost);
+		} else {
+			model.addEquality(computationSums[maxPeriodNumber - 1], computationCost);
+		}
+
+		// In prefix mode, there is still work after the last period
+		if (prefix) {
+			model.addBoolOr(new Literal[] { finishedVariables[maxPeriodNumber - 1].not() });
+		}
+
+		for (int i = 0; i < maxPeriodNumber; i++) {
+			LinearExpr budgetUsedExpr = getBudgetUsedExpr(accessVariables[i], latencies);
+
+			// Constraint budget per period
+			model.addLessOrEqual(budgetUsedExpr, budget);
+
+			// If all budget is used, the next access does not fit or there are more
+			// accesses than possible interference, the stall is P - Q. Otherwise the
+			// stall is the interference latency per access of each unlimited interfering
+			// processor, plus the one of the limited processors
+			LinearArgument totalAccessStallExpr = LinearExpr.weightedSum(accessVariables[i],
+					filledArray(classNumber, unlimitedProcessorNumber * interferenceLatency));
+			if (!limitedProcessorNumbers.isEmpty()) {
+				totalAccessStallExpr = createLimitedStall(model, accessVariables[i], totalAccessStallExpr,
+						limitedProcessorNumbers, interferenceLatency, remainingBudget, "interference_%d".formatted(i + 1));
+			}
+			model.addEquality(stallVariables[i], remainingBudget).onlyEnforceIf(maxStallVariables[i]);
+			model.addEquality(stallVariables[i], totalAccessStallExpr).onlyEnforceIf(maxStallVariables[i].not());
+
+			// Enable the operation stall of a class only when the next period starts with
+			// it, the period is not filled and the remaining budget is smaller than its
+			// latency. It is given to one class when several could have it
+			if (i < maxPeriodNumber - 1) {
+				for (int j = 0; j < classNumber; j++) {
+					model.addBoolAnd(new Literal[] { inPeriodVariables[i + 1][j],
+							periodFilledNoOperationStallVariables[i].not(), budgetNotEnoughVariables[i][j] })
+							.onlyEnforceIf(operationStallGreaterZeroVariables[i][j]);
+					model.addBoolOr(new Literal[] { inPeriodVariables[i + 1][j].not(),
+							periodFilledNoOperationStallVariables[i], budgetNotEnoughVariables[i][j].not(),
+							operationStallVariablesInPeriod[i] });
+				}
+			}
+
+			// Enable void only when nothing is left (the period is then filled with it)
+			model.addImplication(voidAccessGreaterZeroVariables[i], finishedVariables[i]);
+
+			// Constraint a period
+			LinearExpr usedResourcesExpr = LinearExpr.newBuilder().add(budgetUsedExpr)
+					.add(computationAccessVariables[i]).add(stallVariables[i])
+					.addSum(operationStallVariables[i]).add(voidAccessVariables[i]).build();
+			model.addEquality(usedResourcesExpr, regulationPeriod);
+		}
+
+		// Symmetry breaking, as for the two counters model: decreasing stall and
+		// increasing computation, only when ordered
+		SymmetryBreaking symmetryBreaking = getSymmetryBreaking();
+		if (symmetryBreaking == SymmetryBreaking.ORDERED) {
+			for (int i = 0; i < maxPeriodNumber - 1; i++) {
+				LinearExpr stallNowExpr = LinearExpr.newBuilder().add(stallVariables[i])
+						.addSum(operationStallVariables[i]).build();
+				LinearExpr stallAfterExpr = LinearExpr.newBuilder().add(stallVariables[i + 1])
+						.addSum(operationStallVariables[i + 1]).build();
+				model.addGreaterOrEqual(stallNowExpr, stallAfterExpr);
+
+				model.addLessOrEqual(computationAccessVariables[i], computationAccessVariables[i + 1])
+						.onlyEnforceIf(voidAccessGreaterZeroVariables[i + 1].not());
+			}
+		}
+
+		// Break ties between independent full periods with the accesses of the last
+		// class, operation stall stays with its next period
+		if (symmetryBreaking == SymmetryBreaking.LEXICOGRAPHIC) {
+			IntVar[] lastClassAccessVariables = new IntVar[maxPeriodNumber];
+			for (int i = 0; i < maxPeriodNumber; i++) {
+				lastClassAccessVariables[i] = accessVariables[i][classNumber - 1];
+			}
+			addLexicographicOrder(model, stallVariables, computationAccessVariables, lastClassAccessVariables,
+					periodFilledNoOperationStallVariables, regulationPeriod, maxAccessPerPeriod[classNumber - 1]);
+		}
+
+		// Add maximization
+		LinearExprBuilder maximizationExprBuilder = LinearExpr.newBuilder().addSum(stallVariables);
+		for (int i = 0; i < maxPeriodNumber; i++) {
+			maximizationExprBuilder.addSum(operationStallVariables[i]);
+		}
+		LinearExpr maximizationExpr = maximizationExprBuilder.build();
+		if (!prefix) {
+			model.maximize(maximizationExpr);
+		}
+
+		// Solve model
+		if (verbose) {
+			System.out.println("Launching solver...");
+		}
+		CpSolver solver = createCpSolver();
+		if (Solver.DEBUG) {
+			System.out.println("Constraint list: ");
+			int i = 0;
+			for (var c : model.getBuilder().getConstraintsList()) {
+				System.out.println("#" + i++ + " " + c.toString());
+			}
+		}
+		double buildingTime = (System.nanoTime() - buildingStart) / 1e9;
+		CpSolverStatus status = solveModel(solver, model);
+
+		// In prefix mode, only say if a schedule can still be running
+		if (prefix) {
+			Solution prefixSolution = new Solution(
+					status == CpSolverStatus.INFEASIBLE ? SolutionStatus.UNFEASIBLE : SolutionStatus.FEASIBLE);
+			prefixSolution.setSolvingTime(solver.wallTime());
+			prefixSolution.setBuildingTime(buildingTime);
+			return prefixSolution;
+		}
+
+		Solution solution;
+		if (status == CpSolverStatus.OPTIMAL || status == CpSolverStatus.FEASIBLE) {
+			if (verbose) {
+				System.out.println("Solution found: " + status);
+				System.out.println("Generating solution...");
+			}
+
+			// Write solution
+			long totalStall = solver.value(maximizationExpr);
+			SolutionBuilder builder = new SolutionBuilder(processorNumber);
+			int firstClass = -1;
+			for (int i = 0; i < maxPeriodNumber; i++) {
+				int[] accesses = new int[classNumber];
+				int[] operationStalls = new int[classNumber];
+				for (int j = 0; j < classNumber; j++) {
+					accesses[j] = (int) solver.value(accessVariables[i][j]);
+					operationStalls[j] = (int) solver.value(operationStallVariables[i][j]);
+				}
+				int computationAccesses = (int) solver.value(computationAccessVariables[i]);
+				int stall = (int) solver.value(stallVariables[i]);
+				int voidAccesses = (int) solver.value(voidAccessVariables[i]);
+
+				if (voidAccesses == regulationPeriod) {
+					if (verbose) {
+						System.out.println(
+								"Period %d onwards only has void accesses (CPU idle), skip...".formatted(i + 1));
+					}
+					break;
+				}
+
+				if (verbose) {
+					System.out.println();
+					System.out.println("Period %d".formatted(i + 1));
+					System.out.println("Accesses: %s".formatted(Arrays.toString(accesses)));
+					System.out.println("Computation performed: %d".formatted(computationAccesses));
+					System.out.println("Inter-processor stall: %d".formatted(stall));
+					System.out.println("Operation stalls: %s".formatted(Arrays.toString(operationStalls)));
+					System.out.println("Void accesses: %d".formatted(voidAccesses));
+					System.out.println("Max stall reached? %b".formatted(solver.booleanValue(maxStallVariables[i])));
+					System.out.println("Finished? %b".formatted(solver.booleanValue(finishedVariables[i])));
+				}
+
+				// Add an item with 0 length to begin
+				builder.addBeginPeriod();
+				int[] interferenceAccesses = interferenceAccessLimits.clone();
+
+				// If operation stall before, start with an access of its class
+				if (firstClass != -1) {
+					stall = addAccess(builder, interferenceAccesses, stall, latencies[firstClass],
+							interferenceLatency);
+					accesses[firstClass]--;
+				}
+
+				// Add accesses (and stall if any)
+				for (int j = 0; j < classNumber; j++) {
+					for (int a = 0; a < accesses[j]; a++) {
+						stall = addAccess(builder, interferenceAccesses, stall, latencies[j], interferenceLatency);
+					}
+				}
+
+				// Add computation, remaining stall, operation stall and void
+				builder.addComputation(computationAccesses, 0, true);
+				builder.addStall(stall, 0, true);
+				firstClass = -1;
+				for (int j = 0; j < classNumber; j++) {
+					if (operationStalls[j] > 0) {
+						builder.addStall(operationStalls[j], 0, true);
+						firstClass = j;
+					}
+				}
+				builder.addVoid(voidAccesses);
+
+				// Add an empty item to end
+				builder.addEndPeriod();
+
+				// Add the overhead to complete the period
+				builder.addStall(overhead, 0, true);
+			}
+
+			if (verbose) {
+				System.out.println();
+				System.out.println("Total stall: %d".formatted(totalStall));
+			}
+
+			solution = builder.build(SolutionStatus.valueOf(status.toString()));
+			solution.setTotalStall(totalStall);
+			solution.setStallBound(getStallBound(solver));
+		} else {
+			if (verbose) {
+				System.err.println("Something is wrong with the model: " + status);
+			}
+			solution = new Solution(getUnsolvedStatus(status));
+		}
+
+		if (verbose) {
+			System.out.println("Problem solved in %.4f seconds".formatted(solver.wallTime()));
+		}
+		solution.setSolvingTime(solver.wallTime());
+		solution.setBuildingTime(buildingTime);
+		solution.setModelSize(model.getBuilder().getVariablesCount(), model.getBuilder().getConstraintsCount());
+		solution.setSearchEffort(solver.numBranches(), solver.numConflicts());
+
+		return solution;
+	}
+
+	/**
+	 * Returns, for each interfering processor, the maximum number of accesses it
+	 * can do in a regulation period. Budgets of the interfering processors are
+	 * unknown, so their accesses are not limited.
+	 * 
+	 * @return the access limit of each interfering processor.
+	 */
+	protected int[] getInterferenceAccessLimits() {
+		int[] limits = new int[system.getProcessorNumber() - 1];
+		Arrays.fill(limits, Integer.MAX_VALUE);
+		return limits;
+	}
+
+	/**
+	 * Returns the interference stall of a period when some interfering processors
+	 * are limited: a processor with the access limit l interferes
+	 * <code>min(a, l)</code> times when the task does a accesses, and the stall is
+	 * at most P - Q. Processors are aggregated per limit, so there is one variable
+	 * per distinct limit whatever the number of processors.
+	 * 
+	 * @param model                   the model where variables are created.
+	 * @param accessVariables         the accesses of each class in the period.
+	 * @param unlimitedStallExpr      the stall of the unlimited processors.
+	 * @param limitedProcessorNumbers the number of limited processors per limit.
+	 * @param interferenceLatency     the latency of an interfering access.
+	 * @param remainingBudget         the maximum stall of a period (P - Q).
+	 * @param name                    the name prefix of the variables.
+	 * @return the interference stall of the period.
+	 */
+	private IntVar createLimitedStall(CpModel model, IntVar[] accessVariables, LinearArgument unlimitedStallExpr,
+			Map<Integer, Integer> limitedProcessorNumbers, int interferenceLatency, int remainingBudget,
+			String name) {
+		LinearExpr accessNumberExpr = LinearExpr.sum(accessVariables);
+		LinearExprBuilder stallExprBuilder = LinearExpr.newBuilder().add(unlimitedStallExpr);
+		for (Map.Entry<Integer, Integer> entry : limitedProcessorNumbers.entrySet()) {
+			int limit = entry.getKey();
+			IntVar interferenceAccesses = model.newIntVar(0, limit, "%s_limit_%d".formatted(name, limit));
+			model.addMinEquality(interferenceAccesses,
+					new LinearArgument[] { accessNumberExpr, LinearExpr.constant(limit) });
+			stallExprBuilder.addTerm(interferenceAccesses, (long) entry.getValue() * interferenceLatency);
+		}
+
+		IntVar stall = model.newIntVar(0, remainingBudget, name);
+		model.addMinEquality(stall,
+				new LinearArgument[] { stallExprBuilder.build(), LinearExpr.constant(remainingBudget) });
+		return stall;
+	}
+
+	private LinearExpr getBudgetUsedExpr(IntVar[] accessVariables, int[] latencies) {
+		long[] coefficients = new long[latencies.length];
+		for (int j = 0; j < latencies.length; j++) {
+			coefficients[j] = latencies[j];
+		}
+
+		return LinearExpr.weightedSum(accessVariables, coefficients);
+	}
+
+	private long[] filledArray(int length, long value) {
+		long[] array = new long[length];
+		Arrays.fill(array, value);
+		return array;
+	}
+
+	private int addAccess(SolutionBuilder builder, int[] interferenceAccesses, int stall, int latency,
+			int interferenceLatency) {
+		stall -= addInterProcessorStall(builder, interferenceAccesses, stall, interferenceLatency);
+		builder.addSharedResource(latency, 0, true);
+		return stall;
+	}
+
+	// Returns the number of stall unit put, one access per interfering processor
+	// that has accesses left in the period
+	private int addInterProcessorStall(SolutionBuilder builder, int[] interferenceAccesses, int remainingStall,
+			int interferenceLatency) {
+		int totalStall = 0;
+		for (int i = 0; i < interferenceAccesses.length && remainingStall > 0; i++) {
+			if (interferenceAccesses[i] > 0) {
+				int placedStall = Math.min(interferenceLatency, remainingStall);
+				remainingStall -= placedStall;
+				totalStall += placedStall;
+				interferenceAccesses[i]--;
+				builder.addSharedResource(placedStall, i + 1, true);
+			}
+		}
+
+		return totalStall;
+	}
+
+}
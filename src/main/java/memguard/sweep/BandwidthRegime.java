@@ -0,0 +1,112 @@
+package memguard.sweep;
+
+import memguard.logic.MemguardRWSystem;
+import memguard.solver.MemguardSolver;
+import memguard.solver.NormalizedSolver;
+import memguard.solver.memguardUU2C1B.MemguardUU2C1BOpStall;
+import memguard.solver.memguardUU2C1B.MemguardUU2C1BPortfolio;
+import memguard.solver.memguardUU2C1B.MemguardUU2C1BRconWreg;
+
+/**
+ * Bandwidth regime of a two counters Memguard system. Depending on the budget
+ * bandwidth (Q / P), reads and writes are either limited by the regulation or
+ * by the contention of the interfering cores. Each regime has its own result
+ * directory and its own solver.
+ * 
+ * @see SweepPoint
+ */
+public enum BandwidthRegime {
+
+	READ_REGULATION_WRITE_REGULATION("Rreg_Wreg"), READ_CONTENTION_WRITE_REGULATION("Rcon_Wreg"),
+	READ_CONTENTION_WRITE_CONTENTION("Rcon_Wcon");
+
+	private final String directoryName;
+
+	private BandwidthRegime(String directoryName) {
+		this.directoryName = directoryName;
+	}
+
+	/**
+	 * Returns the name of the directory where results of this regime are stored.
+	 * 
+	 * @return the name of the directory of this regime.
+	 */
+	public String getDirectoryName() {
+		return directoryName;
+	}
+
+	/**
+	 * Returns the class of the solver that is used for this regime.
+	 * 
+	 * @return the class of the solver used for this regime.
+	 */
+	public Class<? extends MemguardSolver> getSolverClass() {
+		return switch (this) {
+		case READ_CONTENTION_WRITE_REGULATION -> MemguardUU2C1BRconWreg.class;
+		default -> MemguardUU2C1BOpStall.class;
+		};
+	}
+
+	/**
+	 * Creates the solver that is used for this regime. It first solves the system
+	 * with its durations divided by their greatest common divisor to warm start
+	 * the solver of the regime (see {@link NormalizedSolver}), which is given by
+	 * {@link NormalizedSolver#getSolver()}.
+	 * 
+	 * @param system the system to solve.
+	 * @return the solver used for this regime.
+	 */
+	public MemguardSolver createSolver(MemguardRWSystem system) {
+		return new NormalizedSolver(createRegimeSolver(system));
+	}
+
+	private MemguardSolver createRegimeSolver(MemguardRWSystem system) {
+		return switch (this) {
+		case READ_CONTENTION_WRITE_REGULATION -> new MemguardUU2C1BRconWreg(system);
+		default -> new MemguardUU2C1BOpStall(system);
+		};
+	}
+
+	/**
+	 * Creates a portfolio racing the solver of this regime with the solvers known
+	 * to have the same optimum for the system (see
+	 * {@link MemguardUU2C1BPortfolio#getEquivalentVariants(MemguardSolver, MemguardRWSystem)}).
+	 * The system is not normalized: solvers are only raced when both latencies are
+	 * 1, and then durations cannot be divided.
+	 * 
+	 * @param system the system to solve.
+	 * @return a portfolio giving the same stall as the solver of this regime.
+	 */
+	public MemguardSolver createPortfolio(MemguardRWSystem system) {
+		return new MemguardUU2C1BPortfolio(system,
+				MemguardUU2C1BPortfolio.getEquivalentVariants(createRegimeSolver(system), system));
+	}
+
+	/**
+	 * Returns the regime of a system with the specified parameters.
+	 * 
+	 * @param processorNumber  the number of processors.
+	 * @param readLatency      the read latency.
+	 * @param writeLatency     the write latency.
+	 * @param regulationPeriod the regulation period.
+	 * @param budget           the budget of the analysed processor.
+	 * @return the regime of the system.
+	 */
+	public static BandwidthRegime of(int processorNumber, int readLatency, int writeLatency, int regulationPeriod,
+			int budget) {
+		float writeToRead = (float) writeLatency / readLatency;
+		float bandwidth = (float) budget / regulationPeriod;
+		float readBandwidth = 1f / (1 + (processorNumber - 1) * writeToRead);
+		float writeBandwidth = 1f / processorNumber;
+
+		if (bandwidth <= readBandwidth) {
+			return READ_REGULATION_WRITE_REGULATION;
+		}
+
+		if (bandwidth <= writeBandwidth) {
+			return READ_CONTENTION_WRITE_REGULATION;
+		}
+
+		return READ_CONTENTION_WRITE_CONTENTION;
+	}
+}
@@ -0,0 +1,206 @@
+package memguard.sweep;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import memguard.logic.MemguardRWSystem;
+import memguard.logic.ReadWriteTask;
+import memguard.logic.Task;
+import memguard.solution.Solution;
+import memguard.solution.SolutionStatus;
+import memguard.solver.MemguardSolver;
+import memguard.solver.NormalizedSolver;
+import memguard.solver.ScheduleHint;
+import memguard.solver.memguardUU2C1B.MemguardUU2C1BRconWreg;
+import memguard.solver.memguardUU2C1B.MemguardUU2C1BRconWregTemplate;
+
+/**
+ * <p>
+ * Solving session of a two counters system whose parameters are changed one at
+ * a time (usually the budget or the computation cost), for "what if" analysis.
+ * Each solve reuses what the previous solves computed:
+ * </p>
+ * 
+ * <ul>
+ * <li>optimal solutions are kept per system, so going back to a previous value
+ * does not solve anything.
+ * <li>the schedule of the last solve is given as hint to the next one, whatever
+ * parameter changed (see {@link ScheduleHint}, its values are clamped to the
+ * domains of the new model). When only the computation cost grew, its stall is
+ * also a lower bound of the new stall.
+ * <li>from the second solve of a budget, systems solved by
+ * {@link MemguardUU2C1BRconWreg} share a model template (see
+ * {@link MemguardUU2C1BRconWregTemplate}), so changing a cost only patches
+ * constants of an already built model. A template is rebuilt when the costs
+ * need more periods than it has, with the greatest costs seen so far.
+ * </ul>
+ * 
+ * <p>
+ * The solver of each system is the one of its bandwidth regime (see
+ * {@link BandwidthRegime#createSolver(MemguardRWSystem)}). The session is not
+ * thread safe.
+ * </p>
+ */
+public class IncrementalSession {
+
+	private SweepPoint point;
+	private Consumer<MemguardSolver> solverSetup;
+	private final Map<SweepPoint, Solution> solutions;
+	private final Map<SweepPoint, SweepPoint> templatePoints;
+	private final Map<SweepPoint, MemguardUU2C1BRconWregTemplate> templates;
+	private final Set<SweepPoint> solvedBudgets;
+	private ScheduleHint hint;
+	private int solveNumber;
+
+	/**
+	 * Creates a new session starting from the specified system. The system must
+	 * have one read write task on its first processor, with costs that are
+	 * multiples of the latencies.
+	 * 
+	 * @param system the system to start from.
+	 * @throws IllegalArgumentException if the system has no read write task or if
+	 *                                  its costs are not multiples of the
+	 *                                  latencies.
+	 */
+	public IncrementalSession(MemguardRWSystem system) {
+		Task task = system.getProcessor(0).getTask(0);
+		if (!(task instanceof ReadWriteTask rwtask)) {
+			throw new IllegalArgumentException("Task must be a ReadWriteTask");
+		}
+
+		this.point = new SweepPoint(system.getProcessorNumber(), system.getReadLatency(), system.getWriteLatency(),
+				system.getRegulationPeriod(), system.getBudget(0),
+				getAccessNumber(rwtask.getReadCost(), system.getReadLatency()),
+				getAccessNumber(rwtask.getWriteCost(), system.getWriteLatency()), rwtask.getComputationCost(),
+				rwtask.getDeadline());
+		this.solverSetup = solver -> {
+		};
+		this.solutions = new HashMap<SweepPoint, Solution>();
+		this.templatePoints = new HashMap<SweepPoint, SweepPoint>();
+		this.templates = new HashMap<SweepPoint, MemguardUU2C1BRconWregTemplate>();
+		this.solvedBudgets = new HashSet<SweepPoint>();
+		this.hint = null;
+		this.solveNumber = 0;
+	}
+
+	/**
+	 * Sets the setup applied to each created solver (workers, time limit,
+	 * symmetry breaking...). Templates are built by solvers with the same setup.
+	 * 
+	 * @param solverSetup the setup of the created solvers.
+	 */
+	public void setSolverSetup(Consumer<MemguardSolver> solverSetup) {
+		this.solverSetup = solverSetup;
+	}
+
+	/**
+	 * Returns the current parameters of the session.
+	 * 
+	 * @return the point of the current system.
+	 */
+	public SweepPoint getPoint() {
+		return point;
+	}
+
+	/**
+	 * Returns the current system of the session.
+	 * 
+	 * @return the current system.
+	 */
+	public MemguardRWSystem getSystem() {
+		return point.createSystem();
+	}
+
+	public void setBudget(int budget) {
+		point = point.withBudget(budget);
+	}
+
+	public void setReadCost(int readCost) {
+		point = point.withAccesses(getAccessNumber(readCost, point.getReadLatency()), point.getWriteAccess(),
+				point.getComputationAccess());
+	}
+
+	public void setWriteCost(int writeCost) {
+		point = point.withAccesses(point.getReadAccess(), getAccessNumber(writeCost, point.getWriteLatency()),
+				point.getComputationAccess());
+	}
+
+	public void setComputationCost(int computationCost) {
+		point = point.withComputationAccess(computationCost);
+	}
+
+	/**
+	 * Returns the number of systems that were really solved, the others being
+	 * already known.
+	 * 
+	 * @return the number of solves of this session.
+	 */
+	public int getSolveNumber() {
+		return solveNumber;
+	}
+
+	/**
+	 * Solves the current system, or returns its solution if it was already solved
+	 * to optimality in this session.
+	 * 
+	 * @return the solution of the current system.
+	 */
+	public Solution solve() {
+		Solution solution = solutions.get(point);
+		if (solution != null) {
+			return solution;
+		}
+
+		SweepPoint key = point.withAccesses(0, 0, 0);
+		MemguardSolver solver = point.createSolver();
+		solverSetup.accept(solver);
+		solver.setHint(hint);
+		boolean solvedBudget = !solvedBudgets.add(key);
+		if (solvedBudget && solver instanceof NormalizedSolver normalizedSolver
+				&& normalizedSolver.getSolver() instanceof MemguardUU2C1BRconWreg rconWregSolver) {
+			rconWregSolver.setTemplate(getTemplate(rconWregSolver, key));
+		}
+
+		solution = solver.solve(false);
+		solveNumber++;
+		if (solution.getScheduleHint() != null) {
+			hint = solution.getScheduleHint();
+		}
+
+		if (solution.getStatus() == SolutionStatus.OPTIMAL) {
+			solutions.put(point, solution);
+		}
+
+		return solution;
+	}
+
+	// Returns a template of the current budget with enough periods for the point
+	private MemguardUU2C1BRconWregTemplate getTemplate(MemguardUU2C1BRconWreg solver, SweepPoint key) {
+		MemguardUU2C1BRconWregTemplate template = templates.get(key);
+		if (template != null && solver.isCompatible(template)) {
+			return template;
+		}
+
+		SweepPoint templatePoint = templatePoints.merge(key, point,
+				(largest, other) -> key.withAccesses(Math.max(largest.getReadAccess(), other.getReadAccess()),
+						Math.max(largest.getWriteAccess(), other.getWriteAccess()),
+						Math.max(largest.getComputationAccess(), other.getComputationAccess())));
+		MemguardUU2C1BRconWreg templateSolver = new MemguardUU2C1BRconWreg(templatePoint.createSystem());
+		solverSetup.accept(templateSolver);
+		template = templateSolver.createTemplate();
+		templates.put(key, template);
+		return template;
+	}
+
+	private static int getAccessNumber(int cost, int latency) {
+		if (cost % latency != 0) {
+			throw new IllegalArgumentException("Cost %d is not a multiple of latency %d".formatted(cost, latency));
+		}
+
+		return cost / latency;
+	}
+
+}
@@ -0,0 +1,298 @@
+package memguard.sweep;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import memguard.solution.Solution;
+import memguard.solution.SolutionStatus;
+import memguard.solution.items.SolutionItem;
+import memguard.solver.ScheduleHint;
+
+/**
+ * <p>
+ * Sweep mode that only solves the points where the result changes. For fixed
+ * system parameters and fixed read and write accesses, the worst-case stall is
+ * non-decreasing in the computation cost: any schedule of a task can be kept
+ * for a longer task by adding the extra computation at its end, which does not
+ * remove any stall. Points are thus grouped in lines of increasing computation
+ * cost, and each line is bracketed: both ends are solved, and an interval is
+ * split in two by solving its middle point until its two ends have the same
+ * optimal stall. All points inside such an interval have that stall and are
+ * not solved.
+ * </p>
+ * 
+ * <p>
+ * Inferred points are given to the handler with an inferred solution (see
+ * {@link Solution#isInferred()}), which only has a status and a total stall.
+ * Intervals are only closed between two optimal solutions. If a solved point
+ * is not between the stalls of its interval ends, the monotonicity does not
+ * hold for this line: a warning is printed and all the points of the interval
+ * are solved.
+ * </p>
+ * 
+ * <p>
+ * All points are solved on the same pool (see {@link SweepExecutor}), and the
+ * middle point of an interval is submitted as soon as both its ends are solved,
+ * without waiting for other lines. Solved points are handled as soon as they
+ * are solved, inferred points as soon as their interval is closed, so points
+ * are not handled in the order of the list. Middle points are warm started with the solution of the lower end of
+ * their interval (see {@link ScheduleHint}), whose stall is also a lower bound.
+ * </p>
+ * 
+ * @see SweepExecutor
+ */
+public class MonotoneSweep {
+
+	private final SweepExecutor executor;
+	private int solvedNumber;
+	private int inferredNumber;
+	private int violationNumber;
+
+	/**
+	 * Creates a new monotone sweep solving points with the specified executor.
+	 * 
+	 * @param executor the executor solving points.
+	 */
+	public MonotoneSweep(SweepExecutor executor) {
+		this.executor = executor;
+		this.solvedNumber = 0;
+		this.inferredNumber = 0;
+		this.violationNumber = 0;
+	}
+
+	/**
+	 * Solves or infers all points and gives their solution to the handler. This
+	 * method returns when all points have been handled.
+	 * 
+	 * @param points  the points of the sweep.
+	 * @param handler the handler of the solutions.
+	 * @throws IOException          if the handler fails.
+	 * @throws InterruptedException if the calling thread is interrupted.
+	 */
+	public void execute(List<SweepPoint> points, SweepHandler handler) throws IOException, InterruptedException {
+		// Group points by line (everything but the computation cost)
+		Map<SweepPoint, List<SweepPoint>> linePoints = new LinkedHashMap<SweepPoint, List<SweepPoint>>();
+		for (SweepPoint point : points) {
+			linePoints.computeIfAbsent(point.withComputationAccess(0), key -> new ArrayList<SweepPoint>()).add(point);
+		}
+
+		try (SweepExecutor.Session session = executor.openSession(points)) {
+			// Solve both ends of each line, the interval of a line waits for both
+			Map<SweepPoint, Interval> waitingIntervals = new HashMap<SweepPoint, Interval>();
+			for (List<SweepPoint> pointsOfLine : linePoints.values()) {
+				pointsOfLine.sort(Comparator.comparingInt(SweepPoint::getComputationAccess));
+				Line line = new Line(pointsOfLine);
+
+				session.submit(line.getPoint(0), null);
+				if (line.size() > 1) {
+					Interval interval = new Interval(line, 0, line.size() - 1);
+					session.submit(line.getPoint(line.size() - 1), null);
+					waitingIntervals.put(interval.getLow(), interval);
+					waitingIntervals.put(interval.getHigh(), interval);
+				}
+			}
+
+			// Each solved point makes its interval progress, without waiting for others
+			while (session.getPendingNumber() > 0) {
+				session.take((point, solution) -> {
+					solvedNumber++;
+					handler.handle(point, solution);
+					session.release(point);
+
+					Interval interval = waitingIntervals.remove(point);
+					if (interval != null) {
+						interval.line.update(point, solution);
+						progress(interval, session, waitingIntervals, handler);
+					}
+				});
+			}
+		}
+	}
+
+	// Called when a point of the interval is solved
+	private void progress(Interval interval, SweepExecutor.Session session, Map<SweepPoint, Interval> waitingIntervals,
+			SweepHandler handler) throws IOException {
+		Line line = interval.line;
+		if (interval.middle < 0) {
+			// Ends of a line
+			if (line.isSolved(interval.low) && line.isSolved(interval.high)) {
+				bisect(interval, session, waitingIntervals, handler);
+			}
+			return;
+		}
+
+		if (!interval.isMonotone()) {
+			System.out.println("Stall is not monotone, solving all points between " + interval.getLow() + " and "
+					+ interval.getHigh());
+			violationNumber++;
+			for (int i = interval.low + 1; i < interval.high; i++) {
+				if (i != interval.middle) {
+					session.submit(line.getPoint(i), line.hints[interval.low]);
+				}
+			}
+			line.clearHint(interval.low);
+			line.clearHint(interval.middle);
+			return;
+		}
+
+		// Middle point solved, split in two
+		bisect(new Interval(line, interval.low, interval.middle), session, waitingIntervals, handler);
+		bisect(new Interval(line, interval.middle, interval.high), session, waitingIntervals, handler);
+	}
+
+	// Called when both ends of the interval are solved
+	private void bisect(Interval interval, SweepExecutor.Session session, Map<SweepPoint, Interval> waitingIntervals,
+			SweepHandler handler) throws IOException {
+		Line line = interval.line;
+		if (interval.high - interval.low <= 1) {
+			line.clearHint(interval.low);
+			return;
+		}
+
+		if (interval.canInfer()) {
+			line.clearHint(interval.low);
+			for (int i = interval.low + 1; i < interval.high; i++) {
+				Solution solution = createInferredSolution(line.statuses[interval.low], line.stalls[interval.low]);
+				inferredNumber++;
+				handler.handle(line.getPoint(i), solution);
+				session.release(line.getPoint(i));
+			}
+			return;
+		}
+
+		// Warm start the middle point with the lower end of the interval
+		interval.middle = (interval.low + interval.high) / 2;
+		SweepPoint point = line.getPoint(interval.middle);
+		session.submit(point, line.hints[interval.low]);
+		waitingIntervals.put(point, interval);
+	}
+
+	private Solution createInferredSolution(SolutionStatus status, long totalStall) {
+		Solution inferredSolution = new Solution(status, new SolutionItem[0][]);
+		inferredSolution.setTotalStall(totalStall);
+		inferredSolution.setInferred(true);
+		return inferredSolution;
+	}
+
+	/**
+	 * Returns the number of points that have been solved.
+	 * 
+	 * @return the number of solved points.
+	 */
+	public int getSolvedNumber() {
+		return solvedNumber;
+	}
+
+	/**
+	 * Returns the number of points that have been inferred from their neighbours.
+	 * 
+	 * @return the number of inferred points.
+	 */
+	public int getInferredNumber() {
+		return inferredNumber;
+	}
+
+	/**
+	 * Returns the number of intervals where the stall was not monotone, and where
+	 * all points were solved.
+	 * 
+	 * @return the number of monotonicity violations.
+	 */
+	public int getViolationNumber() {
+		return violationNumber;
+	}
+
+	/**
+	 * Points of a line with what is kept of their solution: the status, the total
+	 * stall and the hint to warm start neighbours.
+	 */
+	private static final class Line {
+
+		private final List<SweepPoint> points;
+		private final SolutionStatus[] statuses;
+		private final long[] stalls;
+		private final ScheduleHint[] hints;
+
+		public Line(List<SweepPoint> points) {
+			this.points = points;
+			this.statuses = new SolutionStatus[points.size()];
+			this.stalls = new long[points.size()];
+			this.hints = new ScheduleHint[points.size()];
+		}
+
+		public SweepPoint getPoint(int index) {
+			return points.get(index);
+		}
+
+		public int size() {
+			return points.size();
+		}
+
+		public void update(SweepPoint point, Solution solution) {
+			int index = points.indexOf(point);
+			statuses[index] = solution.getStatus();
+			stalls[index] = solution.getTotalStall();
+			// The last point is never the lower end of an interval
+			if (index < points.size() - 1) {
+				hints[index] = solution.getScheduleHint();
+			}
+		}
+
+		public boolean isSolved(int index) {
+			return statuses[index] != null;
+		}
+
+		public boolean isOptimal(int index) {
+			return statuses[index] == SolutionStatus.OPTIMAL;
+		}
+
+		// Hints are only kept while their point is the lower end of an interval
+		public void clearHint(int index) {
+			hints[index] = null;
+		}
+
+	}
+
+	private static final class Interval {
+
+		private final Line line;
+		private final int low;
+		private final int high;
+		private int middle;
+
+		public Interval(Line line, int low, int high) {
+			this.line = line;
+			this.low = low;
+			this.high = high;
+			this.middle = -1;
+		}
+
+		public SweepPoint getLow() {
+			return line.getPoint(low);
+		}
+
+		public SweepPoint getHigh() {
+			return line.getPoint(high);
+		}
+
+		public boolean isMonotone() {
+			if (!line.isOptimal(low) || !line.isOptimal(middle) || !line.isOptimal(high)) {
+				// Cannot say anything
+				return true;
+			}
+
+			return line.stalls[low] <= line.stalls[middle] && line.stalls[middle] <= line.stalls[high];
+		}
+
+		public boolean canInfer() {
+			return line.isOptimal(low) && line.isOptimal(high) && line.stalls[low] == line.stalls[high];
+		}
+
+	}
+
+}
@@ -0,0 +1,234 @@
+package memguard.sweep;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import memguard.solution.Solution;
+
+/**
+ * <p>
+ * Renders and saves solution images on a separate pool of threads, so that
+ * rendering and PNG encoding do not slow down solving. Solutions are handed
+ * off with {@link #submit(Solution, File)} and wait in a bounded queue: when
+ * the queue is full, the submitting thread blocks until an image has been
+ * written, so memory does not grow when solving is faster than rendering.
+ * </p>
+ * 
+ * <p>
+ * A listener can be given with each solution, and is called on the rendering
+ * thread once the image is written, for instance to only mark in a
+ * {@link SweepJournal} points whose image exists without blocking the solving
+ * loop. {@link #flush()} waits for all submitted images to be written. The
+ * first rendering or listener error is thrown once, by the next call to
+ * {@link #submit(Solution, File)}, {@link #flush()} or {@link #close()}.
+ * </p>
+ */
+public class RenderPipeline implements Closeable, Flushable {
+
+	private static final int QUEUED_IMAGES_PER_THREAD = 16;
+
+	private final ExecutorService pool;
+	private final Semaphore queueSlots;
+	private final int threadNumber;
+	private int pendingNumber;
+	private int renderedNumber;
+	private long renderTime;
+	private IOException failure;
+
+	/**
+	 * Creates a new pipeline.
+	 * 
+	 * @param threadNumber  the number of rendering threads.
+	 * @param queueCapacity the number of solutions that can wait to be rendered.
+	 */
+	public RenderPipeline(int threadNumber, int queueCapacity) {
+		this.threadNumber = Math.max(1, threadNumber);
+		this.pool = Executors.newFixedThreadPool(this.threadNumber, new RenderThreadFactory());
+		this.queueSlots = new Semaphore(this.threadNumber + Math.max(0, queueCapacity));
+		this.pendingNumber = 0;
+		this.renderedNumber = 0;
+		this.renderTime = 0;
+		this.failure = null;
+	}
+
+	/**
+	 * Creates a pipeline using a quarter of the available cores (at least one),
+	 * leaving the other cores for solving.
+	 * 
+	 * @return a pipeline for the available cores.
+	 */
+	public static RenderPipeline forAvailableCores() {
+		int threadNumber = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+		return new RenderPipeline(threadNumber, threadNumber * QUEUED_IMAGES_PER_THREAD);
+	}
+
+	public int getThreadNumber() {
+		return threadNumber;
+	}
+
+	/**
+	 * Returns the number of images that have been written.
+	 * 
+	 * @return the number of written images.
+	 */
+	public synchronized int getRenderedNumber() {
+		return renderedNumber;
+	}
+
+	/**
+	 * Returns the time spent rendering and writing images, summed over all
+	 * rendering threads, in seconds.
+	 * 
+	 * @return the total rendering time in seconds.
+	 */
+	public synchronized double getRenderTime() {
+		return renderTime / 1e9;
+	}
+
+	/**
+	 * Hands off a solution to be saved as an image in the specified file. This
+	 * blocks while the queue is full.
+	 * 
+	 * @param solution the solution to render.
+	 * @param file     the image file.
+	 * @throws IOException if a previous image could not be written, or if the
+	 *                     thread is interrupted while waiting.
+	 */
+	public void submit(Solution solution, File file) throws IOException {
+		submit(solution, file, writtenFile -> {
+		});
+	}
+
+	/**
+	 * Hands off a solution to be saved as an image in the specified file, and
+	 * calls the listener once the image is written. This blocks while the queue
+	 * is full.
+	 * 
+	 * @param solution the solution to render.
+	 * @param file     the image file.
+	 * @param listener the listener called on the rendering thread once the image
+	 *                 is written.
+	 * @throws IOException if a previous image could not be written, or if the
+	 *                     thread is interrupted while waiting.
+	 */
+	public void submit(Solution solution, File file, ImageListener listener) throws IOException {
+		checkFailure();
+
+		try {
+			queueSlots.acquire();
+		} catch (InterruptedException e) {
+			throw new InterruptedIOException("Interrupted while waiting to render " + file);
+		}
+
+		synchronized (this) {
+			pendingNumber++;
+		}
+
+		pool.execute(() -> render(solution, file, listener));
+	}
+
+	private void render(Solution solution, File file, ImageListener listener) {
+		IOException renderFailure = null;
+		long renderStart = System.nanoTime();
+		try {
+			solution.saveSolution(file);
+			listener.onImageWritten(file);
+		} catch (IOException | RuntimeException e) {
+			renderFailure = e instanceof IOException ioException ? ioException
+					: new IOException("Rendering failed for " + file, e);
+		} finally {
+			queueSlots.release();
+			synchronized (this) {
+				if (renderFailure == null) {
+					renderedNumber++;
+				} else if (failure == null) {
+					failure = renderFailure;
+				}
+
+				renderTime += System.nanoTime() - renderStart;
+				pendingNumber--;
+				notifyAll();
+			}
+		}
+	}
+
+	private synchronized void checkFailure() throws IOException {
+		if (failure != null) {
+			IOException thrownFailure = failure;
+			failure = null;
+			throw thrownFailure;
+		}
+	}
+
+	/**
+	 * Waits for all submitted images to be written.
+	 * 
+	 * @throws IOException if an image could not be written, or if the thread is
+	 *                     interrupted while waiting.
+	 */
+	@Override
+	public synchronized void flush() throws IOException {
+		while (pendingNumber > 0) {
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				throw new InterruptedIOException("Interrupted while waiting for images to be written");
+			}
+		}
+
+		checkFailure();
+	}
+
+	/**
+	 * Waits for all submitted images to be written and stops the rendering
+	 * threads.
+	 * 
+	 * @throws IOException if an image could not be written.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Listener of the images written by the pipeline.
+	 */
+	@FunctionalInterface
+	public static interface ImageListener {
+
+		/**
+		 * Called on the rendering thread once an image is written.
+		 * 
+		 * @param file the written image file.
+		 * @throws IOException if the listener fails.
+		 */
+		void onImageWritten(File file) throws IOException;
+
+	}
+
+	private static final class RenderThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger threadCount = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "render-worker-%d".formatted(threadCount.incrementAndGet()));
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
+}
@@ -0,0 +1,63 @@
+package memguard.sweep;
+
+/**
+ * Columns of the sweep result store. Each column is stored in its own file as
+ * a big-endian array of fixed size values, so that it can be memory-mapped and
+ * scanned without parsing.
+ * 
+ * @see SweepResultWriter
+ * @see SweepResultReader
+ */
+public enum SweepColumn {
+
+	PROCESSOR_NUMBER(ColumnType.INT), READ_LATENCY(ColumnType.INT), WRITE_LATENCY(ColumnType.INT),
+	REGULATION_PERIOD(ColumnType.INT), BUDGET(ColumnType.INT), READ_ACCESS(ColumnType.INT),
+	WRITE_ACCESS(ColumnType.INT), COMPUTATION_ACCESS(ColumnType.INT), DEADLINE(ColumnType.INT),
+	REGIME(ColumnType.INT), STATUS(ColumnType.INT), TOTAL_STALL(ColumnType.LONG), RESPONSE_TIME(ColumnType.INT),
+	PERIOD_NUMBER(ColumnType.INT), SOLVING_TIME(ColumnType.DOUBLE), VARIABLE_NUMBER(ColumnType.INT),
+	CONSTRAINT_NUMBER(ColumnType.INT), INFERRED(ColumnType.INT);
+
+	/**
+	 * Type of the values of a column.
+	 */
+	public static enum ColumnType {
+		INT(Integer.BYTES, "i32"), LONG(Long.BYTES, "i64"), DOUBLE(Double.BYTES, "f64");
+
+		private final int size;
+		private final String extension;
+
+		private ColumnType(int size, String extension) {
+			this.size = size;
+			this.extension = extension;
+		}
+
+		/**
+		 * Returns the size in bytes of one value.
+		 * 
+		 * @return the size in bytes of one value.
+		 */
+		public int getSize() {
+			return size;
+		}
+	}
+
+	private final ColumnType type;
+
+	private SweepColumn(ColumnType type) {
+		this.type = type;
+	}
+
+	public ColumnType getType() {
+		return type;
+	}
+
+	/**
+	 * Returns the name of the file storing this column.
+	 * 
+	 * @return the name of the file storing this column.
+	 */
+	public String getFileName() {
+		return name().toLowerCase() + "." + type.extension;
+	}
+
+}
@@ -0,0 +1,464 @@
+package memguard.sweep;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import memguard.solution.Solution;
+import memguard.solver.MemguardSolver;
+import memguard.solver.NormalizedSolver;
+import memguard.solver.ScheduleHint;
+import memguard.solver.Solver;
+import memguard.solver.SolverConfiguration;
+import memguard.solver.SymmetryBreaking;
+import memguard.solver.memguardUU2C1B.MemguardUU2C1BRconWreg;
+import memguard.solver.memguardUU2C1B.MemguardUU2C1BRconWregTemplate;
+
+/**
+ * <p>
+ * Solves the points of a sweep on a bounded pool of worker threads. Points are
+ * independent, so they are solved concurrently, but solutions are always given
+ * to the {@link SweepHandler} in the order of the points, on the calling
+ * thread. Only a bounded number of points are in flight at the same time, so
+ * memory does not grow with the size of the sweep.
+ * </p>
+ * 
+ * <p>
+ * The available cores are split between the number of points solved at the
+ * same time and the number of CP-SAT workers per solve (see
+ * {@link #forPointNumber(int)}), or following the number of workers of a
+ * solver configuration (see
+ * {@link #forConfiguration(int, SolverConfiguration)}).
+ * </p>
+ * 
+ * <p>
+ * Points are solved by the solver of their regime, warm started by the
+ * solution of the point with its durations divided by their greatest common
+ * divisor (see {@link SweepPoint#createSolver()}). Points that only differ by
+ * their accesses can share the model of their solver (see
+ * {@link #setTemplates(boolean)}).
+ * </p>
+ * 
+ * @see SweepPoint
+ * @see SweepHandler
+ */
+public class SweepExecutor {
+
+	private static final int IN_FLIGHT_POINTS_PER_THREAD = 4;
+
+	private final int threadNumber;
+	private final int solverWorkerNumber;
+	private SolverConfiguration configuration;
+	private boolean portfolio;
+	private boolean templates;
+	private boolean heuristicBounds;
+	private SymmetryBreaking symmetryBreaking;
+	private boolean leanEncoding;
+
+	/**
+	 * Creates a new executor.
+	 * 
+	 * @param threadNumber       the number of points solved at the same time.
+	 * @param solverWorkerNumber the number of CP-SAT workers per solve.
+	 */
+	public SweepExecutor(int threadNumber, int solverWorkerNumber) {
+		this.threadNumber = Math.max(1, threadNumber);
+		this.solverWorkerNumber = Math.max(1, solverWorkerNumber);
+		this.configuration = new SolverConfiguration();
+		this.portfolio = false;
+		this.templates = false;
+		this.heuristicBounds = false;
+		this.symmetryBreaking = SymmetryBreaking.ORDERED;
+		this.leanEncoding = false;
+	}
+
+	/**
+	 * Creates an executor that splits the available cores for a sweep of the
+	 * specified size. When there are more points than cores, each point is solved
+	 * by a single CP-SAT worker and all cores solve points concurrently (CP-SAT
+	 * scales worse than independent solves). When there are fewer points, the
+	 * remaining cores are given to CP-SAT.
+	 * 
+	 * @param pointNumber the number of points of the sweep.
+	 * @return an executor for the sweep.
+	 */
+	public static SweepExecutor forPointNumber(int pointNumber) {
+		int coreNumber = Runtime.getRuntime().availableProcessors();
+		if (pointNumber >= coreNumber) {
+			return new SweepExecutor(coreNumber, 1);
+		}
+
+		int threadNumber = Math.max(1, pointNumber);
+		return new SweepExecutor(threadNumber, coreNumber / threadNumber);
+	}
+
+	/**
+	 * Creates an executor giving each solve the number of workers of the
+	 * configuration (all cores when it is 0), and solving as many points at the
+	 * same time as the cores allow. The configuration is used for all solves (see
+	 * {@link #setConfiguration(SolverConfiguration)}).
+	 * 
+	 * @param pointNumber   the number of points of the sweep.
+	 * @param configuration the CP-SAT parameters of each solve.
+	 * @return an executor for the sweep.
+	 */
+	public static SweepExecutor forConfiguration(int pointNumber, SolverConfiguration configuration) {
+		int coreNumber = Runtime.getRuntime().availableProcessors();
+		int solverWorkerNumber = configuration.getWorkerNumber() > 0 ? configuration.getWorkerNumber() : coreNumber;
+		int threadNumber = Math.min(Math.max(1, pointNumber), Math.max(1, coreNumber / solverWorkerNumber));
+		SweepExecutor executor = new SweepExecutor(threadNumber, solverWorkerNumber);
+		executor.setConfiguration(configuration);
+		return executor;
+	}
+
+	public int getThreadNumber() {
+		return threadNumber;
+	}
+
+	public int getSolverWorkerNumber() {
+		return solverWorkerNumber;
+	}
+
+	/**
+	 * Sets the CP-SAT parameters of each solve. The number of workers of the
+	 * configuration is replaced by the number of workers of this executor (see
+	 * {@link #getSolverWorkerNumber()}).
+	 * 
+	 * @param configuration the CP-SAT parameters of each solve.
+	 */
+	public void setConfiguration(SolverConfiguration configuration) {
+		this.configuration = configuration;
+	}
+
+	public SolverConfiguration getConfiguration() {
+		return configuration;
+	}
+
+	/**
+	 * Sets whether points are solved by racing equivalent solvers (see
+	 * {@link SweepPoint#createPortfolio()}) instead of the solver of their
+	 * regime. The CP-SAT workers of a point are split between the raced solvers.
+	 * 
+	 * @param portfolio true to race equivalent solvers.
+	 */
+	public void setPortfolio(boolean portfolio) {
+		this.portfolio = portfolio;
+	}
+
+	public boolean isPortfolio() {
+		return portfolio;
+	}
+
+	/**
+	 * Sets whether points solved by {@link MemguardUU2C1BRconWreg} share the
+	 * model of all points with the same system but other accesses (see
+	 * {@link MemguardUU2C1BRconWregTemplate}). The model is built once, with the
+	 * greatest accesses of these points, and each point only patches its costs.
+	 * It is released when all these points have been handled. Templates are not
+	 * used by portfolios.
+	 * 
+	 * @param templates true to share models between points.
+	 */
+	public void setTemplates(boolean templates) {
+		this.templates = templates;
+	}
+
+	public boolean isTemplates() {
+		return templates;
+	}
+
+	/**
+	 * Sets whether each solver computes bounds of the stall before solving, and
+	 * skips the solve when they are equal (see
+	 * {@link MemguardSolver#setHeuristicBounds(boolean)}).
+	 * 
+	 * @param heuristicBounds true to compute bounds before solving.
+	 */
+	public void setHeuristicBounds(boolean heuristicBounds) {
+		this.heuristicBounds = heuristicBounds;
+	}
+
+	public boolean isHeuristicBounds() {
+		return heuristicBounds;
+	}
+
+	/**
+	 * Sets the constraints ordering the periods of each solver, templates included
+	 * (see {@link MemguardSolver#setSymmetryBreaking(SymmetryBreaking)}).
+	 * 
+	 * @param symmetryBreaking the constraints ordering the periods.
+	 */
+	public void setSymmetryBreaking(SymmetryBreaking symmetryBreaking) {
+		this.symmetryBreaking = symmetryBreaking;
+	}
+
+	public SymmetryBreaking getSymmetryBreaking() {
+		return symmetryBreaking;
+	}
+
+	/**
+	 * Sets whether each solver uses the lean encoding of the period booleans,
+	 * templates included (see {@link MemguardSolver#setLeanEncoding(boolean)}).
+	 * 
+	 * @param leanEncoding true to use the lean encoding.
+	 */
+	public void setLeanEncoding(boolean leanEncoding) {
+		this.leanEncoding = leanEncoding;
+	}
+
+	public boolean isLeanEncoding() {
+		return leanEncoding;
+	}
+
+	/**
+	 * Solves all points and gives their solution to the handler in the order of
+	 * the list. This method returns when all points have been handled.
+	 * 
+	 * @param points  the points to solve.
+	 * @param handler the handler of the solutions.
+	 * @throws IOException          if the handler fails.
+	 * @throws InterruptedException if the calling thread is interrupted.
+	 */
+	public void execute(List<SweepPoint> points, SweepHandler handler) throws IOException, InterruptedException {
+		execute(points, point -> null, handler);
+	}
+
+	/**
+	 * Solves all points, warm starting each solve with the hint given for its
+	 * point, and gives their solution to the handler in the order of the list.
+	 * This method returns when all points have been handled.
+	 * 
+	 * @param points  the points to solve.
+	 * @param hints   the hint of each point, returning null for no hint.
+	 * @param handler the handler of the solutions.
+	 * @throws IOException          if the handler fails.
+	 * @throws InterruptedException if the calling thread is interrupted.
+	 * @see ScheduleHint
+	 */
+	public void execute(List<SweepPoint> points, Function<SweepPoint, ScheduleHint> hints, SweepHandler handler)
+			throws IOException, InterruptedException {
+		// Load libraries once before starting the workers
+		Solver.init();
+
+		TemplateCache templateCache = templates && !portfolio ? new TemplateCache(points, symmetryBreaking, leanEncoding)
+				: null;
+		ExecutorService pool = Executors.newFixedThreadPool(threadNumber, new SweepThreadFactory());
+		try {
+			Deque<Future<Solution>> inFlight = new ArrayDeque<Future<Solution>>();
+			Deque<SweepPoint> inFlightPoints = new ArrayDeque<SweepPoint>();
+			Iterator<SweepPoint> iterator = points.iterator();
+			int maxInFlight = threadNumber * IN_FLIGHT_POINTS_PER_THREAD;
+
+			while (iterator.hasNext() || !inFlight.isEmpty()) {
+				// Fill the window
+				while (iterator.hasNext() && inFlight.size() < maxInFlight) {
+					SweepPoint point = iterator.next();
+					ScheduleHint hint = hints.apply(point);
+					inFlight.addLast(pool.submit(() -> solve(point, hint, templateCache)));
+					inFlightPoints.addLast(point);
+				}
+
+				// Handle the oldest point (keeps the order of the list)
+				SweepPoint point = inFlightPoints.removeFirst();
+				Solution solution = waitFor(inFlight.removeFirst(), point);
+				handler.handle(point, solution);
+				if (templateCache != null) {
+					templateCache.release(point);
+				}
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Opens a session solving points submitted one at a time on a single pool,
+	 * for sweeps choosing the next points from the solutions of the previous ones
+	 * (see {@link MonotoneSweep}). Templates are shared between the specified
+	 * points, each of them must be released once handled, solved or not.
+	 * 
+	 * @param points all the points that can be submitted to the session.
+	 * @return the session, to close when the sweep is done.
+	 */
+	Session openSession(List<SweepPoint> points) {
+		// Load libraries once before starting the workers
+		Solver.init();
+
+		TemplateCache templateCache = templates && !portfolio ? new TemplateCache(points, symmetryBreaking, leanEncoding)
+				: null;
+		return new Session(Executors.newFixedThreadPool(threadNumber, new SweepThreadFactory()), templateCache);
+	}
+
+	private Solution solve(SweepPoint point, ScheduleHint hint, TemplateCache templateCache) {
+		MemguardSolver solver = portfolio ? point.createPortfolio() : point.createSolver();
+		if (templateCache != null && solver instanceof NormalizedSolver normalizedSolver
+				&& normalizedSolver.getSolver() instanceof MemguardUU2C1BRconWreg rconWregSolver) {
+			rconWregSolver.setTemplate(templateCache.get(point));
+		}
+
+		solver.setConfiguration(new SolverConfiguration(configuration));
+		solver.setWorkerNumber(solverWorkerNumber);
+		solver.setHint(hint);
+		solver.setHeuristicBounds(heuristicBounds);
+		solver.setSymmetryBreaking(symmetryBreaking);
+		solver.setLeanEncoding(leanEncoding);
+		return solver.solve(false);
+	}
+
+	private Solution waitFor(Future<Solution> future, SweepPoint point) throws InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Solving failed for: " + point, e.getCause());
+		}
+	}
+
+	/**
+	 * Points being solved by the pool of a sweep, given back in the order they
+	 * are solved.
+	 */
+	final class Session implements AutoCloseable {
+
+		private final ExecutorService pool;
+		private final CompletionService<Solution> completion;
+		private final Map<Future<Solution>, SweepPoint> pendingPoints;
+		private final TemplateCache templateCache;
+
+		private Session(ExecutorService pool, TemplateCache templateCache) {
+			this.pool = pool;
+			this.completion = new ExecutorCompletionService<Solution>(pool);
+			this.pendingPoints = new HashMap<Future<Solution>, SweepPoint>();
+			this.templateCache = templateCache;
+		}
+
+		/**
+		 * Starts solving a point as soon as a thread is available.
+		 * 
+		 * @param point the point to solve.
+		 * @param hint  the hint of the solve, or null.
+		 */
+		public void submit(SweepPoint point, ScheduleHint hint) {
+			pendingPoints.put(completion.submit(() -> solve(point, hint, templateCache)), point);
+		}
+
+		/**
+		 * Returns the number of points submitted but not taken yet.
+		 * 
+		 * @return the number of pending points.
+		 */
+		public int getPendingNumber() {
+			return pendingPoints.size();
+		}
+
+		/**
+		 * Waits for the next solved point and gives its solution to the handler.
+		 * 
+		 * @param handler the handler of the solution, which can submit new points.
+		 * @throws IOException          if the handler fails.
+		 * @throws InterruptedException if the calling thread is interrupted.
+		 */
+		public void take(SweepHandler handler) throws IOException, InterruptedException {
+			Future<Solution> future = completion.take();
+			SweepPoint point = pendingPoints.remove(future);
+			handler.handle(point, waitFor(future, point));
+		}
+
+		/**
+		 * Releases the template of a handled point.
+		 * 
+		 * @param point the handled point.
+		 */
+		public void release(SweepPoint point) {
+			if (templateCache != null) {
+				templateCache.release(point);
+			}
+		}
+
+		@Override
+		public void close() {
+			pool.shutdownNow();
+		}
+
+	}
+
+	/**
+	 * Templates of the points of a sweep, keyed by the point without accesses. A
+	 * template is built by the first thread needing it and removed once all the
+	 * points using it have been handled.
+	 */
+	private static final class TemplateCache {
+
+		private final Map<SweepPoint, SweepPoint> largestPoints;
+		private final Map<SweepPoint, Integer> remainingNumbers;
+		private final Map<SweepPoint, MemguardUU2C1BRconWregTemplate> templates;
+		private final SymmetryBreaking symmetryBreaking;
+		private final boolean leanEncoding;
+
+		public TemplateCache(List<SweepPoint> points, SymmetryBreaking symmetryBreaking, boolean leanEncoding) {
+			this.symmetryBreaking = symmetryBreaking;
+			this.leanEncoding = leanEncoding;
+			largestPoints = new HashMap<SweepPoint, SweepPoint>();
+			remainingNumbers = new HashMap<SweepPoint, Integer>();
+			templates = new ConcurrentHashMap<SweepPoint, MemguardUU2C1BRconWregTemplate>();
+			for (SweepPoint point : points) {
+				SweepPoint key = getKey(point);
+				largestPoints.merge(key, point,
+						(largest, other) -> key.withAccesses(Math.max(largest.getReadAccess(), other.getReadAccess()),
+								Math.max(largest.getWriteAccess(), other.getWriteAccess()),
+								Math.max(largest.getComputationAccess(), other.getComputationAccess())));
+				remainingNumbers.merge(key, 1, Integer::sum);
+			}
+		}
+
+		private static SweepPoint getKey(SweepPoint point) {
+			return point.withAccesses(0, 0, 0);
+		}
+
+		public MemguardUU2C1BRconWregTemplate get(SweepPoint point) {
+			return templates.computeIfAbsent(getKey(point), key -> {
+				MemguardUU2C1BRconWreg solver = new MemguardUU2C1BRconWreg(largestPoints.get(key).createSystem());
+				solver.setSymmetryBreaking(symmetryBreaking);
+				solver.setLeanEncoding(leanEncoding);
+				return solver.createTemplate();
+			});
+		}
+
+		// Called once the solution of each point is handled
+		public void release(SweepPoint point) {
+			SweepPoint key = getKey(point);
+			if (remainingNumbers.merge(key, -1, Integer::sum) == 0) {
+				remainingNumbers.remove(key);
+				templates.remove(key);
+			}
+		}
+
+	}
+
+	private static final class SweepThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger threadCount = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "sweep-worker-%d".formatted(threadCount.incrementAndGet()));
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
+}
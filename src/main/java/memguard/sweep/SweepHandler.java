@@ -0,0 +1,25 @@
+package memguard.sweep;
+
+import java.io.IOException;
+
+import memguard.solution.Solution;
+
+/**
+ * Receives the solutions of a sweep. Solutions are given in the order of the
+ * sweep points, always on the thread that started the sweep.
+ * 
+ * @see SweepExecutor
+ */
+@FunctionalInterface
+public interface SweepHandler {
+
+	/**
+	 * Handles the solution of a sweep point.
+	 * 
+	 * @param point    the solved point.
+	 * @param solution the solution of the point.
+	 * @throws IOException if the solution cannot be written.
+	 */
+	void handle(SweepPoint point, Solution solution) throws IOException;
+
+}
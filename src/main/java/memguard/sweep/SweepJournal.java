@@ -0,0 +1,183 @@
+package memguard.sweep;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>
+ * Append-only journal of the points of a sweep that have been completed. Each
+ * line of the journal is the key of a point and of the solver used to solve it
+ * (see {@link #getKey(SweepPoint)}). When a sweep is restarted with the same
+ * journal, completed points can be skipped.
+ * </p>
+ * 
+ * <p>
+ * Entries are written by batches of {@value #SYNC_ENTRY_NUMBER} entries or
+ * every {@value #SYNC_DELAY_MILLIS} ms, so that a crash loses at most a few
+ * seconds of work without syncing for every point. A line that was only
+ * partially written when the process died is discarded when the journal is
+ * opened again.
+ * </p>
+ * 
+ * <p>
+ * Outputs of the sweep can be registered with {@link #addDependency(Flushable)}:
+ * they are flushed before a batch is written, so a point is never journaled
+ * before its results are written. After a crash, the last results may be
+ * written twice since their points were not journaled yet.
+ * </p>
+ * 
+ * @see SweepPoint
+ */
+public class SweepJournal implements Closeable {
+
+	private static final int SYNC_ENTRY_NUMBER = 256;
+	private static final long SYNC_DELAY_MILLIS = 2000;
+
+	private final FileChannel channel;
+	private final Set<String> completedKeys;
+	private final List<Flushable> dependencies;
+	private final StringBuilder unsyncedEntries;
+	private int unsyncedEntryNumber;
+	private long lastSyncTime;
+
+	/**
+	 * Opens the journal stored in the specified file, creating it if it does not
+	 * exist. Existing entries are loaded.
+	 * 
+	 * @param file the journal file.
+	 * @throws IOException if the journal cannot be read or opened.
+	 */
+	public SweepJournal(File file) throws IOException {
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		completedKeys = new HashSet<String>();
+		dependencies = new ArrayList<Flushable>();
+		unsyncedEntries = new StringBuilder();
+
+		// Read all complete lines and drop a partially written last line
+		ByteBuffer content = ByteBuffer.allocate((int) channel.size());
+		while (content.hasRemaining()) {
+			if (channel.read(content) < 0) {
+				break;
+			}
+		}
+		byte[] bytes = content.array();
+
+		int lineStart = 0;
+		for (int i = 0; i < bytes.length; i++) {
+			if (bytes[i] == '\n') {
+				if (i > lineStart) {
+					completedKeys.add(new String(bytes, lineStart, i - lineStart, StandardCharsets.UTF_8));
+				}
+				lineStart = i + 1;
+			}
+		}
+
+		channel.truncate(lineStart);
+		channel.position(lineStart);
+		unsyncedEntryNumber = 0;
+		lastSyncTime = System.currentTimeMillis();
+	}
+
+	/**
+	 * Returns the key of a point in the journal. It is made of the point's
+	 * parameters and of the name of the solver used for it, so that changing the
+	 * solver of a regime invalidates previous entries.
+	 * 
+	 * @param point the sweep point.
+	 * @return the key of the point.
+	 */
+	public static String getKey(SweepPoint point) {
+		return "m%d_LR%d_LW%d_P%d_Q%d_r%d_w%d_e%d %s".formatted(point.getProcessorNumber(), point.getReadLatency(),
+				point.getWriteLatency(), point.getRegulationPeriod(), point.getBudget(), point.getReadAccess(),
+				point.getWriteAccess(), point.getComputationAccess(), point.getRegime().getSolverClass().getSimpleName());
+	}
+
+	/**
+	 * Registers an output that must be flushed before entries are written to the
+	 * journal.
+	 * 
+	 * @param dependency the output to flush before writing entries.
+	 */
+	public synchronized void addDependency(Flushable dependency) {
+		dependencies.add(dependency);
+	}
+
+	/**
+	 * Returns true if the point has already been completed.
+	 * 
+	 * @param point the sweep point.
+	 * @return true if the point is in the journal.
+	 */
+	public synchronized boolean isCompleted(SweepPoint point) {
+		return completedKeys.contains(getKey(point));
+	}
+
+	/**
+	 * Returns the number of completed points in the journal.
+	 * 
+	 * @return the number of completed points.
+	 */
+	public synchronized int getCompletedNumber() {
+		return completedKeys.size();
+	}
+
+	/**
+	 * Marks a point as completed. The entry is written and synchronized to the
+	 * disk with the next batch.
+	 * 
+	 * @param point the completed point.
+	 * @throws IOException if the entry cannot be written.
+	 */
+	public synchronized void markCompleted(SweepPoint point) throws IOException {
+		String key = getKey(point);
+		if (completedKeys.add(key)) {
+			unsyncedEntries.append(key).append('\n');
+			unsyncedEntryNumber++;
+			long now = System.currentTimeMillis();
+			if (unsyncedEntryNumber >= SYNC_ENTRY_NUMBER || now - lastSyncTime >= SYNC_DELAY_MILLIS) {
+				sync();
+			}
+		}
+	}
+
+	/**
+	 * Flushes the dependencies, then writes and synchronizes all pending entries to
+	 * the disk.
+	 * 
+	 * @throws IOException if the file cannot be synchronized.
+	 */
+	public synchronized void sync() throws IOException {
+		if (unsyncedEntryNumber > 0) {
+			for (Flushable dependency : dependencies) {
+				dependency.flush();
+			}
+
+			ByteBuffer entries = ByteBuffer.wrap(unsyncedEntries.toString().getBytes(StandardCharsets.UTF_8));
+			while (entries.hasRemaining()) {
+				channel.write(entries);
+			}
+			channel.force(false);
+			unsyncedEntries.setLength(0);
+			unsyncedEntryNumber = 0;
+		}
+		lastSyncTime = System.currentTimeMillis();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		sync();
+		channel.close();
+	}
+
+}
@@ -0,0 +1,196 @@
+package memguard.sweep;
+
+import java.util.Objects;
+
+import memguard.logic.MemguardRWSystem;
+import memguard.logic.ReadWriteTask;
+import memguard.solver.MemguardSolver;
+
+/**
+ * One point of a parameter sweep: a two counters system with one task on the
+ * first processor. Accesses are given in number of accesses, costs are
+ * obtained by multiplying them by the latencies. The implementation is static,
+ * meaning that you cannot modify a point after creating it.
+ * 
+ * @see BandwidthRegime
+ * @see SweepExecutor
+ */
+public class SweepPoint {
+
+	private final int processorNumber;
+	private final int readLatency;
+	private final int writeLatency;
+	private final int regulationPeriod;
+	private final int budget;
+	private final int readAccess;
+	private final int writeAccess;
+	private final int computationAccess;
+	private final int deadline;
+
+	/**
+	 * Creates a new sweep point.
+	 * 
+	 * @param processorNumber   the number of processors.
+	 * @param readLatency       the read latency.
+	 * @param writeLatency      the write latency.
+	 * @param regulationPeriod  the regulation period.
+	 * @param budget            the budget of the analysed processor.
+	 * @param readAccess        the number of read accesses of the task.
+	 * @param writeAccess       the number of write accesses of the task.
+	 * @param computationAccess the computation cost of the task.
+	 * @param deadline          the deadline of the task.
+	 */
+	public SweepPoint(int processorNumber, int readLatency, int writeLatency, int regulationPeriod, int budget,
+			int readAccess, int writeAccess, int computationAccess, int deadline) {
+		this.processorNumber = processorNumber;
+		this.readLatency = readLatency;
+		this.writeLatency = writeLatency;
+		this.regulationPeriod = regulationPeriod;
+		this.budget = budget;
+		this.readAccess = readAccess;
+		this.writeAccess = writeAccess;
+		this.computationAccess = computationAccess;
+		this.deadline = deadline;
+	}
+
+	public int getProcessorNumber() {
+		return processorNumber;
+	}
+
+	public int getReadLatency() {
+		return readLatency;
+	}
+
+	public int getWriteLatency() {
+		return writeLatency;
+	}
+
+	public int getRegulationPeriod() {
+		return regulationPeriod;
+	}
+
+	public int getBudget() {
+		return budget;
+	}
+
+	public int getReadAccess() {
+		return readAccess;
+	}
+
+	public int getWriteAccess() {
+		return writeAccess;
+	}
+
+	public int getComputationAccess() {
+		return computationAccess;
+	}
+
+	public int getDeadline() {
+		return deadline;
+	}
+
+	/**
+	 * Returns a copy of this point with another computation cost.
+	 * 
+	 * @param computationAccess the computation cost of the new point.
+	 * @return a copy of this point with the specified computation cost.
+	 */
+	public SweepPoint withComputationAccess(int computationAccess) {
+		return new SweepPoint(processorNumber, readLatency, writeLatency, regulationPeriod, budget, readAccess,
+				writeAccess, computationAccess, deadline);
+	}
+
+	/**
+	 * Returns a copy of this point with other accesses.
+	 * 
+	 * @param readAccess        the number of read accesses of the new point.
+	 * @param writeAccess       the number of write accesses of the new point.
+	 * @param computationAccess the computation cost of the new point.
+	 * @return a copy of this point with the specified accesses.
+	 */
+	public SweepPoint withAccesses(int readAccess, int writeAccess, int computationAccess) {
+		return new SweepPoint(processorNumber, readLatency, writeLatency, regulationPeriod, budget, readAccess,
+				writeAccess, computationAccess, deadline);
+	}
+
+	/**
+	 * Returns a copy of this point with another budget.
+	 * 
+	 * @param budget the budget of the analysed processor of the new point.
+	 * @return a copy of this point with the specified budget.
+	 */
+	public SweepPoint withBudget(int budget) {
+		return new SweepPoint(processorNumber, readLatency, writeLatency, regulationPeriod, budget, readAccess,
+				writeAccess, computationAccess, deadline);
+	}
+
+	/**
+	 * Returns the bandwidth regime of this point.
+	 * 
+	 * @return the bandwidth regime of this point.
+	 */
+	public BandwidthRegime getRegime() {
+		return BandwidthRegime.of(processorNumber, readLatency, writeLatency, regulationPeriod, budget);
+	}
+
+	/**
+	 * Creates the system corresponding to this point.
+	 * 
+	 * @return the system corresponding to this point.
+	 */
+	public MemguardRWSystem createSystem() {
+		int[] budgets = { budget };
+		ReadWriteTask task = new ReadWriteTask(readAccess * readLatency, writeAccess * writeLatency,
+				computationAccess, deadline);
+		return new MemguardRWSystem(processorNumber, readLatency, writeLatency, regulationPeriod, budgets, task);
+	}
+
+	/**
+	 * Creates the solver of this point's regime for this point's system.
+	 * 
+	 * @return the solver for this point.
+	 */
+	public MemguardSolver createSolver() {
+		return getRegime().createSolver(createSystem());
+	}
+
+	/**
+	 * Creates a portfolio racing the solver of this point's regime with
+	 * equivalent solvers for this point's system.
+	 * 
+	 * @return the portfolio for this point.
+	 * @see BandwidthRegime#createPortfolio(MemguardRWSystem)
+	 */
+	public MemguardSolver createPortfolio() {
+		return getRegime().createPortfolio(createSystem());
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+
+		if (!(obj instanceof SweepPoint other)) {
+			return false;
+		}
+
+		return processorNumber == other.processorNumber && readLatency == other.readLatency
+				&& writeLatency == other.writeLatency && regulationPeriod == other.regulationPeriod
+				&& budget == other.budget && readAccess == other.readAccess && writeAccess == other.writeAccess
+				&& computationAccess == other.computationAccess && deadline == other.deadline;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(processorNumber, readLatency, writeLatency, regulationPeriod, budget, readAccess,
+				writeAccess, computationAccess, deadline);
+	}
+
+	@Override
+	public String toString() {
+		return "m = %d, LR = %d, LW = %d, P = %d, Q = %d, r = %d, w = %d, e = %d".formatted(processorNumber,
+				readLatency, writeLatency, regulationPeriod, budget, readAccess, writeAccess, computationAccess);
+	}
+
+}
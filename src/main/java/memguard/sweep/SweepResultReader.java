@@ -0,0 +1,129 @@
+package memguard.sweep;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.Map;
+
+import memguard.solution.SolutionStatus;
+
+/**
+ * Reads a columnar result store written by {@link SweepResultWriter}. Each
+ * column file is memory-mapped, so scanning a column of millions of rows does
+ * not parse or copy anything. A column file cannot be bigger than 2 GiB (about
+ * 500 million rows for int columns). Columns missing from the store, added
+ * after it was written, are read as 0 (see {@link SweepResultWriter}).
+ * 
+ * @see SweepResultWriter
+ * @see SweepColumn
+ */
+public class SweepResultReader {
+
+	private final Map<SweepColumn, ByteBuffer> columns;
+	private final int rowNumber;
+
+	/**
+	 * Maps the store stored in the specified directory.
+	 * 
+	 * @param directory the store directory.
+	 * @throws IOException if a column cannot be mapped.
+	 */
+	public SweepResultReader(File directory) throws IOException {
+		columns = new EnumMap<SweepColumn, ByteBuffer>(SweepColumn.class);
+
+		int rows = Integer.MAX_VALUE;
+		for (SweepColumn column : SweepColumn.values()) {
+			File file = new File(directory, column.getFileName());
+			if (!file.exists()) {
+				continue;
+			}
+
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+				ByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+				columns.put(column, buffer);
+				rows = (int) Math.min(rows, channel.size() / column.getType().getSize());
+			}
+		}
+
+		// A row is only complete when all stored columns have it
+		rowNumber = columns.isEmpty() ? 0 : rows;
+		for (SweepColumn column : SweepColumn.values()) {
+			if (!columns.containsKey(column)) {
+				columns.put(column, ByteBuffer.allocate(rowNumber * column.getType().getSize()));
+			}
+		}
+	}
+
+	public int getRowNumber() {
+		return rowNumber;
+	}
+
+	/**
+	 * Returns a view of an int column.
+	 * 
+	 * @param column the column, must be of type INT.
+	 * @return a view of the column, limited to complete rows.
+	 */
+	public IntBuffer getIntColumn(SweepColumn column) {
+		return columns.get(column).duplicate().asIntBuffer().limit(rowNumber);
+	}
+
+	/**
+	 * Returns a view of a long column.
+	 * 
+	 * @param column the column, must be of type LONG.
+	 * @return a view of the column, limited to complete rows.
+	 */
+	public LongBuffer getLongColumn(SweepColumn column) {
+		return columns.get(column).duplicate().asLongBuffer().limit(rowNumber);
+	}
+
+	/**
+	 * Returns a view of a double column.
+	 * 
+	 * @param column the column, must be of type DOUBLE.
+	 * @return a view of the column, limited to complete rows.
+	 */
+	public DoubleBuffer getDoubleColumn(SweepColumn column) {
+		return columns.get(column).duplicate().asDoubleBuffer().limit(rowNumber);
+	}
+
+	public int getInt(SweepColumn column, int row) {
+		return columns.get(column).getInt(row * Integer.BYTES);
+	}
+
+	public long getLong(SweepColumn column, int row) {
+		return columns.get(column).getLong(row * Long.BYTES);
+	}
+
+	public double getDouble(SweepColumn column, int row) {
+		return columns.get(column).getDouble(row * Double.BYTES);
+	}
+
+	public SolutionStatus getStatus(int row) {
+		return SolutionStatus.values()[getInt(SweepColumn.STATUS, row)];
+	}
+
+	/**
+	 * Returns the sweep point of a row, for instance to solve it again and render
+	 * its solution.
+	 * 
+	 * @param row the row index.
+	 * @return the sweep point of the row.
+	 */
+	public SweepPoint getPoint(int row) {
+		return new SweepPoint(getInt(SweepColumn.PROCESSOR_NUMBER, row), getInt(SweepColumn.READ_LATENCY, row),
+				getInt(SweepColumn.WRITE_LATENCY, row), getInt(SweepColumn.REGULATION_PERIOD, row),
+				getInt(SweepColumn.BUDGET, row), getInt(SweepColumn.READ_ACCESS, row),
+				getInt(SweepColumn.WRITE_ACCESS, row), getInt(SweepColumn.COMPUTATION_ACCESS, row),
+				getInt(SweepColumn.DEADLINE, row));
+	}
+
+}
@@ -0,0 +1,179 @@
+package memguard.sweep;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.EnumMap;
+import java.util.Map;
+
+import memguard.solution.Solution;
+
+/**
+ * <p>
+ * Appends the results of a sweep to a columnar result store. A store is a
+ * directory with one file per {@link SweepColumn}, and one row per sweep point:
+ * its parameters, the solution status, the total stall, the response time, the
+ * number of periods, the solving time and the size of the model. Inferred
+ * solutions (see {@link Solution#isInferred()}) have 1 in the inferred column,
+ * and -1 for the response time and number of periods since they are unknown.
+ * </p>
+ * 
+ * <p>
+ * Rows are appended to existing files, so a resumed sweep keeps adding to the
+ * same store. If a previous run died in the middle of a row, columns are
+ * truncated to the last complete row when the store is opened. Columns added
+ * after the store was created are filled with 0 for the rows already written
+ * (for instance, rows of stores written before the inferred column are
+ * solved). Flushing the
+ * writer also forces the column files to the disk, so rows flushed before a
+ * journal entry is synchronized (see {@link SweepJournal#sync()}) survive a
+ * crash.
+ * </p>
+ * 
+ * @see SweepResultReader
+ */
+public class SweepResultWriter implements Closeable, Flushable {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final byte[] DEFAULT_VALUE = new byte[Long.BYTES];
+
+	private final Map<SweepColumn, DataOutputStream> columns;
+	private final Map<SweepColumn, FileOutputStream> files;
+	private int rowNumber;
+
+	/**
+	 * Opens the store stored in the specified directory, creating it if it does
+	 * not exist.
+	 * 
+	 * @param directory the store directory.
+	 * @throws IOException if the store cannot be opened.
+	 */
+	public SweepResultWriter(File directory) throws IOException {
+		if (!directory.exists()) {
+			directory.mkdirs();
+		}
+
+		// Drop incomplete rows, only counting the columns the store already has
+		long storedRowNumber = -1;
+		for (SweepColumn column : SweepColumn.values()) {
+			File file = new File(directory, column.getFileName());
+			if (file.exists()) {
+				long fileRowNumber = file.length() / column.getType().getSize();
+				storedRowNumber = storedRowNumber < 0 ? fileRowNumber : Math.min(storedRowNumber, fileRowNumber);
+			}
+		}
+		rowNumber = (int) Math.max(storedRowNumber, 0);
+
+		columns = new EnumMap<SweepColumn, DataOutputStream>(SweepColumn.class);
+		files = new EnumMap<SweepColumn, FileOutputStream>(SweepColumn.class);
+		for (SweepColumn column : SweepColumn.values()) {
+			File file = new File(directory, column.getFileName());
+			boolean padded = !file.exists();
+			try (RandomAccessFile truncatedFile = new RandomAccessFile(file, "rw")) {
+				truncatedFile.setLength(padded ? 0 : (long) rowNumber * column.getType().getSize());
+			}
+
+			FileOutputStream fileStream = new FileOutputStream(file, true);
+			DataOutputStream columnStream = new DataOutputStream(new BufferedOutputStream(fileStream, BUFFER_SIZE));
+			files.put(column, fileStream);
+			columns.put(column, columnStream);
+			if (padded) {
+				for (int row = 0; row < rowNumber; row++) {
+					columnStream.write(DEFAULT_VALUE, 0, column.getType().getSize());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Appends the result of a sweep point to the store.
+	 * 
+	 * @param point    the solved point.
+	 * @param solution the solution of the point.
+	 * @throws IOException if the row cannot be written.
+	 */
+	public synchronized void append(SweepPoint point, Solution solution) throws IOException {
+		writeInt(SweepColumn.PROCESSOR_NUMBER, point.getProcessorNumber());
+		writeInt(SweepColumn.READ_LATENCY, point.getReadLatency());
+		writeInt(SweepColumn.WRITE_LATENCY, point.getWriteLatency());
+		writeInt(SweepColumn.REGULATION_PERIOD, point.getRegulationPeriod());
+		writeInt(SweepColumn.BUDGET, point.getBudget());
+		writeInt(SweepColumn.READ_ACCESS, point.getReadAccess());
+		writeInt(SweepColumn.WRITE_ACCESS, point.getWriteAccess());
+		writeInt(SweepColumn.COMPUTATION_ACCESS, point.getComputationAccess());
+		writeInt(SweepColumn.DEADLINE, point.getDeadline());
+		writeInt(SweepColumn.REGIME, point.getRegime().ordinal());
+		writeInt(SweepColumn.STATUS, solution.getStatus().ordinal());
+		columns.get(SweepColumn.TOTAL_STALL).writeLong(solution.getTotalStall());
+		writeInt(SweepColumn.RESPONSE_TIME, solution.isInferred() ? -1 : solution.getResponseTime());
+		writeInt(SweepColumn.PERIOD_NUMBER, solution.isInferred() ? -1 : solution.getPeriodNumber());
+		columns.get(SweepColumn.SOLVING_TIME).writeDouble(solution.getSolvingTime());
+		writeInt(SweepColumn.VARIABLE_NUMBER, solution.getVariableNumber());
+		writeInt(SweepColumn.CONSTRAINT_NUMBER, solution.getConstraintNumber());
+		writeInt(SweepColumn.INFERRED, solution.isInferred() ? 1 : 0);
+		rowNumber++;
+	}
+
+	/**
+	 * Appends a row of another store, for instance to merge the stores of the
+	 * shards of a sweep.
+	 * 
+	 * @param reader the other store.
+	 * @param row    the row index in the other store.
+	 * @throws IOException if the row cannot be written.
+	 */
+	public synchronized void append(SweepResultReader reader, int row) throws IOException {
+		for (SweepColumn column : SweepColumn.values()) {
+			switch (column.getType()) {
+			case INT -> writeInt(column, reader.getInt(column, row));
+			case LONG -> columns.get(column).writeLong(reader.getLong(column, row));
+			case DOUBLE -> columns.get(column).writeDouble(reader.getDouble(column, row));
+			}
+		}
+		rowNumber++;
+	}
+
+	private void writeInt(SweepColumn column, int value) throws IOException {
+		columns.get(column).writeInt(value);
+	}
+
+	/**
+	 * Returns the number of rows of the store, including the rows of previous
+	 * runs.
+	 * 
+	 * @return the number of rows of the store.
+	 */
+	public synchronized int getRowNumber() {
+		return rowNumber;
+	}
+
+	/**
+	 * Writes the buffered rows and forces them to the disk.
+	 * 
+	 * @throws IOException if the rows cannot be written.
+	 */
+	@Override
+	public synchronized void flush() throws IOException {
+		for (DataOutputStream column : columns.values()) {
+			column.flush();
+		}
+
+		// Rows must be on the disk before the journal entries that refer to them
+		for (FileOutputStream file : files.values()) {
+			file.getChannel().force(false);
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		for (DataOutputStream column : columns.values()) {
+			column.close();
+		}
+	}
+
+}
@@ -0,0 +1,116 @@
+package memguard.sweep;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * One shard of a sweep, noted <code>k/N</code> (the k-th of N shards, starting
+ * at 1). Shards partition the points deterministically, so that N processes
+ * given the same specification solve disjoint sets of points covering the
+ * whole sweep, and their result stores can be merged afterwards.
+ * </p>
+ * 
+ * <p>
+ * Points are partitioned by line (all parameters but the computation cost),
+ * lines being distributed in turn, so that a {@link MonotoneSweep} can still
+ * bracket each line in a single shard.
+ * </p>
+ */
+public class SweepShard {
+
+	/**
+	 * The only shard of a sweep that is not split.
+	 */
+	public static final SweepShard ALL = new SweepShard(1, 1);
+
+	private final int index;
+	private final int shardNumber;
+
+	/**
+	 * Creates a new shard.
+	 * 
+	 * @param index       the index of the shard, from 1 to the number of shards.
+	 * @param shardNumber the number of shards.
+	 */
+	public SweepShard(int index, int shardNumber) {
+		if (shardNumber < 1 || index < 1 || index > shardNumber) {
+			throw new IllegalArgumentException("Shard must be k/N with 1 <= k <= N: %d/%d".formatted(index, shardNumber));
+		}
+
+		this.index = index;
+		this.shardNumber = shardNumber;
+	}
+
+	/**
+	 * Parses a shard noted <code>k/N</code>.
+	 * 
+	 * @param shard the shard.
+	 * @return the parsed shard.
+	 * @throws IllegalArgumentException if the shard is not of the form k/N.
+	 */
+	public static SweepShard parse(String shard) {
+		String[] values = shard.split("/");
+		if (values.length != 2) {
+			throw new IllegalArgumentException("Shard must be of the form k/N: " + shard);
+		}
+
+		try {
+			return new SweepShard(Integer.parseInt(values[0].trim()), Integer.parseInt(values[1].trim()));
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Shard must be of the form k/N: " + shard, e);
+		}
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	public int getShardNumber() {
+		return shardNumber;
+	}
+
+	/**
+	 * Returns the points of the sweep that belong to this shard, in the order of
+	 * the sweep.
+	 * 
+	 * @param points all points of the sweep, always in the same order.
+	 * @return the points of this shard.
+	 */
+	public List<SweepPoint> select(List<SweepPoint> points) {
+		Map<SweepPoint, Integer> lineIndexes = new HashMap<SweepPoint, Integer>();
+		List<SweepPoint> shardPoints = new ArrayList<SweepPoint>();
+		for (SweepPoint point : points) {
+			SweepPoint line = point.withComputationAccess(0);
+			Integer lineIndex = lineIndexes.get(line);
+			if (lineIndex == null) {
+				lineIndex = lineIndexes.size();
+				lineIndexes.put(line, lineIndex);
+			}
+
+			if (lineIndex % shardNumber == index - 1) {
+				shardPoints.add(point);
+			}
+		}
+
+		return shardPoints;
+	}
+
+	/**
+	 * Returns the suffix of the files of this shard, empty if the sweep is not
+	 * split.
+	 * 
+	 * @return the suffix of the shard files.
+	 */
+	public String getSuffix() {
+		return shardNumber == 1 ? "" : "_shard%dof%d".formatted(index, shardNumber);
+	}
+
+	@Override
+	public String toString() {
+		return "%d/%d".formatted(index, shardNumber);
+	}
+
+}
@@ -0,0 +1,303 @@
+package memguard.sweep;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+import memguard.solver.SymmetryBreaking;
+
+/**
+ * <p>
+ * Declarative description of a sweep, read from a properties file. Each
+ * parameter is either a single value, or a range <code>min..max</code> with an
+ * optional step <code>min..max:step</code> (bounds included). Missing
+ * parameters take their default value (see {@link #getDefault()}). For
+ * instance:
+ * </p>
+ * 
+ * <pre>
+ * processorNumber = 3
+ * readLatency = 1
+ * writeLatency = 2
+ * regulationPeriod = 30
+ * budget = 7..29
+ * readAccess = 50
+ * writeAccess = 50
+ * computationAccess = 0..200:20
+ * deadline = 100
+ * renderImages = false
+ * inferMonotone = false
+ * portfolio = false
+ * templates = false
+ * bounds = false
+ * symmetry = ordered
+ * lean = false
+ * profile = auto
+ * </pre>
+ * 
+ * <p>
+ * The profile is the name of a solver configuration (see
+ * {@link memguard.solver.SolverConfiguration#forProfile(String)}), or
+ * <code>auto</code> to split the cores depending on the number of points (see
+ * {@link SweepExecutor#forPointNumber(int)}).
+ * </p>
+ * 
+ * <p>
+ * The symmetry is the name of a symmetry breaking (see
+ * {@link memguard.solver.SymmetryBreaking}), case insensitive.
+ * </p>
+ * 
+ * <p>
+ * Budgets are limited to the regulation period minus one. Points are always
+ * created in the same order, so that a sweep can be split in shards (see
+ * {@link SweepShard}).
+ * </p>
+ */
+public class SweepSpecification {
+
+	public static final String AUTO_PROFILE = "auto";
+
+	private static final String PROCESSOR_NUMBER = "processorNumber";
+	private static final String READ_LATENCY = "readLatency";
+	private static final String WRITE_LATENCY = "writeLatency";
+	private static final String REGULATION_PERIOD = "regulationPeriod";
+	private static final String BUDGET = "budget";
+	private static final String READ_ACCESS = "readAccess";
+	private static final String WRITE_ACCESS = "writeAccess";
+	private static final String COMPUTATION_ACCESS = "computationAccess";
+	private static final String DEADLINE = "deadline";
+	private static final String RENDER_IMAGES = "renderImages";
+	private static final String INFER_MONOTONE = "inferMonotone";
+	private static final String PORTFOLIO = "portfolio";
+	private static final String TEMPLATES = "templates";
+	private static final String BOUNDS = "bounds";
+	private static final String SYMMETRY = "symmetry";
+	private static final String LEAN = "lean";
+	private static final String PROFILE = "profile";
+
+	private final Range processorNumber;
+	private final Range readLatency;
+	private final Range writeLatency;
+	private final Range regulationPeriod;
+	private final Range budget;
+	private final Range readAccess;
+	private final Range writeAccess;
+	private final Range computationAccess;
+	private final int deadline;
+	private final boolean renderImages;
+	private final boolean inferMonotone;
+	private final boolean portfolio;
+	private final boolean templates;
+	private final boolean bounds;
+	private final SymmetryBreaking symmetry;
+	private final boolean lean;
+	private final String profile;
+
+	private SweepSpecification(Properties properties) {
+		processorNumber = Range.parse(PROCESSOR_NUMBER, properties.getProperty(PROCESSOR_NUMBER));
+		readLatency = Range.parse(READ_LATENCY, properties.getProperty(READ_LATENCY));
+		writeLatency = Range.parse(WRITE_LATENCY, properties.getProperty(WRITE_LATENCY));
+		regulationPeriod = Range.parse(REGULATION_PERIOD, properties.getProperty(REGULATION_PERIOD));
+		budget = Range.parse(BUDGET, properties.getProperty(BUDGET));
+		readAccess = Range.parse(READ_ACCESS, properties.getProperty(READ_ACCESS));
+		writeAccess = Range.parse(WRITE_ACCESS, properties.getProperty(WRITE_ACCESS));
+		computationAccess = Range.parse(COMPUTATION_ACCESS, properties.getProperty(COMPUTATION_ACCESS));
+		deadline = Integer.parseInt(properties.getProperty(DEADLINE).trim());
+		renderImages = Boolean.parseBoolean(properties.getProperty(RENDER_IMAGES).trim());
+		inferMonotone = Boolean.parseBoolean(properties.getProperty(INFER_MONOTONE).trim());
+		portfolio = Boolean.parseBoolean(properties.getProperty(PORTFOLIO).trim());
+		templates = Boolean.parseBoolean(properties.getProperty(TEMPLATES).trim());
+		bounds = Boolean.parseBoolean(properties.getProperty(BOUNDS).trim());
+		symmetry = parseSymmetry(properties.getProperty(SYMMETRY));
+		lean = Boolean.parseBoolean(properties.getProperty(LEAN).trim());
+		profile = properties.getProperty(PROFILE).trim();
+	}
+
+	private static SymmetryBreaking parseSymmetry(String value) {
+		try {
+			return SymmetryBreaking.valueOf(value.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Wrong value for %s: %s".formatted(SYMMETRY, value), e);
+		}
+	}
+
+	private static Properties getDefaultProperties() {
+		Properties properties = new Properties();
+		properties.setProperty(PROCESSOR_NUMBER, "3");
+		properties.setProperty(READ_LATENCY, "1");
+		properties.setProperty(WRITE_LATENCY, "2");
+		properties.setProperty(REGULATION_PERIOD, "30");
+		properties.setProperty(BUDGET, "7..29");
+		properties.setProperty(READ_ACCESS, "50");
+		properties.setProperty(WRITE_ACCESS, "50");
+		properties.setProperty(COMPUTATION_ACCESS, "0..200:20");
+		properties.setProperty(DEADLINE, "100");
+		properties.setProperty(RENDER_IMAGES, "false");
+		properties.setProperty(INFER_MONOTONE, "false");
+		properties.setProperty(PORTFOLIO, "false");
+		properties.setProperty(TEMPLATES, "false");
+		properties.setProperty(BOUNDS, "false");
+		properties.setProperty(SYMMETRY, "ordered");
+		properties.setProperty(LEAN, "false");
+		properties.setProperty(PROFILE, AUTO_PROFILE);
+		return properties;
+	}
+
+	/**
+	 * Returns the default specification, which is the sweep of the generator
+	 * when no file is given.
+	 * 
+	 * @return the default specification.
+	 */
+	public static SweepSpecification getDefault() {
+		return new SweepSpecification(getDefaultProperties());
+	}
+
+	/**
+	 * Reads a specification from a properties file.
+	 * 
+	 * @param file the specification file.
+	 * @return the specification.
+	 * @throws IOException              if the file cannot be read.
+	 * @throws IllegalArgumentException if a value cannot be parsed.
+	 */
+	public static SweepSpecification load(File file) throws IOException {
+		Properties properties = new Properties(getDefaultProperties());
+		try (Reader reader = new FileReader(file)) {
+			properties.load(reader);
+		}
+
+		return new SweepSpecification(properties);
+	}
+
+	/**
+	 * Creates all points of the sweep, always in the same order.
+	 * 
+	 * @return the points of the sweep.
+	 */
+	public List<SweepPoint> createPoints() {
+		List<SweepPoint> points = new ArrayList<SweepPoint>();
+		for (int m : processorNumber.getValues()) {
+			for (int lr : readLatency.getValues()) {
+				for (int lw : writeLatency.getValues()) {
+					for (int p : regulationPeriod.getValues()) {
+						for (int q : budget.getValues()) {
+							if (q > p - 1) {
+								break;
+							}
+
+							for (int r : readAccess.getValues()) {
+								for (int w : writeAccess.getValues()) {
+									for (int e : computationAccess.getValues()) {
+										points.add(new SweepPoint(m, lr, lw, p, q, r, w, e, deadline));
+									}
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+
+		return points;
+	}
+
+	public int getDeadline() {
+		return deadline;
+	}
+
+	public boolean isRenderImages() {
+		return renderImages;
+	}
+
+	public boolean isInferMonotone() {
+		return inferMonotone;
+	}
+
+	public boolean isPortfolio() {
+		return portfolio;
+	}
+
+	public boolean isTemplates() {
+		return templates;
+	}
+
+	public boolean isBounds() {
+		return bounds;
+	}
+
+	public SymmetryBreaking getSymmetry() {
+		return symmetry;
+	}
+
+	public boolean isLean() {
+		return lean;
+	}
+
+	public String getProfile() {
+		return profile;
+	}
+
+	/**
+	 * Range of integer values, bounds included.
+	 */
+	private static final class Range {
+
+		private final int min;
+		private final int max;
+		private final int step;
+
+		private Range(int min, int max, int step) {
+			this.min = min;
+			this.max = max;
+			this.step = step;
+		}
+
+		public static Range parse(String name, String value) {
+			try {
+				String range = value.trim();
+				int step = 1;
+				int stepIndex = range.indexOf(':');
+				if (stepIndex >= 0) {
+					step = Integer.parseInt(range.substring(stepIndex + 1).trim());
+					range = range.substring(0, stepIndex);
+				}
+
+				int min;
+				int max;
+				int rangeIndex = range.indexOf("..");
+				if (rangeIndex >= 0) {
+					min = Integer.parseInt(range.substring(0, rangeIndex).trim());
+					max = Integer.parseInt(range.substring(rangeIndex + 2).trim());
+				} else {
+					min = Integer.parseInt(range.trim());
+					max = min;
+				}
+
+				if (step <= 0) {
+					throw new IllegalArgumentException("Step of %s must be positive: %s".formatted(name, value));
+				}
+
+				return new Range(min, max, step);
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Wrong value for %s: %s".formatted(name, value), e);
+			}
+		}
+
+		public List<Integer> getValues() {
+			List<Integer> values = new ArrayList<Integer>();
+			for (int value = min; value <= max; value += step) {
+				values.add(value);
+			}
+
+			return values;
+		}
+
+	}
+
+}
@@ -0,0 +1,305 @@
+package memguard.sweep;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import memguard.solution.Solution;
+import memguard.solution.SolutionStatus;
+
+/**
+ * <p>
+ * Live metrics of a sweep: points per second, estimated remaining time, solving
+ * time percentiles (p50, p95, p99) per bandwidth regime, timeouts (solutions
+ * that are only FEASIBLE), unknown points (timeouts without any schedule, which
+ * are not proven infeasible and are solved again when the sweep is resumed),
+ * infeasible points, inferred points, and time spent
+ * building models, solving them and rendering images. When points are solved
+ * by a portfolio, the number of wins of each solver is also reported per
+ * regime (see {@link Solution#getSolverName()}).
+ * </p>
+ * 
+ * <p>
+ * Each handled point is given to {@link #record(SweepPoint, Solution)}. Once
+ * {@link #start()} is called, every {@value #DEFAULT_DUMP_DELAY_SECONDS}
+ * seconds (by default), a summary line is printed and all metrics are written
+ * to a JSON file, replaced atomically so that it can be read at any time.
+ * Percentiles are computed from a logarithmic histogram and are at most 5%
+ * above the real value.
+ * </p>
+ */
+public class SweepTelemetry implements Closeable {
+
+	public static final int DEFAULT_DUMP_DELAY_SECONDS = 10;
+
+	private final File dumpFile;
+	private final int pointNumber;
+	private final long startTime;
+	private final Map<BandwidthRegime, RegimeMetrics> regimeMetrics;
+	private final int dumpDelaySeconds;
+	private final ScheduledExecutorService dumper;
+	private RenderPipeline renderer;
+	private double buildingTime;
+	private double solvingTime;
+
+	/**
+	 * Creates a new telemetry dumping metrics every
+	 * {@value #DEFAULT_DUMP_DELAY_SECONDS} seconds.
+	 * 
+	 * @param dumpFile    the JSON file where metrics are dumped.
+	 * @param pointNumber the number of points to handle.
+	 */
+	public SweepTelemetry(File dumpFile, int pointNumber) {
+		this(dumpFile, pointNumber, DEFAULT_DUMP_DELAY_SECONDS);
+	}
+
+	/**
+	 * Creates a new telemetry.
+	 * 
+	 * @param dumpFile         the JSON file where metrics are dumped.
+	 * @param pointNumber      the number of points to handle.
+	 * @param dumpDelaySeconds the delay between two dumps, in seconds.
+	 */
+	public SweepTelemetry(File dumpFile, int pointNumber, int dumpDelaySeconds) {
+		this.dumpFile = dumpFile;
+		this.pointNumber = pointNumber;
+		this.startTime = System.nanoTime();
+		this.regimeMetrics = new EnumMap<BandwidthRegime, RegimeMetrics>(BandwidthRegime.class);
+		for (BandwidthRegime regime : BandwidthRegime.values()) {
+			regimeMetrics.put(regime, new RegimeMetrics());
+		}
+		this.renderer = null;
+		this.buildingTime = 0;
+		this.solvingTime = 0;
+		this.dumpDelaySeconds = dumpDelaySeconds;
+		this.dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "sweep-telemetry");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Starts the periodic dumps, until the telemetry is closed.
+	 */
+	public void start() {
+		dumper.scheduleWithFixedDelay(this::dumpQuietly, dumpDelaySeconds, dumpDelaySeconds, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Sets the render pipeline whose rendering time is reported.
+	 * 
+	 * @param renderer the render pipeline of the sweep.
+	 */
+	public synchronized void setRenderPipeline(RenderPipeline renderer) {
+		this.renderer = renderer;
+	}
+
+	/**
+	 * Records a handled point.
+	 * 
+	 * @param point    the handled point.
+	 * @param solution the solution of the point, solved or inferred.
+	 */
+	public synchronized void record(SweepPoint point, Solution solution) {
+		RegimeMetrics metrics = regimeMetrics.get(point.getRegime());
+		if (solution.isInferred()) {
+			metrics.inferredNumber++;
+			return;
+		}
+
+		metrics.solvedNumber++;
+		metrics.solvingTimes.add(solution.getSolvingTime());
+		metrics.solvingTime += solution.getSolvingTime();
+		buildingTime += solution.getBuildingTime();
+		solvingTime += solution.getSolvingTime();
+
+		if (solution.getSolverName() != null) {
+			metrics.winNumbers.merge(solution.getSolverName(), 1, Integer::sum);
+		}
+
+		if (solution.getStatus() == SolutionStatus.UNFEASIBLE) {
+			metrics.infeasibleNumber++;
+		} else if (solution.getStatus() == SolutionStatus.FEASIBLE) {
+			metrics.timeoutNumber++;
+		} else if (solution.getStatus() == SolutionStatus.UNKNOWN) {
+			metrics.unknownNumber++;
+		}
+	}
+
+	/**
+	 * Prints a summary line and writes all metrics to the dump file.
+	 * 
+	 * @throws IOException if the dump file cannot be written.
+	 */
+	public synchronized void dump() throws IOException {
+		double elapsedTime = (System.nanoTime() - startTime) / 1e9;
+		int solvedNumber = 0;
+		int inferredNumber = 0;
+		int infeasibleNumber = 0;
+		int timeoutNumber = 0;
+		int unknownNumber = 0;
+		for (RegimeMetrics metrics : regimeMetrics.values()) {
+			solvedNumber += metrics.solvedNumber;
+			inferredNumber += metrics.inferredNumber;
+			infeasibleNumber += metrics.infeasibleNumber;
+			timeoutNumber += metrics.timeoutNumber;
+			unknownNumber += metrics.unknownNumber;
+		}
+
+		int handledNumber = solvedNumber + inferredNumber;
+		double pointsPerSecond = elapsedTime > 0 ? handledNumber / elapsedTime : 0;
+		double remainingTime = pointsPerSecond > 0 ? (pointNumber - handledNumber) / pointsPerSecond : -1;
+		double renderTime = renderer == null ? 0 : renderer.getRenderTime();
+
+		System.out.println(
+				"Sweep: %d/%d systems (%d inferred), %.1f systems/s, ETA %.0f s, %d infeasible, %d timeouts, %d unknown"
+						.formatted(handledNumber, pointNumber, inferredNumber, pointsPerSecond, remainingTime,
+								infeasibleNumber, timeoutNumber, unknownNumber));
+
+		StringBuilder json = new StringBuilder();
+		json.append("{\n");
+		appendField(json, 1, "elapsedSeconds", elapsedTime);
+		appendField(json, 1, "pointNumber", pointNumber);
+		appendField(json, 1, "handledNumber", handledNumber);
+		appendField(json, 1, "solvedNumber", solvedNumber);
+		appendField(json, 1, "inferredNumber", inferredNumber);
+		appendField(json, 1, "infeasibleNumber", infeasibleNumber);
+		appendField(json, 1, "timeoutNumber", timeoutNumber);
+		appendField(json, 1, "unknownNumber", unknownNumber);
+		appendField(json, 1, "pointsPerSecond", pointsPerSecond);
+		appendField(json, 1, "etaSeconds", remainingTime);
+		appendField(json, 1, "buildingSeconds", buildingTime);
+		appendField(json, 1, "solvingSeconds", solvingTime);
+		appendField(json, 1, "renderingSeconds", renderTime);
+		json.append("\t\"regimes\": {\n");
+		int regimeIndex = 0;
+		for (Map.Entry<BandwidthRegime, RegimeMetrics> entry : regimeMetrics.entrySet()) {
+			RegimeMetrics metrics = entry.getValue();
+			json.append("\t\t\"%s\": {\n".formatted(entry.getKey().getDirectoryName()));
+			appendField(json, 3, "solvedNumber", metrics.solvedNumber);
+			appendField(json, 3, "inferredNumber", metrics.inferredNumber);
+			appendField(json, 3, "infeasibleNumber", metrics.infeasibleNumber);
+			appendField(json, 3, "timeoutNumber", metrics.timeoutNumber);
+			appendField(json, 3, "unknownNumber", metrics.unknownNumber);
+			appendField(json, 3, "solvingSeconds", metrics.solvingTime);
+			appendField(json, 3, "p50Seconds", metrics.solvingTimes.getPercentile(0.50));
+			appendField(json, 3, "p95Seconds", metrics.solvingTimes.getPercentile(0.95));
+			json.append("\t\t\t\"winNumbers\": {");
+			int winnerIndex = 0;
+			for (Map.Entry<String, Integer> winner : metrics.winNumbers.entrySet()) {
+				json.append(winnerIndex++ == 0 ? "" : ", ");
+				json.append("\"%s\": %d".formatted(winner.getKey(), winner.getValue()));
+			}
+			json.append("},\n");
+			json.append("\t\t\t\"p99Seconds\": %s\n".formatted(format(metrics.solvingTimes.getPercentile(0.99))));
+			json.append(++regimeIndex < regimeMetrics.size() ? "\t\t},\n" : "\t\t}\n");
+		}
+		json.append("\t}\n");
+		json.append("}\n");
+
+		// Replace the file atomically so that readers never see a partial dump
+		File temporaryFile = new File(dumpFile.getPath() + ".tmp");
+		Files.writeString(temporaryFile.toPath(), json, StandardCharsets.UTF_8);
+		Files.move(temporaryFile.toPath(), dumpFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private void dumpQuietly() {
+		try {
+			dump();
+		} catch (IOException e) {
+			// Not on System.err, which opens a popup from this background thread
+			System.out.println("Cannot write sweep telemetry: " + e.getMessage());
+		}
+	}
+
+	private static void appendField(StringBuilder json, int indent, String name, int value) {
+		json.append("\t".repeat(indent)).append("\"%s\": %d,\n".formatted(name, value));
+	}
+
+	private static void appendField(StringBuilder json, int indent, String name, double value) {
+		json.append("\t".repeat(indent)).append("\"%s\": %s,\n".formatted(name, format(value)));
+	}
+
+	private static String format(double value) {
+		return String.format(Locale.ROOT, "%.6f", value);
+	}
+
+	/**
+	 * Stops the periodic dumps and writes the final metrics.
+	 * 
+	 * @throws IOException if the dump file cannot be written.
+	 */
+	@Override
+	public void close() throws IOException {
+		dumper.shutdownNow();
+		dump();
+	}
+
+	private static final class RegimeMetrics {
+
+		private final LatencyHistogram solvingTimes = new LatencyHistogram();
+		private final Map<String, Integer> winNumbers = new TreeMap<String, Integer>();
+		private int solvedNumber;
+		private int inferredNumber;
+		private int infeasibleNumber;
+		private int timeoutNumber;
+		private int unknownNumber;
+		private double solvingTime;
+
+	}
+
+	/**
+	 * Histogram of durations with logarithmic buckets growing by 5%, from 1 µs to
+	 * more than a day.
+	 */
+	private static final class LatencyHistogram {
+
+		private static final double MIN_DURATION = 1e-6;
+		private static final double BUCKET_GROWTH = 1.05;
+		private static final int BUCKET_NUMBER = 600;
+
+		private final long[] counts = new long[BUCKET_NUMBER];
+		private long count;
+
+		public void add(double duration) {
+			int bucket = 0;
+			if (duration > MIN_DURATION) {
+				bucket = (int) Math.ceil(Math.log(duration / MIN_DURATION) / Math.log(BUCKET_GROWTH));
+			}
+			counts[Math.min(bucket, BUCKET_NUMBER - 1)]++;
+			count++;
+		}
+
+		// Returns the upper bound of the bucket containing the percentile
+		public double getPercentile(double percentile) {
+			if (count == 0) {
+				return 0;
+			}
+
+			long rank = (long) Math.ceil(percentile * count);
+			long cumulatedCount = 0;
+			for (int i = 0; i < BUCKET_NUMBER; i++) {
+				cumulatedCount += counts[i];
+				if (cumulatedCount >= rank) {
+					return MIN_DURATION * Math.pow(BUCKET_GROWTH, i);
+				}
+			}
+
+			return MIN_DURATION * Math.pow(BUCKET_GROWTH, BUCKET_NUMBER - 1);
+		}
+
+	}
+
+}